@@ -16,14 +16,19 @@
 
 package org.springframework.boot.actuate.audit;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.util.Assert;
 
 /**
- * In-memory {@link AuditEventRepository} implementation.
+ * In-memory {@link AuditEventRepository} implementation. Events are held in a bounded
+ * circular buffer. Adding an event does not take a lock, and queries read the buffer
+ * without blocking concurrent additions.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -33,21 +38,14 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	private static final int DEFAULT_CAPACITY = 4000;
 
-	private final Object monitor = new Object();
-
-	/**
-	 * Circular buffer of the event with tail pointing to the last element.
-	 */
-	private AuditEvent[] events;
-
-	private volatile int tail = -1;
+	private volatile EventBuffer events;
 
 	public InMemoryAuditEventRepository() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public InMemoryAuditEventRepository(int capacity) {
-		this.events = new AuditEvent[capacity];
+		this.events = new EventBuffer(capacity);
 	}
 
 	/**
@@ -55,18 +53,13 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.monitor) {
-			this.events = new AuditEvent[capacity];
-		}
+		this.events = new EventBuffer(capacity);
 	}
 
 	@Override
 	public void add(AuditEvent event) {
 		Assert.notNull(event, "AuditEvent must not be null");
-		synchronized (this.monitor) {
-			this.tail = (this.tail + 1) % this.events.length;
-			this.events[this.tail] = event;
-		}
+		this.events.add(event);
 	}
 
 	@Override
@@ -81,15 +74,17 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	@Override
 	public List<AuditEvent> find(String principal, Date after, String type) {
-		LinkedList<AuditEvent> events = new LinkedList<AuditEvent>();
-		synchronized (this.monitor) {
-			for (int i = 0; i < this.events.length; i++) {
-				AuditEvent event = resolveTailEvent(i);
-				if (event != null && isMatch(principal, after, type, event)) {
-					events.addFirst(event);
-				}
+		EventBuffer buffer = this.events;
+		List<AuditEvent> events = new ArrayList<AuditEvent>();
+		long tail = buffer.tail();
+		for (long sequence = tail; sequence >= 0
+				&& sequence > tail - buffer.capacity(); sequence--) {
+			AuditEvent event = buffer.get(sequence);
+			if (event != null && isMatch(principal, after, type, event)) {
+				events.add(event);
 			}
 		}
+		Collections.reverse(events);
 		return events;
 	}
 
@@ -101,9 +96,70 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 		return match;
 	}
 
-	private AuditEvent resolveTailEvent(int offset) {
-		int index = ((this.tail + this.events.length - offset) % this.events.length);
-		return this.events[index];
+	/**
+	 * Circular buffer of events. Each slot records the sequence number of the event it
+	 * holds so that readers can detect slots that have been overwritten or not yet
+	 * written.
+	 */
+	private static final class EventBuffer {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final AtomicLong tail = new AtomicLong(-1);
+
+		EventBuffer(int capacity) {
+			this.slots = new AtomicReferenceArray<Slot>(capacity);
+		}
+
+		void add(AuditEvent event) {
+			long sequence = this.tail.incrementAndGet();
+			int index = index(sequence);
+			Slot slot = new Slot(sequence, event);
+			while (true) {
+				Slot current = this.slots.get(index);
+				if (current != null && current.sequence > sequence) {
+					// A later event already claimed the slot, this one is too old
+					return;
+				}
+				if (this.slots.compareAndSet(index, current, slot)) {
+					return;
+				}
+			}
+		}
+
+		AuditEvent get(long sequence) {
+			Slot slot = this.slots.get(index(sequence));
+			return (slot != null && slot.sequence == sequence ? slot.event : null);
+		}
+
+		long tail() {
+			return this.tail.get();
+		}
+
+		int capacity() {
+			return this.slots.length();
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
+		}
+
+	}
+
+	/**
+	 * A single entry in the {@link EventBuffer}.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final AuditEvent event;
+
+		Slot(long sequence, AuditEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+
 	}
 
 }
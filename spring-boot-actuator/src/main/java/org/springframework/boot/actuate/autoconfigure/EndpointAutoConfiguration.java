@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,10 +36,12 @@ import org.springframework.boot.actuate.endpoint.EnvironmentEndpoint;
 import org.springframework.boot.actuate.endpoint.FlywayEndpoint;
 import org.springframework.boot.actuate.endpoint.HealthEndpoint;
 import org.springframework.boot.actuate.endpoint.InfoEndpoint;
+import org.springframework.boot.actuate.endpoint.JdbcStatementsEndpoint;
 import org.springframework.boot.actuate.endpoint.LiquibaseEndpoint;
 import org.springframework.boot.actuate.endpoint.LoggersEndpoint;
 import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.endpoint.PublicMetricsSampler;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
@@ -55,6 +57,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionEvaluationRepor
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
@@ -91,17 +94,21 @@ public class EndpointAutoConfiguration {
 
 	private final Collection<PublicMetrics> publicMetrics;
 
+	private final PublicMetricsSampler publicMetricsSampler;
+
 	private final TraceRepository traceRepository;
 
 	public EndpointAutoConfiguration(ObjectProvider<HealthAggregator> healthAggregator,
 			ObjectProvider<Map<String, HealthIndicator>> healthIndicators,
 			ObjectProvider<List<InfoContributor>> infoContributors,
 			ObjectProvider<Collection<PublicMetrics>> publicMetrics,
+			ObjectProvider<PublicMetricsSampler> publicMetricsSampler,
 			ObjectProvider<TraceRepository> traceRepository) {
 		this.healthAggregator = healthAggregator.getIfAvailable();
 		this.healthIndicators = healthIndicators.getIfAvailable();
 		this.infoContributors = infoContributors.getIfAvailable();
 		this.publicMetrics = publicMetrics.getIfAvailable();
+		this.publicMetricsSampler = publicMetricsSampler.getIfAvailable();
 		this.traceRepository = traceRepository.getIfAvailable();
 	}
 
@@ -147,7 +154,10 @@ public class EndpointAutoConfiguration {
 	public MetricsEndpoint metricsEndpoint() {
 		List<PublicMetrics> publicMetrics = new ArrayList<PublicMetrics>();
 		if (this.publicMetrics != null) {
-			publicMetrics.addAll(this.publicMetrics);
+			for (PublicMetrics candidate : this.publicMetrics) {
+				publicMetrics.add(this.publicMetricsSampler == null ? candidate
+						: this.publicMetricsSampler.sampled(candidate));
+			}
 		}
 		Collections.sort(publicMetrics, AnnotationAwareOrderComparator.INSTANCE);
 		return new MetricsEndpoint(publicMetrics);
@@ -185,6 +195,18 @@ public class EndpointAutoConfiguration {
 		return new ConfigurationPropertiesReportEndpoint();
 	}
 
+	@Configuration
+	@ConditionalOnProperty("endpoints.metrics.jdbc.enabled")
+	static class JdbcStatementsEndpointConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JdbcStatementsEndpoint jdbcStatementsEndpoint() {
+			return new JdbcStatementsEndpoint();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnBean(Flyway.class)
 	@ConditionalOnClass(Flyway.class)
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+
+/**
+ * {@link BeanPostProcessor} that wraps the auto-configured {@link DataSource} in an
+ * {@link InstrumentedDataSource}. A data source defined by the user is left untouched.
+ * Once wrapped, the data source can only be injected as a {@link DataSource}, rather
+ * than using the type of its connection pool.
+ */
+class InstrumentedDataSourcePostProcessor
+		implements BeanPostProcessor, BeanFactoryAware {
+
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName)
+			throws BeansException {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		if (bean instanceof DataSource && !(bean instanceof InstrumentedDataSource)
+				&& DataSourceAutoConfiguration
+						.isAutoConfiguredDataSource(this.beanFactory, beanName)) {
+			int maxStatements = this.beanFactory.getBean(MetricJdbcProperties.class)
+					.getMaxStatements();
+			return new InstrumentedDataSource((DataSource) bean, maxStatements);
+		}
+		return bean;
+	}
+
+}
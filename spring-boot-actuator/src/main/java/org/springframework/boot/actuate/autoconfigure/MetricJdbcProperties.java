@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the {@link InstrumentedDataSource JDBC metrics}.
+ *
+ * @since 1.5.10
+ */
+@ConfigurationProperties(prefix = "endpoints.metrics.jdbc")
+public class MetricJdbcProperties {
+
+	/**
+	 * Maximum number of distinct statements to record per data source. Further
+	 * statements are recorded as 'other'.
+	 */
+	private int maxStatements = 100;
+
+	public int getMaxStatements() {
+		return this.maxStatements;
+	}
+
+	public void setMaxStatements(int maxStatements) {
+		this.maxStatements = maxStatements;
+	}
+
+}
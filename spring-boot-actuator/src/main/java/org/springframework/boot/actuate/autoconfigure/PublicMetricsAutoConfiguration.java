@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,17 +23,29 @@ import java.util.Map;
 import javax.servlet.Servlet;
 import javax.sql.DataSource;
 
+import io.undertow.Undertow;
 import org.apache.catalina.startup.Tomcat;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.JettyPublicMetrics;
+import org.springframework.boot.actuate.endpoint.KafkaConsumerPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.endpoint.PublicMetricsSampler;
+import org.springframework.boot.actuate.endpoint.RabbitListenerPublicMetrics;
+import org.springframework.boot.actuate.endpoint.RabbitPublisherPublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
+import org.springframework.boot.actuate.endpoint.UndertowPublicMetrics;
 import org.springframework.boot.actuate.metrics.integration.SpringIntegrationMetricReader;
 import org.springframework.boot.actuate.metrics.reader.CompositeMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
@@ -41,20 +53,28 @@ import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.PublisherConfirmWindow;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitListenerStatistics;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.JavaVersion;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.autoconfigure.integration.IntegrationAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.integration.config.EnableIntegrationManagement;
 import org.springframework.integration.support.management.IntegrationManagementConfigurer;
 import org.springframework.lang.UsesJava7;
@@ -72,7 +92,8 @@ import org.springframework.lang.UsesJava7;
 @AutoConfigureBefore(EndpointAutoConfiguration.class)
 @AutoConfigureAfter({ DataSourceAutoConfiguration.class, CacheAutoConfiguration.class,
 		MetricRepositoryAutoConfiguration.class, CacheStatisticsAutoConfiguration.class,
-		IntegrationAutoConfiguration.class })
+		IntegrationAutoConfiguration.class, KafkaAutoConfiguration.class,
+		RabbitAutoConfiguration.class })
 public class PublicMetricsAutoConfiguration {
 
 	private final List<MetricReader> metricReaders;
@@ -102,6 +123,21 @@ public class PublicMetricsAutoConfiguration {
 		return new RichGaugeReaderPublicMetrics(richGaugeReader);
 	}
 
+	@Configuration
+	@ConditionalOnProperty("endpoints.metrics.sample-interval")
+	static class PublicMetricsSamplerConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public PublicMetricsSampler publicMetricsSampler(Environment environment) {
+			return new PublicMetricsSampler(
+					environment.getProperty("endpoints.metrics.sample-interval",
+							Long.class),
+					SystemPublicMetrics.class, DataSourcePublicMetrics.class);
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(DataSource.class)
 	@ConditionalOnBean(DataSource.class)
@@ -114,6 +150,18 @@ public class PublicMetricsAutoConfiguration {
 			return new DataSourcePublicMetrics();
 		}
 
+		@Configuration
+		@ConditionalOnProperty("endpoints.metrics.jdbc.enabled")
+		@EnableConfigurationProperties(MetricJdbcProperties.class)
+		static class InstrumentedDataSourceConfiguration {
+
+			@Bean
+			public static InstrumentedDataSourcePostProcessor instrumentedDataSourcePostProcessor() {
+				return new InstrumentedDataSourcePostProcessor();
+			}
+
+		}
+
 	}
 
 	@Configuration
@@ -129,6 +177,32 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass({ Servlet.class, Server.class, QueuedThreadPool.class })
+	@ConditionalOnWebApplication
+	static class JettyMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JettyPublicMetrics jettyPublicMetrics() {
+			return new JettyPublicMetrics();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass({ Servlet.class, Undertow.class })
+	@ConditionalOnWebApplication
+	static class UndertowMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public UndertowPublicMetrics undertowPublicMetrics() {
+			return new UndertowPublicMetrics();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(CacheManager.class)
 	@ConditionalOnBean(CacheManager.class)
@@ -145,6 +219,43 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass(name = "org.apache.kafka.clients.consumer.KafkaConsumer")
+	@ConditionalOnBean(type = "org.springframework.kafka.core.ConsumerFactory")
+	static class KafkaMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public KafkaConsumerPublicMetrics kafkaConsumerPublicMetrics() {
+			return new KafkaConsumerPublicMetrics();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(RabbitTemplate.class)
+	static class RabbitMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnSingleCandidate(PublisherConfirmWindow.class)
+		public RabbitPublisherPublicMetrics rabbitPublisherPublicMetrics(
+				PublisherConfirmWindow confirmWindow) {
+			return new RabbitPublisherPublicMetrics(confirmWindow);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnSingleCandidate(RabbitListenerStatistics.class)
+		public RabbitListenerPublicMetrics rabbitListenerPublicMetrics(
+				RabbitListenerStatistics statistics, ObjectProvider<AmqpAdmin> amqpAdmin,
+				ObjectProvider<RabbitListenerEndpointRegistry> registry) {
+			return new RabbitListenerPublicMetrics(statistics, amqpAdmin.getIfUnique(),
+					registry.getIfUnique());
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(EnableIntegrationManagement.class)
 	@ConditionalOnJava(JavaVersion.SEVEN)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,13 @@
 package org.springframework.boot.actuate.cache;
 
 import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanException;
@@ -118,11 +122,53 @@ public abstract class AbstractJmxCacheStatisticsProvider<C extends Cache>
 			throw new IllegalStateException(ex);
 		}
 		catch (InstanceNotFoundException ex) {
-			logger.warn("Cache statistics are no longer available", ex);
+			handleInstanceNotFound(objectName, ex);
 			return null;
 		}
 	}
 
+	/**
+	 * Return the values of the specified attributes of the MBean identified by the
+	 * specified {@link ObjectName} using a single call to the {@link MBeanServer}.
+	 * Attributes that could not be retrieved are not present in the result.
+	 * @param objectName the object name of the cache statistics MBean
+	 * @param attributeNames the names of the attributes to retrieve
+	 * @return the attribute values keyed by name or {@code null} if the MBean is no
+	 * longer available
+	 * @since 1.5.10
+	 */
+	protected Map<String, Object> getAttributes(ObjectName objectName,
+			String... attributeNames) {
+		try {
+			AttributeList attributes = getMBeanServer().getAttributes(objectName,
+					attributeNames);
+			Map<String, Object> result = new HashMap<String, Object>();
+			for (Attribute attribute : attributes.asList()) {
+				result.put(attribute.getName(), attribute.getValue());
+			}
+			return result;
+		}
+		catch (ReflectionException ex) {
+			throw new IllegalStateException(ex);
+		}
+		catch (InstanceNotFoundException ex) {
+			handleInstanceNotFound(objectName, ex);
+			return null;
+		}
+	}
+
+	private void handleInstanceNotFound(ObjectName objectName,
+			InstanceNotFoundException ex) {
+		logger.warn("Cache statistics are no longer available", ex);
+		// The cache may have been recreated so look the MBean up again next time
+		Iterator<ObjectNameWrapper> iterator = this.caches.values().iterator();
+		while (iterator.hasNext()) {
+			if (objectName.equals(iterator.next().objectName)) {
+				iterator.remove();
+			}
+		}
+	}
+
 	private static class ObjectNameWrapper {
 
 		private final ObjectName objectName;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.Collection;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.cache.NearCache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheStatisticsProvider} implementation for {@link NearCache}. In addition to
+ * the overall ratios, reports the hit ratio of the local cache and the hit ratio of the
+ * remote cache for entries that were not available locally. Hit and miss counts require
+ * the local cache to record statistics, which the auto-configured near cache always
+ * does.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class NearCacheStatisticsProvider implements CacheStatisticsProvider<NearCache> {
+
+	@Override
+	public CacheStatistics getCacheStatistics(CacheManager cacheManager,
+			NearCache cache) {
+		NearCacheStatistics statistics = new NearCacheStatistics();
+		statistics.setSize(cache.getLocalCache().estimatedSize());
+		CacheStats localStatistics = cache.getLocalCache().stats();
+		if (localStatistics.requestCount() > 0) {
+			statistics.localHitRatio = localStatistics.hitRate();
+			statistics.setGetCacheCounts(
+					localStatistics.hitCount() + cache.getRemoteHitCount(),
+					cache.getRemoteMissCount());
+		}
+		long remoteRequests = cache.getRemoteHitCount() + cache.getRemoteMissCount();
+		if (remoteRequests > 0) {
+			statistics.remoteHitRatio = cache.getRemoteHitCount()
+					/ (double) remoteRequests;
+		}
+		return statistics;
+	}
+
+	private static class NearCacheStatistics extends DefaultCacheStatistics {
+
+		private Double localHitRatio;
+
+		private Double remoteHitRatio;
+
+		@Override
+		public Collection<Metric<?>> toMetrics(String prefix) {
+			Collection<Metric<?>> result = super.toMetrics(prefix);
+			if (this.localHitRatio != null) {
+				result.add(new Metric<Double>(prefix + "local.hit.ratio",
+						this.localHitRatio));
+			}
+			if (this.remoteHitRatio != null) {
+				result.add(new Metric<Double>(prefix + "remote.hit.ratio",
+						this.remoteHitRatio));
+			}
+			return result;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -25,11 +26,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.cache.CoalescingCache;
+import org.springframework.boot.autoconfigure.cache.NearCache;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.core.ResolvableType;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -47,6 +51,8 @@ public class CachePublicMetrics implements PublicMetrics {
 	@Autowired
 	private Collection<CacheStatisticsProvider<?>> statisticsProviders;
 
+	private final Map<Class<?>, List<CacheStatisticsProvider<?>>> providersByCacheType = new ConcurrentReferenceHashMap<Class<?>, List<CacheStatisticsProvider<?>>>();
+
 	/**
 	 * Create a new {@link CachePublicMetrics} instance.
 	 * @deprecated as of 1.5.4 in favor of {@link #CachePublicMetrics(Map, Collection)}
@@ -92,16 +98,33 @@ public class CachePublicMetrics implements PublicMetrics {
 		for (CacheManagerBean cacheManagerBean : cacheManagerBeans) {
 			CacheManager cacheManager = cacheManagerBean.getCacheManager();
 			Cache cache = unwrapIfNecessary(cacheManager.getCache(cacheName));
+			CoalescingCache coalescingCache = findCoalescingCache(cache);
+			if (cache == coalescingCache) {
+				cache = unwrapIfNecessary(coalescingCache.getCache());
+			}
+			String prefix = cacheName;
+			if (cacheManagerBeans.size() > 1) {
+				prefix = cacheManagerBean.getBeanName() + "_" + prefix;
+			}
+			prefix = "cache." + prefix + (prefix.endsWith(".") ? "" : ".");
 			CacheStatistics statistics = getCacheStatistics(cache, cacheManager);
 			if (statistics != null) {
-				String prefix = cacheName;
-				if (cacheManagerBeans.size() > 1) {
-					prefix = cacheManagerBean.getBeanName() + "_" + prefix;
-				}
-				prefix = "cache." + prefix + (prefix.endsWith(".") ? "" : ".");
 				metrics.addAll(statistics.toMetrics(prefix));
 			}
+			if (coalescingCache != null) {
+				metrics.add(new Metric<Long>(prefix + "coalesced.loads",
+						coalescingCache.getCoalescedLoadCount()));
+				metrics.add(new Metric<Long>(prefix + "refreshes",
+						coalescingCache.getRefreshCount()));
+			}
+		}
+	}
+
+	private CoalescingCache findCoalescingCache(Cache cache) {
+		if (cache instanceof NearCache) {
+			cache = ((NearCache) cache).getRemoteCache();
 		}
+		return (cache instanceof CoalescingCache ? (CoalescingCache) cache : null);
 	}
 
 	private Cache unwrapIfNecessary(Cache cache) {
@@ -115,21 +138,35 @@ public class CachePublicMetrics implements PublicMetrics {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private CacheStatistics getCacheStatistics(Cache cache, CacheManager cacheManager) {
-		if (this.statisticsProviders != null) {
-			for (CacheStatisticsProvider provider : this.statisticsProviders) {
-				Class<?> cacheType = ResolvableType
-						.forClass(CacheStatisticsProvider.class, provider.getClass())
-						.resolveGeneric();
-				if (cacheType.isInstance(cache)) {
-					CacheStatistics statistics = provider.getCacheStatistics(cacheManager,
-							cache);
-					if (statistics != null) {
-						return statistics;
+		for (CacheStatisticsProvider provider : getStatisticsProviders(
+				cache.getClass())) {
+			CacheStatistics statistics = provider.getCacheStatistics(cacheManager, cache);
+			if (statistics != null) {
+				return statistics;
+			}
+		}
+		return null;
+	}
+
+	private List<CacheStatisticsProvider<?>> getStatisticsProviders(
+			Class<?> cacheType) {
+		List<CacheStatisticsProvider<?>> providers = this.providersByCacheType
+				.get(cacheType);
+		if (providers == null) {
+			providers = new ArrayList<CacheStatisticsProvider<?>>();
+			if (this.statisticsProviders != null) {
+				for (CacheStatisticsProvider<?> provider : this.statisticsProviders) {
+					Class<?> providedType = ResolvableType
+							.forClass(CacheStatisticsProvider.class, provider.getClass())
+							.resolveGeneric();
+					if (providedType.isAssignableFrom(cacheType)) {
+						providers.add(provider);
 					}
 				}
 			}
+			this.providersByCacheType.put(cacheType, providers);
 		}
-		return null;
+		return providers;
 	}
 
 	private static class CacheManagerBean {
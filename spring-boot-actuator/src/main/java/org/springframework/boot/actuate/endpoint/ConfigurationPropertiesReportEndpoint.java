@@ -74,6 +74,8 @@ public class ConfigurationPropertiesReportEndpoint
 
 	private ApplicationContext context;
 
+	private volatile ObjectMapper objectMapper;
+
 	public ConfigurationPropertiesReportEndpoint() {
 		super("configprops");
 	}
@@ -100,9 +102,19 @@ public class ConfigurationPropertiesReportEndpoint
 	 */
 	protected Map<String, Object> extract(ApplicationContext context) {
 		// Serialize beans into map structure and sanitize values
-		ObjectMapper mapper = new ObjectMapper();
-		configureObjectMapper(mapper);
-		return extract(context, mapper);
+		return extract(context, getObjectMapper());
+	}
+
+	private ObjectMapper getObjectMapper() {
+		// The mapper caches serializers for each bean type so it is shared between
+		// invocations rather than being rebuilt every time
+		ObjectMapper mapper = this.objectMapper;
+		if (mapper == null) {
+			mapper = new ObjectMapper();
+			configureObjectMapper(mapper);
+			this.objectMapper = mapper;
+		}
+		return mapper;
 	}
 
 	private Map<String, Object> extract(ApplicationContext context, ObjectMapper mapper) {
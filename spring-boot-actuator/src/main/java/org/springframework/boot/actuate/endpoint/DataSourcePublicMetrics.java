@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,14 +28,22 @@ import javax.sql.DataSource;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.jdbc.ExecutionStatistics;
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
+import org.springframework.boot.autoconfigure.jdbc.ReplicaRoutingDataSource;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadata;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
 import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProviders;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 
 /**
  * A {@link PublicMetrics} implementation that provides data source usage statistics.
+ * Connection and statement statistics are also provided for data sources that are
+ * {@link InstrumentedDataSource instrumented}, as well as the usage and availability of
+ * each replica of a {@link ReplicaRoutingDataSource}. Statement metrics are named after
+ * their key, see {@link JdbcStatementsEndpoint} for the corresponding SQL.
  *
  * @author Stephane Nicoll
  * @since 1.2.0
@@ -52,6 +60,10 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 
 	private final Map<String, DataSourcePoolMetadata> metadataByPrefix = new HashMap<String, DataSourcePoolMetadata>();
 
+	private final Map<String, InstrumentedDataSource> instrumentedByPrefix = new HashMap<String, InstrumentedDataSource>();
+
+	private final Map<String, ReplicaRoutingDataSource> routingByPrefix = new HashMap<String, ReplicaRoutingDataSource>();
+
 	@PostConstruct
 	public void initialize() {
 		DataSource primaryDataSource = getPrimaryDataSource();
@@ -67,6 +79,37 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 			if (poolMetadata != null) {
 				this.metadataByPrefix.put(prefix, poolMetadata);
 			}
+			if (bean instanceof InstrumentedDataSource) {
+				this.instrumentedByPrefix.put(prefix, (InstrumentedDataSource) bean);
+			}
+			ReplicaRoutingDataSource routingDataSource = findRoutingDataSource(bean);
+			if (routingDataSource != null) {
+				addReplicas(prefix, routingDataSource, provider);
+			}
+		}
+	}
+
+	private ReplicaRoutingDataSource findRoutingDataSource(DataSource dataSource) {
+		while (dataSource instanceof DelegatingDataSource) {
+			if (dataSource instanceof ReplicaRoutingDataSource) {
+				return (ReplicaRoutingDataSource) dataSource;
+			}
+			dataSource = ((DelegatingDataSource) dataSource).getTargetDataSource();
+		}
+		return null;
+	}
+
+	private void addReplicas(String prefix, ReplicaRoutingDataSource routingDataSource,
+			DataSourcePoolMetadataProvider provider) {
+		prefix = (prefix.endsWith(".") ? prefix : prefix + ".") + "replicas.";
+		this.routingByPrefix.put(prefix, routingDataSource);
+		for (ReplicaRoutingDataSource.Replica replica : routingDataSource
+				.getReplicas()) {
+			DataSourcePoolMetadata poolMetadata = provider
+					.getDataSourcePoolMetadata(replica.getDataSource());
+			if (poolMetadata != null) {
+				this.metadataByPrefix.put(prefix + replica.getName(), poolMetadata);
+			}
 		}
 	}
 
@@ -81,9 +124,40 @@ public class DataSourcePublicMetrics implements PublicMetrics {
 			addMetric(metrics, prefix + "active", metadata.getActive());
 			addMetric(metrics, prefix + "usage", metadata.getUsage());
 		}
+		for (Map.Entry<String, InstrumentedDataSource> entry : this.instrumentedByPrefix
+				.entrySet()) {
+			String prefix = entry.getKey();
+			prefix = (prefix.endsWith(".") ? prefix : prefix + ".");
+			addStatistics(metrics, prefix + "connection.acquire.",
+					entry.getValue().getConnectionStatistics(), false);
+			for (Map.Entry<String, ExecutionStatistics> statement : entry.getValue()
+					.getStatementStatistics().entrySet()) {
+				addStatistics(metrics, prefix + "statement." + statement.getKey() + ".",
+						statement.getValue(), true);
+			}
+		}
+		for (Map.Entry<String, ReplicaRoutingDataSource> entry : this.routingByPrefix
+				.entrySet()) {
+			for (ReplicaRoutingDataSource.Replica replica : entry.getValue()
+					.getReplicas()) {
+				String prefix = entry.getKey() + replica.getName() + ".";
+				addMetric(metrics, prefix + "healthy", replica.isHealthy() ? 1 : 0);
+				addMetric(metrics, prefix + "latency", replica.getLatency());
+			}
+		}
 		return metrics;
 	}
 
+	private void addStatistics(Set<Metric<?>> metrics, String prefix,
+			ExecutionStatistics statistics, boolean includeRows) {
+		addMetric(metrics, prefix + "count", statistics.getCount());
+		addMetric(metrics, prefix + "time.mean", statistics.getMeanTime());
+		addMetric(metrics, prefix + "time.max", statistics.getMaxTime());
+		if (includeRows) {
+			addMetric(metrics, prefix + "rows", statistics.getRows());
+		}
+	}
+
 	private <T extends Number> void addMetric(Set<Metric<?>> metrics, String name,
 			T value) {
 		if (value != null) {
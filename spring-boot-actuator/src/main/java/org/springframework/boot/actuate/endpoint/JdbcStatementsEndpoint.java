@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * {@link Endpoint} to expose the SQL of the statements recorded by
+ * {@link InstrumentedDataSource instrumented} data sources. Statement metrics are named
+ * after a key rather than the SQL itself; this endpoint maps each key to the SQL, for
+ * each data source.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+@ConfigurationProperties(prefix = "endpoints.jdbcstatements")
+public class JdbcStatementsEndpoint
+		extends AbstractEndpoint<Map<String, Map<String, String>>>
+		implements ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	public JdbcStatementsEndpoint() {
+		super("jdbcstatements");
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public Map<String, Map<String, String>> invoke() {
+		Map<String, Map<String, String>> result = new LinkedHashMap<String, Map<String, String>>();
+		for (Map.Entry<String, DataSource> entry : this.applicationContext
+				.getBeansOfType(DataSource.class).entrySet()) {
+			if (entry.getValue() instanceof InstrumentedDataSource) {
+				result.put(entry.getKey(),
+						((InstrumentedDataSource) entry.getValue()).getStatements());
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.EmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * A {@link PublicMetrics} implementation that provides statistics for the thread pool of
+ * an embedded Jetty server.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ * @see TomcatPublicMetrics
+ */
+public class JettyPublicMetrics implements PublicMetrics, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.applicationContext instanceof EmbeddedWebApplicationContext) {
+			ThreadPool threadPool = getThreadPool(
+					(EmbeddedWebApplicationContext) this.applicationContext);
+			if (threadPool != null) {
+				return metrics(threadPool);
+			}
+		}
+		return Collections.emptySet();
+	}
+
+	private ThreadPool getThreadPool(EmbeddedWebApplicationContext applicationContext) {
+		EmbeddedServletContainer embeddedServletContainer = applicationContext
+				.getEmbeddedServletContainer();
+		if (embeddedServletContainer instanceof JettyEmbeddedServletContainer) {
+			return ((JettyEmbeddedServletContainer) embeddedServletContainer).getServer()
+					.getThreadPool();
+		}
+		return null;
+	}
+
+	private Collection<Metric<?>> metrics(ThreadPool threadPool) {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(4);
+		if (threadPool instanceof QueuedThreadPool) {
+			QueuedThreadPool queuedThreadPool = (QueuedThreadPool) threadPool;
+			addMetric(metrics, "httpthreads.max", queuedThreadPool.getMaxThreads());
+			addMetric(metrics, "httpthreads.current", queuedThreadPool.getThreads());
+			addMetric(metrics, "httpthreads.busy", queuedThreadPool.getBusyThreads());
+			addMetric(metrics, "httpthreads.queued", queuedThreadPool.getQueueSize());
+		}
+		else {
+			int threads = threadPool.getThreads();
+			addMetric(metrics, "httpthreads.current", threads);
+			addMetric(metrics, "httpthreads.busy",
+					threads - threadPool.getIdleThreads());
+		}
+		return metrics;
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String name, Integer value) {
+		metrics.add(new Metric<Integer>(name, value));
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * A {@link PublicMetrics} implementation that provides the throughput and lag of the
+ * Kafka consumers of the application. Kafka clients register their metrics in the
+ * platform {@link MBeanServer}, so they are read from there for each consumer
+ * {@code client-id}:
+ * <ul>
+ * <li>{@code kafka.consumer.<client-id>.records.rate}: records consumed per second</li>
+ * <li>{@code kafka.consumer.<client-id>.lag.max}: maximum lag, in number of records,
+ * of any partition assigned to the consumer</li>
+ * </ul>
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class KafkaConsumerPublicMetrics implements PublicMetrics {
+
+	private static final String RECORDS_RATE = "records-consumed-rate";
+
+	private static final String LAG_MAX = "records-lag-max";
+
+	private final MBeanServer mBeanServer;
+
+	private final ObjectName consumerMetrics;
+
+	public KafkaConsumerPublicMetrics() {
+		this(ManagementFactory.getPlatformMBeanServer());
+	}
+
+	KafkaConsumerPublicMetrics(MBeanServer mBeanServer) {
+		this.mBeanServer = mBeanServer;
+		this.consumerMetrics = createObjectName(
+				"kafka.consumer:type=consumer-fetch-manager-metrics,client-id=*");
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Set<ObjectName> names = this.mBeanServer.queryNames(this.consumerMetrics, null);
+		if (names.isEmpty()) {
+			return Collections.emptySet();
+		}
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(names.size() * 2);
+		for (ObjectName name : names) {
+			String prefix = "kafka.consumer." + name.getKeyProperty("client-id") + ".";
+			try {
+				AttributeList attributes = this.mBeanServer.getAttributes(name,
+						new String[] { RECORDS_RATE, LAG_MAX });
+				for (Attribute attribute : attributes.asList()) {
+					addMetric(metrics, prefix, attribute);
+				}
+			}
+			catch (JMException ex) {
+				// The consumer has been closed in the meantime
+			}
+		}
+		return metrics;
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String prefix, Attribute attribute) {
+		if (!(attribute.getValue() instanceof Number)) {
+			return;
+		}
+		double value = ((Number) attribute.getValue()).doubleValue();
+		// Kafka reports NaN or infinity until a sample has been recorded
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return;
+		}
+		String name = (RECORDS_RATE.equals(attribute.getName()) ? "records.rate"
+				: "lag.max");
+		metrics.add(new Metric<Double>(prefix + name, value));
+	}
+
+	private static ObjectName createObjectName(String name) {
+		try {
+			return new ObjectName(name);
+		}
+		catch (MalformedObjectNameException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
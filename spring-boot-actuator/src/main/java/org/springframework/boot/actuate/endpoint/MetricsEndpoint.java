@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -84,4 +85,52 @@ public class MetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
 		return result;
 	}
 
+	/**
+	 * Pass each metric whose name starts with the given prefix to the callback as it is
+	 * obtained from each {@link PublicMetrics}, without first collecting all metrics into
+	 * a single map. Unlike {@link #invoke()}, metrics with the same name that are provided
+	 * by more than one {@link PublicMetrics} are not merged and metrics without a value are
+	 * skipped.
+	 * @param prefix the metric name prefix or {@code null} for all metrics
+	 * @param callback the callback to receive the metrics
+	 * @throws IOException if the callback fails
+	 * @since 1.5.10
+	 */
+	public void doWithMetrics(String prefix, MetricCallback callback)
+			throws IOException {
+		List<PublicMetrics> metrics = new ArrayList<PublicMetrics>(this.publicMetrics);
+		for (PublicMetrics publicMetric : metrics) {
+			Collection<Metric<?>> values;
+			try {
+				values = publicMetric.metrics();
+			}
+			catch (Exception ex) {
+				// Could not evaluate metrics
+				continue;
+			}
+			for (Metric<?> metric : values) {
+				if (metric.getValue() != null && (prefix == null
+						|| metric.getName().startsWith(prefix))) {
+					callback.metric(metric.getName(), metric.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Callback used to receive metrics from {@link #doWithMetrics}.
+	 * @since 1.5.10
+	 */
+	public interface MetricCallback {
+
+		/**
+		 * Called for each metric.
+		 * @param name the name of the metric
+		 * @param value the value of the metric
+		 * @throws IOException on write error
+		 */
+		void metric(String name, Number value) throws IOException;
+
+	}
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * Samples {@link PublicMetrics} on a fixed schedule so that reading them (for example
+ * from the {@link MetricsEndpoint}) returns the last snapshot rather than querying the
+ * underlying source on every request. Metrics that are expensive to compute (such as
+ * {@link SystemPublicMetrics} or {@link DataSourcePublicMetrics}) can be
+ * {@link #sampled(PublicMetrics) wrapped} so that concurrent readers do not contend
+ * with each other or with the source.
+ * <p>
+ * Samples are taken on a dedicated daemon thread that is started and stopped with the
+ * application context, independently of any {@code @EnableScheduling} configuration.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class PublicMetricsSampler implements SmartLifecycle {
+
+	private static final Log logger = LogFactory.getLog(PublicMetricsSampler.class);
+
+	private final long interval;
+
+	private final List<Class<?>> types;
+
+	private final List<SampledPublicMetrics> sampled = new CopyOnWriteArrayList<SampledPublicMetrics>();
+
+	private final Object monitor = new Object();
+
+	private ThreadPoolTaskScheduler scheduler;
+
+	/**
+	 * Create a new {@link PublicMetricsSampler} instance.
+	 * @param interval the sampling interval in milliseconds
+	 * @param types the types of {@link PublicMetrics} that should be sampled
+	 */
+	public PublicMetricsSampler(long interval, Class<?>... types) {
+		Assert.isTrue(interval > 0, "Interval must be positive");
+		this.interval = interval;
+		this.types = new ArrayList<Class<?>>();
+		Collections.addAll(this.types, types);
+	}
+
+	/**
+	 * Return a sampled version of the given {@link PublicMetrics} if it is of one of the
+	 * configured types, or the metrics themselves otherwise. The same sampled instance is
+	 * returned for repeated calls with the same source.
+	 * @param publicMetrics the source metrics
+	 * @return the metrics to use
+	 */
+	public PublicMetrics sampled(PublicMetrics publicMetrics) {
+		if (publicMetrics instanceof SampledPublicMetrics || !isSampled(publicMetrics)) {
+			return publicMetrics;
+		}
+		synchronized (this.sampled) {
+			for (SampledPublicMetrics sampled : this.sampled) {
+				if (sampled.delegate == publicMetrics) {
+					return sampled;
+				}
+			}
+			SampledPublicMetrics sampled = new SampledPublicMetrics(publicMetrics);
+			this.sampled.add(sampled);
+			return sampled;
+		}
+	}
+
+	private boolean isSampled(PublicMetrics publicMetrics) {
+		for (Class<?> type : this.types) {
+			if (type.isInstance(publicMetrics)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Take a new sample of each sampled {@link PublicMetrics}.
+	 */
+	public void sample() {
+		for (SampledPublicMetrics sampled : this.sampled) {
+			try {
+				sampled.sample();
+			}
+			catch (Exception ex) {
+				logger.debug("Could not sample metrics from " + sampled.delegate, ex);
+			}
+		}
+	}
+
+	@Override
+	public void start() {
+		synchronized (this.monitor) {
+			if (this.scheduler != null) {
+				return;
+			}
+			ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+			scheduler.setThreadNamePrefix("metrics-sampler-");
+			scheduler.setDaemon(true);
+			scheduler.initialize();
+			scheduler.scheduleWithFixedDelay(new Runnable() {
+
+				@Override
+				public void run() {
+					sample();
+				}
+
+			}, this.interval);
+			this.scheduler = scheduler;
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (this.monitor) {
+			if (this.scheduler != null) {
+				this.scheduler.shutdown();
+				this.scheduler = null;
+			}
+		}
+	}
+
+	@Override
+	public void stop(Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override
+	public boolean isRunning() {
+		synchronized (this.monitor) {
+			return this.scheduler != null;
+		}
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return true;
+	}
+
+	@Override
+	public int getPhase() {
+		return 0;
+	}
+
+	/**
+	 * {@link PublicMetrics} that return the latest sample of a delegate.
+	 */
+	private static class SampledPublicMetrics implements PublicMetrics, Ordered {
+
+		private final PublicMetrics delegate;
+
+		private final int order;
+
+		private volatile Collection<Metric<?>> snapshot;
+
+		SampledPublicMetrics(PublicMetrics delegate) {
+			this.delegate = delegate;
+			this.order = (delegate instanceof Ordered ? ((Ordered) delegate).getOrder()
+					: OrderUtils.getOrder(delegate.getClass(), Ordered.LOWEST_PRECEDENCE));
+		}
+
+		void sample() {
+			this.snapshot = Collections.unmodifiableCollection(
+					new ArrayList<Metric<?>>(this.delegate.metrics()));
+		}
+
+		@Override
+		public Collection<Metric<?>> metrics() {
+			Collection<Metric<?>> snapshot = this.snapshot;
+			if (snapshot == null) {
+				sample();
+				snapshot = this.snapshot;
+			}
+			return snapshot;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+
+	}
+
+}
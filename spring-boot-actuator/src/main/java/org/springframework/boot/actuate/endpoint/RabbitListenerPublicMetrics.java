@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.amqp.RabbitListenerStatistics;
+import org.springframework.boot.autoconfigure.amqp.RabbitListenerStatistics.QueueStatistics;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PublicMetrics} implementation that provides the {@link RabbitListenerStatistics
+ * processing statistics} of each queue consumed by a Rabbit listener container and, if
+ * an {@link AmqpAdmin} is available, the number of messages waiting in the queue. For
+ * each queue, the following metrics are exposed with a {@code rabbit.listener.<queue>.}
+ * prefix:
+ * <ul>
+ * <li>{@code processed}, {@code failed} and {@code redelivered}: number of messages</li>
+ * <li>{@code active}: number of consumers currently processing a message</li>
+ * <li>{@code busy}: total processing time in milliseconds</li>
+ * <li>{@code time.mean}, {@code time.p50}, {@code time.p95} and {@code time.p99}:
+ * processing time of a message in milliseconds</li>
+ * <li>{@code depth}: number of messages ready to be delivered</li>
+ * </ul>
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class RabbitListenerPublicMetrics implements PublicMetrics {
+
+	private final RabbitListenerStatistics statistics;
+
+	private final AmqpAdmin amqpAdmin;
+
+	private final RabbitListenerEndpointRegistry registry;
+
+	/**
+	 * Create a new {@link RabbitListenerPublicMetrics} instance.
+	 * @param statistics the listener statistics
+	 * @param amqpAdmin the admin used to query the depth of the queues or {@code null}
+	 * @param registry the registry of the listener containers or {@code null}
+	 */
+	public RabbitListenerPublicMetrics(RabbitListenerStatistics statistics,
+			AmqpAdmin amqpAdmin, RabbitListenerEndpointRegistry registry) {
+		Assert.notNull(statistics, "Statistics must not be null");
+		this.statistics = statistics;
+		this.amqpAdmin = amqpAdmin;
+		this.registry = registry;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Map<String, QueueStatistics> queues = this.statistics.getQueues();
+		Set<String> queueNames = new TreeSet<String>(queues.keySet());
+		queueNames.addAll(getListenedQueueNames());
+		if (queueNames.isEmpty()) {
+			return Collections.emptySet();
+		}
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>();
+		for (String queueName : queueNames) {
+			String prefix = "rabbit.listener." + queueName + ".";
+			QueueStatistics queue = queues.get(queueName);
+			if (queue != null) {
+				addStatistics(metrics, prefix, queue);
+			}
+			Integer depth = getDepth(queueName);
+			if (depth != null) {
+				metrics.add(new Metric<Integer>(prefix + "depth", depth));
+			}
+		}
+		return metrics;
+	}
+
+	private Collection<String> getListenedQueueNames() {
+		if (this.registry == null) {
+			return Collections.emptySet();
+		}
+		List<String> queueNames = new ArrayList<String>();
+		for (MessageListenerContainer container : this.registry
+				.getListenerContainers()) {
+			if (container instanceof SimpleMessageListenerContainer) {
+				Collections.addAll(queueNames,
+						((SimpleMessageListenerContainer) container).getQueueNames());
+			}
+		}
+		return queueNames;
+	}
+
+	private void addStatistics(List<Metric<?>> metrics, String prefix,
+			QueueStatistics queue) {
+		metrics.add(new Metric<Long>(prefix + "processed", queue.getProcessed()));
+		metrics.add(new Metric<Long>(prefix + "failed", queue.getFailed()));
+		metrics.add(new Metric<Long>(prefix + "redelivered", queue.getRedelivered()));
+		metrics.add(new Metric<Integer>(prefix + "active", queue.getActive()));
+		metrics.add(new Metric<Long>(prefix + "busy", queue.getBusyTime()));
+		metrics.add(new Metric<Double>(prefix + "time.mean", queue.getMeanTime()));
+		metrics.add(new Metric<Long>(prefix + "time.p50", queue.getPercentile(0.5)));
+		metrics.add(new Metric<Long>(prefix + "time.p95", queue.getPercentile(0.95)));
+		metrics.add(new Metric<Long>(prefix + "time.p99", queue.getPercentile(0.99)));
+	}
+
+	private Integer getDepth(String queueName) {
+		if (this.amqpAdmin == null) {
+			return null;
+		}
+		try {
+			Properties properties = this.amqpAdmin.getQueueProperties(queueName);
+			Object count = (properties != null
+					? properties.get(RabbitAdmin.QUEUE_MESSAGE_COUNT) : null);
+			return (count instanceof Number ? ((Number) count).intValue() : null);
+		}
+		catch (AmqpException ex) {
+			// Broker not available, the depth is unknown
+			return null;
+		}
+	}
+
+}
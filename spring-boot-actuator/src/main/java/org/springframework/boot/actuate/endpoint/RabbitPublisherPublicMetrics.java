@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.amqp.PublisherConfirmWindow;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PublicMetrics} implementation that provides the state of the publisher
+ * confirms of a {@link PublisherConfirmWindow}:
+ * <ul>
+ * <li>{@code rabbit.publisher.confirms.outstanding}: messages awaiting a confirm</li>
+ * <li>{@code rabbit.publisher.confirms.latency}: recent average time, in milliseconds,
+ * between publishing a message and receiving its confirm</li>
+ * <li>{@code rabbit.publisher.confirms.nacks}: messages rejected by the broker</li>
+ * </ul>
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class RabbitPublisherPublicMetrics implements PublicMetrics {
+
+	private static final String PREFIX = "rabbit.publisher.confirms.";
+
+	private final PublisherConfirmWindow confirmWindow;
+
+	public RabbitPublisherPublicMetrics(PublisherConfirmWindow confirmWindow) {
+		Assert.notNull(confirmWindow, "ConfirmWindow must not be null");
+		this.confirmWindow = confirmWindow;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(3);
+		metrics.add(new Metric<Integer>(PREFIX + "outstanding",
+				this.confirmWindow.getOutstanding()));
+		metrics.add(new Metric<Double>(PREFIX + "latency",
+				this.confirmWindow.getLatency()));
+		metrics.add(
+				new Metric<Long>(PREFIX + "nacks", this.confirmWindow.getNacks()));
+		return metrics;
+	}
+
+}
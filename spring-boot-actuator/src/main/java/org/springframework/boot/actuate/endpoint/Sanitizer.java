@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,21 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
 
 /**
- * Internal strategy used to sanitize potentially sensitive keys.
+ * Internal strategy used to sanitize potentially sensitive keys. Simple keys are matched
+ * with a case-insensitive suffix check and all regular expressions are combined into a
+ * single pattern. The outcome for each key is cached since the same keys are sanitized
+ * on every endpoint invocation.
  *
  * @author Christian Dupuis
  * @author Toshiaki Maki
@@ -33,7 +42,7 @@ class Sanitizer {
 
 	private static final String[] REGEX_PARTS = { "*", "$", "^", "+" };
 
-	private Pattern[] keysToSanitize;
+	private volatile Matcher matcher;
 
 	Sanitizer() {
 		this("password", "secret", "key", "token", ".*credentials.*", "vcap_services");
@@ -50,26 +59,7 @@ class Sanitizer {
 	 */
 	public void setKeysToSanitize(String... keysToSanitize) {
 		Assert.notNull(keysToSanitize, "KeysToSanitize must not be null");
-		this.keysToSanitize = new Pattern[keysToSanitize.length];
-		for (int i = 0; i < keysToSanitize.length; i++) {
-			this.keysToSanitize[i] = getPattern(keysToSanitize[i]);
-		}
-	}
-
-	private Pattern getPattern(String value) {
-		if (isRegex(value)) {
-			return Pattern.compile(value, Pattern.CASE_INSENSITIVE);
-		}
-		return Pattern.compile(".*" + value + "$", Pattern.CASE_INSENSITIVE);
-	}
-
-	private boolean isRegex(String value) {
-		for (String part : REGEX_PARTS) {
-			if (value.contains(part)) {
-				return true;
-			}
-		}
-		return false;
+		this.matcher = new Matcher(keysToSanitize);
 	}
 
 	/**
@@ -82,12 +72,76 @@ class Sanitizer {
 		if (value == null) {
 			return null;
 		}
-		for (Pattern pattern : this.keysToSanitize) {
-			if (pattern.matcher(key).matches()) {
-				return "******";
+		return (this.matcher.matches(key) ? "******" : value);
+	}
+
+	/**
+	 * Compiled form of the keys to sanitize.
+	 */
+	private static final class Matcher {
+
+		private final String[] suffixes;
+
+		private final Pattern pattern;
+
+		private final Map<String, Boolean> cache = new ConcurrentReferenceHashMap<String, Boolean>();
+
+		Matcher(String... keysToSanitize) {
+			List<String> suffixes = new ArrayList<String>();
+			StringBuilder regex = new StringBuilder();
+			for (String key : keysToSanitize) {
+				if (isSimple(key)) {
+					suffixes.add(key.toLowerCase(Locale.ENGLISH));
+				}
+				else {
+					regex.append(regex.length() > 0 ? "|" : "");
+					regex.append("(?:").append(isRegex(key) ? key : ".*" + key + "$")
+							.append(")");
+				}
+			}
+			this.suffixes = StringUtils.toStringArray(suffixes);
+			this.pattern = (regex.length() > 0
+					? Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE) : null);
+		}
+
+		private boolean isSimple(String value) {
+			for (int i = 0; i < value.length(); i++) {
+				char ch = value.charAt(i);
+				if (!Character.isLetterOrDigit(ch) && ch != '_' && ch != '-') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean isRegex(String value) {
+			for (String part : REGEX_PARTS) {
+				if (value.contains(part)) {
+					return true;
+				}
 			}
+			return false;
 		}
-		return value;
+
+		public boolean matches(String key) {
+			Boolean matches = this.cache.get(key);
+			if (matches == null) {
+				matches = doMatch(key);
+				this.cache.put(key, matches);
+			}
+			return matches;
+		}
+
+		private boolean doMatch(String key) {
+			String candidate = key.toLowerCase(Locale.ENGLISH);
+			for (String suffix : this.suffixes) {
+				if (candidate.endsWith(suffix)) {
+					return true;
+				}
+			}
+			return (this.pattern != null && this.pattern.matcher(key).matches());
+		}
+
 	}
 
 }
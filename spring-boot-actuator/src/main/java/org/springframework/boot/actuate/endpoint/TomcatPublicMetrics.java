@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,11 +20,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.Context;
 import org.apache.catalina.Manager;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.session.ManagerBase;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.ResizableExecutor;
 
 import org.springframework.beans.BeansException;
 import org.springframework.boot.actuate.metrics.Metric;
@@ -35,7 +41,10 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
 /**
- * A {@link PublicMetrics} implementation that provides Tomcat statistics.
+ * A {@link PublicMetrics} implementation that provides Tomcat statistics. In addition
+ * to session statistics, the state of each connector's request processing thread pool
+ * is reported using the same {@code httpthreads.*} metrics as
+ * {@link JettyPublicMetrics} and {@link UndertowPublicMetrics}.
  *
  * @author Johannes Edmeier
  * @author Phillip Webb
@@ -48,20 +57,27 @@ public class TomcatPublicMetrics implements PublicMetrics, ApplicationContextAwa
 	@Override
 	public Collection<Metric<?>> metrics() {
 		if (this.applicationContext instanceof EmbeddedWebApplicationContext) {
-			Manager manager = getManager(
+			TomcatEmbeddedServletContainer container = getContainer(
 					(EmbeddedWebApplicationContext) this.applicationContext);
-			if (manager != null) {
-				return metrics(manager);
+			if (container != null) {
+				List<Metric<?>> metrics = new ArrayList<Metric<?>>(6);
+				Manager manager = getManager(container);
+				if (manager != null) {
+					addSessionMetrics(metrics, manager);
+				}
+				addThreadMetrics(metrics, container);
+				return metrics;
 			}
 		}
 		return Collections.emptySet();
 	}
 
-	private Manager getManager(EmbeddedWebApplicationContext applicationContext) {
+	private TomcatEmbeddedServletContainer getContainer(
+			EmbeddedWebApplicationContext applicationContext) {
 		EmbeddedServletContainer embeddedServletContainer = applicationContext
 				.getEmbeddedServletContainer();
 		if (embeddedServletContainer instanceof TomcatEmbeddedServletContainer) {
-			return getManager((TomcatEmbeddedServletContainer) embeddedServletContainer);
+			return (TomcatEmbeddedServletContainer) embeddedServletContainer;
 		}
 		return null;
 	}
@@ -76,14 +92,53 @@ public class TomcatPublicMetrics implements PublicMetrics, ApplicationContextAwa
 		return null;
 	}
 
-	private Collection<Metric<?>> metrics(Manager manager) {
-		List<Metric<?>> metrics = new ArrayList<Metric<?>>(2);
+	private void addSessionMetrics(List<Metric<?>> metrics, Manager manager) {
 		if (manager instanceof ManagerBase) {
 			addMetric(metrics, "httpsessions.max",
 					((ManagerBase) manager).getMaxActiveSessions());
 		}
 		addMetric(metrics, "httpsessions.active", manager.getActiveSessions());
-		return metrics;
+	}
+
+	private void addThreadMetrics(List<Metric<?>> metrics,
+			TomcatEmbeddedServletContainer container) {
+		int max = 0;
+		int current = 0;
+		int busy = 0;
+		int queued = 0;
+		boolean found = false;
+		for (Connector connector : container.getTomcat().getService()
+				.findConnectors()) {
+			Executor executor = getExecutor(connector.getProtocolHandler());
+			if (executor instanceof ThreadPoolExecutor) {
+				ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+				max += pool.getMaximumPoolSize();
+				current += pool.getPoolSize();
+				busy += pool.getActiveCount();
+				queued += pool.getQueue().size();
+				found = true;
+			}
+			else if (executor instanceof ResizableExecutor) {
+				ResizableExecutor pool = (ResizableExecutor) executor;
+				max += pool.getMaxThreads();
+				current += pool.getPoolSize();
+				busy += pool.getActiveCount();
+				found = true;
+			}
+		}
+		if (found) {
+			addMetric(metrics, "httpthreads.max", max);
+			addMetric(metrics, "httpthreads.current", current);
+			addMetric(metrics, "httpthreads.busy", busy);
+			addMetric(metrics, "httpthreads.queued", queued);
+		}
+	}
+
+	private Executor getExecutor(ProtocolHandler protocolHandler) {
+		if (protocolHandler instanceof AbstractProtocol) {
+			return ((AbstractProtocol<?>) protocolHandler).getExecutor();
+		}
+		return null;
 	}
 
 	private void addMetric(List<Metric<?>> metrics, String name, Integer value) {
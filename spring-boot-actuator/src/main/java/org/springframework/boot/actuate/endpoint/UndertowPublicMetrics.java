@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.undertow.Undertow;
+import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.EmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.undertow.UndertowEmbeddedServletContainer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * A {@link PublicMetrics} implementation that provides statistics for the worker pool of
+ * an embedded Undertow server using the same {@code httpthreads.*} names as
+ * {@link TomcatPublicMetrics} and {@link JettyPublicMetrics}. XNIO does not expose the
+ * current or busy number of workers so only {@code httpthreads.max} and
+ * {@code httpthreads.queued} are reported.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ * @see TomcatPublicMetrics
+ */
+public class UndertowPublicMetrics implements PublicMetrics, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.applicationContext instanceof EmbeddedWebApplicationContext) {
+			XnioWorker worker = getWorker(
+					(EmbeddedWebApplicationContext) this.applicationContext);
+			if (worker != null) {
+				return metrics(worker.getMXBean());
+			}
+		}
+		return Collections.emptySet();
+	}
+
+	private XnioWorker getWorker(EmbeddedWebApplicationContext applicationContext) {
+		EmbeddedServletContainer embeddedServletContainer = applicationContext
+				.getEmbeddedServletContainer();
+		if (embeddedServletContainer instanceof UndertowEmbeddedServletContainer) {
+			Undertow undertow = ((UndertowEmbeddedServletContainer) embeddedServletContainer)
+					.getUndertow();
+			return (undertow == null ? null : undertow.getWorker());
+		}
+		return null;
+	}
+
+	private Collection<Metric<?>> metrics(XnioWorkerMXBean worker) {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(2);
+		addMetric(metrics, "httpthreads.max", worker.getMaxWorkerPoolSize());
+		addMetric(metrics, "httpthreads.queued", worker.getWorkerQueueSize());
+		return metrics;
+	}
+
+	private void addMetric(List<Metric<?>> metrics, String name, Integer value) {
+		metrics.add(new Metric<Integer>(name, value));
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+}
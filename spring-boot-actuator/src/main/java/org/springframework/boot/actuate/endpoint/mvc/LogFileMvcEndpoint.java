@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,17 @@
 
 package org.springframework.boot.actuate.endpoint.mvc;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -33,6 +42,8 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
@@ -41,6 +52,27 @@ import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
  * Controller that provides an API for logfiles, i.e. downloading the main logfile
  * configured in environment property 'logging.file' that is standard, but optional
  * property for spring-boot applications.
+ * <p>
+ * The following optional request parameters can be used to avoid downloading the whole
+ * file:
+ * <ul>
+ * <li>{@code tail} - only return the last given number of kilobytes, starting at the
+ * next complete line</li>
+ * <li>{@code offset} - only return content after the given byte offset. The
+ * {@value #OFFSET_HEADER} response header contains the offset to use for the next
+ * request, so clients can follow the file by polling</li>
+ * <li>{@code filter} - only return lines containing the given text. At most
+ * {@link #setFilterScanLimit(long) filterScanLimit} bytes from the end of the file (or
+ * from the start of a compressed segment) are scanned</li>
+ * <li>{@code segment} - return a rotated segment of the log file (for example
+ * {@code segment=1} returns {@code spring.log.1} or {@code spring.log.1.gz}, decompressing
+ * it if necessary)</li>
+ * </ul>
+ * An invalid {@code offset} or {@code tail} results in a {@code 400} response. Segments
+ * are only found when they are named {@code <file>.<n>} or {@code <file>.<n>.gz}, as
+ * written by the default Logback configuration. Files rolled using other naming
+ * patterns, such as the date based pattern of the default Log4J2 configuration, cannot
+ * be accessed as segments.
  *
  * @author Johannes Edmeier
  * @author Phillip Webb
@@ -49,14 +81,29 @@ import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 @ConfigurationProperties(prefix = "endpoints.logfile")
 public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 
+	/**
+	 * Response header containing the offset to use to follow the log file.
+	 */
+	public static final String OFFSET_HEADER = "X-Log-File-Offset";
+
 	private static final Log logger = LogFactory.getLog(LogFileMvcEndpoint.class);
 
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private static final String[] PARAMETERS = { "tail", "offset", "filter",
+			"segment" };
+
 	/**
 	 * External Logfile to be accessed. Can be used if the logfile is written by output
 	 * redirect and not by the logging-system itself.
 	 */
 	private File externalFile;
 
+	/**
+	 * Maximum number of bytes scanned when filtering the logfile.
+	 */
+	private long filterScanLimit = 10 * 1024 * 1024;
+
 	public LogFileMvcEndpoint() {
 		super("logfile", "/logfile", true);
 	}
@@ -69,6 +116,14 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 		this.externalFile = externalFile;
 	}
 
+	public long getFilterScanLimit() {
+		return this.filterScanLimit;
+	}
+
+	public void setFilterScanLimit(long filterScanLimit) {
+		this.filterScanLimit = filterScanLimit;
+	}
+
 	@RequestMapping(method = { RequestMethod.GET, RequestMethod.HEAD })
 	public void invoke(HttpServletRequest request, HttpServletResponse response)
 			throws ServletException, IOException {
@@ -83,10 +138,171 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 			}
 			resource = null;
 		}
+		if (resource != null && isPartialRequest(request)) {
+			handlePartialRequest(resource.getFile(), request, response);
+			return;
+		}
 		Handler handler = new Handler(resource, request.getServletContext());
 		handler.handleRequest(request, response);
 	}
 
+	private boolean isPartialRequest(HttpServletRequest request) {
+		for (String parameter : PARAMETERS) {
+			if (request.getParameter(parameter) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void handlePartialRequest(File file, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		if (!hasValidRange(request)) {
+			response.setStatus(HttpStatus.BAD_REQUEST.value());
+			return;
+		}
+		String filter = request.getParameter("filter");
+		String segment = request.getParameter("segment");
+		if (segment != null) {
+			file = getSegment(file, segment);
+			if (file == null) {
+				response.setStatus(HttpStatus.NOT_FOUND.value());
+				return;
+			}
+		}
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		boolean head = RequestMethod.HEAD.name().equals(request.getMethod());
+		if (file.getName().endsWith(".gz")) {
+			if (head) {
+				return;
+			}
+			long limit = (StringUtils.hasLength(filter) ? this.filterScanLimit
+					: Long.MAX_VALUE);
+			writeContent(new GZIPInputStream(new FileInputStream(file)), limit, filter,
+					response);
+			return;
+		}
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			long end = randomAccessFile.length();
+			long start = getStart(randomAccessFile, end, request);
+			if (StringUtils.hasLength(filter)) {
+				start = Math.max(start, end - this.filterScanLimit);
+			}
+			response.setHeader(OFFSET_HEADER, String.valueOf(end));
+			if (!head) {
+				randomAccessFile.seek(start);
+				InputStream content = Channels
+						.newInputStream(randomAccessFile.getChannel());
+				writeContent(content, end - start, filter, response);
+			}
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private File getSegment(File file, String segment) {
+		if (!segment.matches("[0-9]+")) {
+			return null;
+		}
+		File candidate = new File(file.getPath() + "." + segment);
+		if (candidate.isFile()) {
+			return candidate;
+		}
+		candidate = new File(candidate.getPath() + ".gz");
+		return (candidate.isFile() ? candidate : null);
+	}
+
+	private boolean hasValidRange(HttpServletRequest request) {
+		try {
+			String offset = request.getParameter("offset");
+			if (offset != null) {
+				Long.parseLong(offset);
+			}
+			String tail = request.getParameter("tail");
+			return (tail == null || Long.parseLong(tail) >= 0);
+		}
+		catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+	private long getStart(RandomAccessFile file, long end, HttpServletRequest request)
+			throws IOException {
+		String offset = request.getParameter("offset");
+		if (offset != null) {
+			long start = Long.parseLong(offset);
+			// The file has been truncated or rotated, start again
+			return (start > end || start < 0 ? 0 : start);
+		}
+		String tail = request.getParameter("tail");
+		if (tail != null) {
+			long kilobytes = Math.min(Long.parseLong(tail), end / 1024 + 1);
+			long start = Math.max(0, end - kilobytes * 1024);
+			return (start == 0 ? 0 : getNextLineStart(file, start, end));
+		}
+		return 0;
+	}
+
+	private long getNextLineStart(RandomAccessFile file, long position, long end)
+			throws IOException {
+		byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+		file.seek(position - 1);
+		long current = position - 1;
+		while (current < end) {
+			int read = file.read(buffer, 0, (int) Math.min(buffer.length, end - current));
+			if (read == -1) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer[i] == '\n') {
+					return current + i + 1;
+				}
+			}
+			current += read;
+		}
+		return end;
+	}
+
+	private void writeContent(InputStream content, long limit, String filter,
+			HttpServletResponse response) throws IOException {
+		try {
+			OutputStream out = response.getOutputStream();
+			if (!StringUtils.hasLength(filter)) {
+				copy(content, out, limit);
+				return;
+			}
+			// ISO-8859-1 maps bytes one-to-one so the original encoding is preserved
+			BufferedReader reader = new BufferedReader(new InputStreamReader(
+					new LimitedInputStream(content, limit), ISO_8859_1));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.contains(filter)) {
+					out.write(line.getBytes(ISO_8859_1));
+					out.write('\n');
+				}
+			}
+			out.flush();
+		}
+		finally {
+			content.close();
+		}
+	}
+
+	private void copy(InputStream in, OutputStream out, long limit)
+			throws IOException {
+		byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+		long remaining = limit;
+		int read;
+		while (remaining > 0 && (read = in.read(buffer, 0,
+				(int) Math.min(buffer.length, remaining))) != -1) {
+			out.write(buffer, 0, read);
+			remaining -= read;
+		}
+		out.flush();
+	}
+
 	private Resource getLogFileResource() {
 		if (this.externalFile != null) {
 			return new FileSystemResource(this.externalFile);
@@ -99,6 +315,46 @@ public class LogFileMvcEndpoint extends AbstractNamedMvcEndpoint {
 		return new FileSystemResource(logFile.toString());
 	}
 
+	/**
+	 * {@link InputStream} that returns at most a given number of bytes.
+	 */
+	private static class LimitedInputStream extends InputStream {
+
+		private final InputStream delegate;
+
+		private long remaining;
+
+		LimitedInputStream(InputStream delegate, long limit) {
+			this.delegate = delegate;
+			this.remaining = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (this.remaining <= 0) {
+				return -1;
+			}
+			int read = this.delegate.read();
+			if (read != -1) {
+				this.remaining--;
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (this.remaining <= 0) {
+				return -1;
+			}
+			int read = this.delegate.read(b, off, (int) Math.min(len, this.remaining));
+			if (read != -1) {
+				this.remaining -= read;
+			}
+			return read;
+		}
+
+	}
+
 	/**
 	 * {@link ResourceHttpRequestHandler} to send the log file.
 	 */
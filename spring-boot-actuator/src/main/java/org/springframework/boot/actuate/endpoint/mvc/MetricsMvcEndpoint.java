@@ -16,17 +16,36 @@
 
 package org.springframework.boot.actuate.endpoint.mvc;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint.MetricCallback;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
- * Adapter to expose {@link MetricsEndpoint} as an {@link MvcEndpoint}.
+ * Adapter to expose {@link MetricsEndpoint} as an {@link MvcEndpoint}. In addition to
+ * the standard JSON response, metrics can be streamed to the response filtered by a
+ * {@code prefix} request parameter, or written in a compact {@code text/plain} format
+ * (one {@code name value} pair per line) using {@code format=text}.
  *
  * @author Dave Syer
  * @author Andy Wilkinson
@@ -35,6 +54,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ConfigurationProperties(prefix = "endpoints.metrics")
 public class MetricsMvcEndpoint extends EndpointMvcAdapter {
 
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
 	private final MetricsEndpoint delegate;
 
 	public MetricsMvcEndpoint(MetricsEndpoint delegate) {
@@ -42,6 +63,82 @@ public class MetricsMvcEndpoint extends EndpointMvcAdapter {
 		this.delegate = delegate;
 	}
 
+	@RequestMapping(method = RequestMethod.GET, params = { "prefix",
+			"!format" }, produces = { ActuatorMediaTypes.APPLICATION_ACTUATOR_V1_JSON_VALUE,
+					MediaType.APPLICATION_JSON_VALUE })
+	public void stream(@RequestParam String prefix, HttpServletResponse response)
+			throws IOException {
+		if (!this.delegate.isEnabled()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		final JsonGenerator generator = JSON_FACTORY
+				.createGenerator(response.getOutputStream());
+		try {
+			generator.writeStartObject();
+			this.delegate.doWithMetrics(prefix, new MetricCallback() {
+
+				@Override
+				public void metric(String name, Number value) throws IOException {
+					generator.writeFieldName(name);
+					writeNumber(generator, value);
+				}
+
+			});
+			generator.writeEndObject();
+		}
+		finally {
+			generator.close();
+		}
+	}
+
+	private void writeNumber(JsonGenerator generator, Number value) throws IOException {
+		// The generator has no codec so only write types it supports natively
+		if (value instanceof BigDecimal) {
+			generator.writeNumber((BigDecimal) value);
+		}
+		else if (value instanceof BigInteger) {
+			generator.writeNumber((BigInteger) value);
+		}
+		else if (value instanceof Double || value instanceof Float) {
+			generator.writeNumber(value.doubleValue());
+		}
+		else if (value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte
+				|| value instanceof AtomicInteger || value instanceof AtomicLong) {
+			generator.writeNumber(value.longValue());
+		}
+		else {
+			generator.writeNumber(value.doubleValue());
+		}
+	}
+
+	@RequestMapping(method = RequestMethod.GET, params = "format=text", produces = MediaType.TEXT_PLAIN_VALUE)
+	public void text(@RequestParam(required = false) String prefix,
+			HttpServletResponse response) throws IOException {
+		if (!this.delegate.isEnabled()) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		final PrintWriter writer = response.getWriter();
+		this.delegate.doWithMetrics(prefix, new MetricCallback() {
+
+			@Override
+			public void metric(String name, Number value) throws IOException {
+				writer.print(name);
+				writer.print(' ');
+				writer.print(value);
+				writer.print('\n');
+			}
+
+		});
+		writer.flush();
+	}
+
 	@ActuatorGetMapping("/{name:.*}")
 	@ResponseBody
 	@HypermediaDisabled
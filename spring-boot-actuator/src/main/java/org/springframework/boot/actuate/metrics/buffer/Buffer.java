@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.boot.actuate.metrics.buffer;
 
 /**
- * Base class for a mutable buffer containing a timestamp and a value.
+ * Base class for a mutable buffer containing a timestamp and a value. Updates made
+ * through {@link #touch()} do not read the clock, instead the timestamp is resolved
+ * lazily the next time it is read, so it is only as accurate as the read interval.
  *
  * @param <T> the value type
  * @author Dave Syer
@@ -27,18 +29,35 @@ abstract class Buffer<T extends Number> {
 
 	private volatile long timestamp;
 
+	private volatile boolean updated;
+
 	Buffer(long timestamp) {
 		this.timestamp = timestamp;
 	}
 
 	public long getTimestamp() {
+		if (this.updated) {
+			this.updated = false;
+			this.timestamp = System.currentTimeMillis();
+		}
 		return this.timestamp;
 	}
 
 	public void setTimestamp(long timestamp) {
+		this.updated = false;
 		this.timestamp = timestamp;
 	}
 
+	/**
+	 * Mark the buffer as updated without reading the clock. The timestamp will be
+	 * resolved on the next call to {@link #getTimestamp()}.
+	 */
+	protected final void touch() {
+		if (!this.updated) {
+			this.updated = true;
+		}
+	}
+
 	/**
 	 * Returns the buffer value.
 	 * @return the value of the buffer
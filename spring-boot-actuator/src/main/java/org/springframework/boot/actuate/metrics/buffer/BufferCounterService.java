@@ -58,6 +58,18 @@ public class BufferCounterService implements CounterService {
 		this.buffers.reset(wrap(metricName));
 	}
 
+	/**
+	 * Return the {@link CounterBuffer} for the given metric, creating it if necessary.
+	 * Callers that update the same counter frequently can retain the buffer and call
+	 * {@link CounterBuffer#add(long)} directly, avoiding the name lookup on each update.
+	 * @param metricName the name of the counter
+	 * @return the counter buffer
+	 * @since 1.5.10
+	 */
+	public CounterBuffer counter(String metricName) {
+		return this.buffers.findOrCreate(wrap(metricName));
+	}
+
 	private String wrap(String metricName) {
 		String cached = this.names.get(metricName);
 		if (cached != null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,19 @@ public class BufferGaugeService implements GaugeService {
 		this.buffers.set(wrap(metricName), value);
 	}
 
+	/**
+	 * Return the {@link GaugeBuffer} for the given metric, creating it if necessary.
+	 * Callers that update the same gauge frequently can retain the buffer and call
+	 * {@link GaugeBuffer#setValue(double)} directly, avoiding the name lookup on each
+	 * update.
+	 * @param metricName the name of the gauge
+	 * @return the gauge buffer
+	 * @since 1.5.10
+	 */
+	public GaugeBuffer gauge(String metricName) {
+		return this.buffers.findOrCreate(wrap(metricName));
+	}
+
 	private String wrap(String metricName) {
 		String cached = this.names.get(metricName);
 		if (cached != null) {
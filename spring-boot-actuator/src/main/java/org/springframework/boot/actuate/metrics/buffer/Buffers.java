@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,15 @@ abstract class Buffers<B extends Buffer<?>> {
 
 	private final ConcurrentHashMap<String, B> buffers = new ConcurrentHashMap<String, B>();
 
+	private final Function<String, B> factory = new Function<String, B>() {
+
+		@Override
+		public B apply(String name) {
+			return createBuffer();
+		}
+
+	};
+
 	public void forEach(final Predicate<String> predicate,
 			final BiConsumer<String, B> consumer) {
 		this.buffers.forEach(new BiConsumer<String, B>() {
@@ -58,17 +67,22 @@ abstract class Buffers<B extends Buffer<?>> {
 		return this.buffers.size();
 	}
 
-	protected final void doWith(final String name, final Consumer<B> consumer) {
+	/**
+	 * Return the buffer with the given name, creating it if necessary. The returned
+	 * buffer can be retained by callers and updated directly.
+	 * @param name the name of the buffer
+	 * @return the buffer (never {@code null})
+	 */
+	public B findOrCreate(String name) {
 		B buffer = this.buffers.get(name);
 		if (buffer == null) {
-			buffer = this.buffers.computeIfAbsent(name, new Function<String, B>() {
-				@Override
-				public B apply(String name) {
-					return createBuffer();
-				}
-			});
+			buffer = this.buffers.computeIfAbsent(name, this.factory);
 		}
-		consumer.accept(buffer);
+		return buffer;
+	}
+
+	protected final void doWith(final String name, final Consumer<B> consumer) {
+		consumer.accept(findOrCreate(name));
 	}
 
 	protected abstract B createBuffer();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,6 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
-import java.util.function.Consumer;
-
 import org.springframework.lang.UsesJava8;
 
 /**
@@ -29,28 +27,12 @@ import org.springframework.lang.UsesJava8;
 @UsesJava8
 public class CounterBuffers extends Buffers<CounterBuffer> {
 
-	public void increment(final String name, final long delta) {
-		doWith(name, new Consumer<CounterBuffer>() {
-
-			@Override
-			public void accept(CounterBuffer buffer) {
-				buffer.setTimestamp(System.currentTimeMillis());
-				buffer.add(delta);
-			}
-
-		});
+	public void increment(String name, long delta) {
+		findOrCreate(name).add(delta);
 	}
 
-	public void reset(final String name) {
-		doWith(name, new Consumer<CounterBuffer>() {
-
-			@Override
-			public void accept(CounterBuffer buffer) {
-				buffer.setTimestamp(System.currentTimeMillis());
-				buffer.reset();
-			}
-
-		});
+	public void reset(String name) {
+		findOrCreate(name).reset();
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ public class GaugeBuffer extends Buffer<Double> {
 
 	public void setValue(double value) {
 		this.value = value;
+		touch();
 	}
 
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cumulative statistics of a timed operation, such as acquiring a connection or
+ * executing a statement.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ * @see InstrumentedDataSource
+ */
+public class ExecutionStatistics {
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalTime = new AtomicLong();
+
+	private final AtomicLong maxTime = new AtomicLong();
+
+	private final AtomicLong rows = new AtomicLong();
+
+	void record(long nanos) {
+		this.count.incrementAndGet();
+		this.totalTime.addAndGet(nanos);
+		long max = this.maxTime.get();
+		while (nanos > max && !this.maxTime.compareAndSet(max, nanos)) {
+			max = this.maxTime.get();
+		}
+	}
+
+	void addRows(long rows) {
+		this.rows.addAndGet(rows);
+	}
+
+	/**
+	 * Return the number of times the operation was performed.
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Return the mean duration of the operation in milliseconds.
+	 * @return the mean duration or {@code 0} if the operation has not been performed
+	 */
+	public double getMeanTime() {
+		long count = this.count.get();
+		return (count == 0 ? 0 : toMillis(this.totalTime.get()) / count);
+	}
+
+	/**
+	 * Return the maximum duration of the operation in milliseconds.
+	 * @return the maximum duration
+	 */
+	public double getMaxTime() {
+		return toMillis(this.maxTime.get());
+	}
+
+	/**
+	 * Return the number of rows that were read from the results of the operation.
+	 * @return the number of rows
+	 */
+	public long getRows() {
+		return this.rows.get();
+	}
+
+	private double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+}
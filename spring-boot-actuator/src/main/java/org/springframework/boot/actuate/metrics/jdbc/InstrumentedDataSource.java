@@ -0,0 +1,298 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link DelegatingDataSource} that records how long it takes to acquire connections
+ * from the target {@link DataSource} and, for each distinct statement, how long it
+ * takes to execute and how many rows are read from its results. Statements are keyed
+ * by a hash of their SQL with literals replaced by {@code ?}, the SQL itself being
+ * available from {@link #getStatements()}. Once the maximum number of distinct
+ * statements has been reached, further statements are recorded under
+ * {@value #OTHER_STATEMENTS_KEY}.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+	/**
+	 * The key under which statements are recorded once the maximum number of distinct
+	 * statements has been reached.
+	 */
+	public static final String OTHER_STATEMENTS_KEY = "other";
+
+	private final int maxStatements;
+
+	private final ExecutionStatistics connectionStatistics = new ExecutionStatistics();
+
+	private final ConcurrentMap<String, ExecutionStatistics> statementStatistics = new ConcurrentHashMap<String, ExecutionStatistics>();
+
+	private final ConcurrentMap<String, String> statements = new ConcurrentHashMap<String, String>();
+
+	private final StatementKeys keys = new StatementKeys();
+
+	/**
+	 * Create a new {@link InstrumentedDataSource} instance.
+	 * @param targetDataSource the target data source
+	 * @param maxStatements the maximum number of distinct statements to record
+	 */
+	public InstrumentedDataSource(DataSource targetDataSource, int maxStatements) {
+		super(targetDataSource);
+		Assert.isTrue(maxStatements > 0, "MaxStatements must be positive");
+		this.maxStatements = maxStatements;
+	}
+
+	/**
+	 * Return the statistics of connection acquisition.
+	 * @return the connection statistics
+	 */
+	public ExecutionStatistics getConnectionStatistics() {
+		return this.connectionStatistics;
+	}
+
+	/**
+	 * Return the statistics of each statement keyed by statement key.
+	 * @return the statement statistics
+	 */
+	public Map<String, ExecutionStatistics> getStatementStatistics() {
+		return Collections.unmodifiableMap(this.statementStatistics);
+	}
+
+	/**
+	 * Return the normalized SQL of each recorded statement keyed by statement key.
+	 * @return the statements
+	 */
+	public Map<String, String> getStatements() {
+		return Collections.unmodifiableMap(this.statements);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		long start = System.nanoTime();
+		Connection connection = super.getConnection();
+		this.connectionStatistics.record(System.nanoTime() - start);
+		return proxy(Connection.class, new ConnectionHandler(connection));
+	}
+
+	@Override
+	public Connection getConnection(String username, String password)
+			throws SQLException {
+		long start = System.nanoTime();
+		Connection connection = super.getConnection(username, password);
+		this.connectionStatistics.record(System.nanoTime() - start);
+		return proxy(Connection.class, new ConnectionHandler(connection));
+	}
+
+	private ExecutionStatistics getStatistics(String sql) {
+		String key = this.keys.getKey(sql);
+		ExecutionStatistics statistics = this.statementStatistics.get(key);
+		if (statistics == null) {
+			if (this.statementStatistics.size() >= this.maxStatements) {
+				key = OTHER_STATEMENTS_KEY;
+				statistics = this.statementStatistics.get(key);
+				if (statistics != null) {
+					return statistics;
+				}
+			}
+			else {
+				this.statements.putIfAbsent(key, StatementKeys.normalize(sql));
+			}
+			statistics = new ExecutionStatistics();
+			ExecutionStatistics existing = this.statementStatistics.putIfAbsent(key,
+					statistics);
+			statistics = (existing != null ? existing : statistics);
+		}
+		return statistics;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+				new Class<?>[] { type }, handler);
+	}
+
+	/**
+	 * Base {@link InvocationHandler} for JDBC objects.
+	 */
+	private abstract static class JdbcHandler implements InvocationHandler {
+
+		private final Object target;
+
+		JdbcHandler(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			if (name.equals("equals")) {
+				return (proxy == args[0]);
+			}
+			if (name.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			return doInvoke(method, args);
+		}
+
+		protected abstract Object doInvoke(Method method, Object[] args)
+				throws Throwable;
+
+		protected final Object invokeTarget(Method method, Object[] args)
+				throws Throwable {
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+	}
+
+	/**
+	 * {@link InvocationHandler} for a {@link Connection}.
+	 */
+	private class ConnectionHandler extends JdbcHandler {
+
+		ConnectionHandler(Connection target) {
+			super(target);
+		}
+
+		@Override
+		protected Object doInvoke(Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(method, args);
+			String name = method.getName();
+			if (name.equals("createStatement")) {
+				return proxy(Statement.class,
+						new StatementHandler((Statement) result, null));
+			}
+			if (name.equals("prepareStatement")) {
+				return proxy(PreparedStatement.class,
+						new StatementHandler((Statement) result, (String) args[0]));
+			}
+			if (name.equals("prepareCall")) {
+				return proxy(CallableStatement.class,
+						new StatementHandler((Statement) result, (String) args[0]));
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * {@link InvocationHandler} for a {@link Statement}.
+	 */
+	private class StatementHandler extends JdbcHandler {
+
+		private final String sql;
+
+		private volatile ExecutionStatistics statistics;
+
+		private volatile ExecutionStatistics preparedStatistics;
+
+		StatementHandler(Statement target, String sql) {
+			super(target);
+			this.sql = sql;
+		}
+
+		@Override
+		protected Object doInvoke(Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				ExecutionStatistics statistics = resolveStatistics(args);
+				if (statistics != null) {
+					this.statistics = statistics;
+					long start = System.nanoTime();
+					Object result = invokeTarget(method, args);
+					statistics.record(System.nanoTime() - start);
+					return wrapResultSet(result);
+				}
+			}
+			Object result = invokeTarget(method, args);
+			return (name.equals("getResultSet") ? wrapResultSet(result) : result);
+		}
+
+		private ExecutionStatistics resolveStatistics(Object[] args) {
+			if (args != null && args.length > 0 && args[0] instanceof String) {
+				return getStatistics((String) args[0]);
+			}
+			if (this.sql == null) {
+				return null;
+			}
+			// A prepared statement always executes the same SQL
+			if (this.preparedStatistics == null) {
+				this.preparedStatistics = getStatistics(this.sql);
+			}
+			return this.preparedStatistics;
+		}
+
+		private Object wrapResultSet(Object result) {
+			if (result instanceof ResultSet && this.statistics != null) {
+				return proxy(ResultSet.class,
+						new ResultSetHandler((ResultSet) result, this.statistics));
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * {@link InvocationHandler} for a {@link ResultSet} that counts rows.
+	 */
+	private static class ResultSetHandler extends JdbcHandler {
+
+		private final ExecutionStatistics statistics;
+
+		ResultSetHandler(ResultSet target, ExecutionStatistics statistics) {
+			super(target);
+			this.statistics = statistics;
+		}
+
+		@Override
+		protected Object doInvoke(Method method, Object[] args) throws Throwable {
+			Object result = invokeTarget(method, args);
+			if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+				this.statistics.addRows(1);
+			}
+			return result;
+		}
+
+	}
+
+}
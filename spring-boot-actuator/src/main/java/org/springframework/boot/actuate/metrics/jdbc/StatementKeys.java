@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jdbc;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Creates the keys under which statements are recorded. SQL is first normalized:
+ * literals are replaced by {@code ?} and whitespace is collapsed so that statements
+ * that only differ by their parameters share a key. The key is a short hash of the
+ * normalized SQL so that it can safely be used in metric names. Keys are cached using
+ * soft references so that SQL that embeds literals does not have to be normalized on
+ * every execution nor pins memory.
+ *
+ * @author Phillip Webb
+ */
+class StatementKeys {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int KEY_LENGTH = 12;
+
+	private final Map<String, String> keys = new ConcurrentReferenceHashMap<String, String>();
+
+	String getKey(String sql) {
+		String key = this.keys.get(sql);
+		if (key == null) {
+			key = createKey(normalize(sql));
+			this.keys.put(sql, key);
+		}
+		return key;
+	}
+
+	static String createKey(String normalizedSql) {
+		return DigestUtils.md5DigestAsHex(normalizedSql.getBytes(UTF_8)).substring(0,
+				KEY_LENGTH);
+	}
+
+	static String normalize(String sql) {
+		StringBuilder result = new StringBuilder(sql.length());
+		boolean whitespace = false;
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char ch = sql.charAt(i);
+			if (Character.isWhitespace(ch)) {
+				whitespace = true;
+				i++;
+				continue;
+			}
+			if (whitespace && result.length() > 0) {
+				result.append(' ');
+			}
+			whitespace = false;
+			if (ch == '\'') {
+				i = skipString(sql, i + 1);
+				result.append('?');
+			}
+			else if (Character.isDigit(ch) && !isPartOfIdentifier(result)) {
+				i = skipNumber(sql, i + 1);
+				result.append('?');
+			}
+			else {
+				result.append(ch);
+				i++;
+			}
+		}
+		return result.toString();
+	}
+
+	private static int skipString(String sql, int index) {
+		while (index < sql.length()) {
+			if (sql.charAt(index) == '\'') {
+				if (index + 1 < sql.length() && sql.charAt(index + 1) == '\'') {
+					index += 2;
+					continue;
+				}
+				return index + 1;
+			}
+			index++;
+		}
+		return index;
+	}
+
+	private static int skipNumber(String sql, int index) {
+		while (index < sql.length()) {
+			char ch = sql.charAt(index);
+			if (!Character.isDigit(ch) && ch != '.') {
+				break;
+			}
+			index++;
+		}
+		return index;
+	}
+
+	private static boolean isPartOfIdentifier(StringBuilder result) {
+		if (result.length() == 0) {
+			return false;
+		}
+		char previous = result.charAt(result.length() - 1);
+		return (Character.isLetterOrDigit(previous) || previous == '_');
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jmx;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.jmx.JmxMetricWriter.MetricValue;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.boot.actuate.metrics.writer.MetricWriter;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * A {@link MetricWriter} for MBeans that, unlike {@link JmxMetricWriter}, does not
+ * register an MBean per metric. Metrics are grouped by the part of their name before the
+ * first period (e.g. {@code counter} or {@code gauge}) and each group is exposed as a
+ * single {@link DynamicMBean} with one attribute per metric. Only the first metric in
+ * each group causes an MBean to be registered, so applications with many dynamic metric
+ * names do not flood the MBeanServer.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+@ManagedResource(description = "MetricWriter for pushing metrics to grouped JMX MBeans.")
+public class GroupedJmxMetricWriter implements MetricWriter {
+
+	private static final Log logger = LogFactory.getLog(GroupedJmxMetricWriter.class);
+
+	private final ConcurrentMap<String, MetricGroup> groups = new ConcurrentHashMap<String, MetricGroup>();
+
+	private final MBeanExporter exporter;
+
+	private String domain = "org.springframework.metrics";
+
+	public GroupedJmxMetricWriter(MBeanExporter exporter) {
+		this.exporter = exporter;
+	}
+
+	public void setDomain(String domain) {
+		this.domain = domain;
+	}
+
+	@ManagedOperation
+	public void increment(String name, long value) {
+		increment(new Delta<Long>(name, value));
+	}
+
+	@Override
+	public void increment(Delta<?> delta) {
+		getGroup(delta.getName()).getValue(delta.getName())
+				.increment(delta.getValue().longValue());
+	}
+
+	@ManagedOperation
+	public void set(String name, double value) {
+		set(new Metric<Double>(name, value));
+	}
+
+	@Override
+	public void set(Metric<?> value) {
+		getGroup(value.getName()).getValue(value.getName())
+				.setValue(value.getValue().doubleValue());
+	}
+
+	@Override
+	@ManagedOperation
+	public void reset(String name) {
+		MetricGroup group = this.groups.get(getGroupName(name));
+		if (group != null) {
+			group.remove(name);
+		}
+	}
+
+	private MetricGroup getGroup(String metricName) {
+		String name = getGroupName(metricName);
+		MetricGroup group = this.groups.get(name);
+		if (group == null) {
+			group = new MetricGroup();
+			MetricGroup oldGroup = this.groups.putIfAbsent(name, group);
+			if (oldGroup != null) {
+				return oldGroup;
+			}
+			try {
+				this.exporter.registerManagedResource(group, getObjectName(name));
+			}
+			catch (Exception ex) {
+				logger.warn("Could not register MBean for metric group " + name, ex);
+			}
+		}
+		return group;
+	}
+
+	private String getGroupName(String metricName) {
+		int index = metricName.indexOf('.');
+		return (index > 0 ? metricName.substring(0, index) : metricName);
+	}
+
+	private ObjectName getObjectName(String name) throws MalformedObjectNameException {
+		Hashtable<String, String> table = new Hashtable<String, String>();
+		table.put("type", "MetricGroup");
+		table.put("name", name);
+		return new ObjectName(this.domain, table);
+	}
+
+	/**
+	 * A {@link DynamicMBean} exposing a group of metric values as read-only attributes.
+	 */
+	static class MetricGroup implements DynamicMBean {
+
+		private final ConcurrentMap<String, MetricValue> values = new ConcurrentHashMap<String, MetricValue>();
+
+		private final AtomicInteger version = new AtomicInteger();
+
+		private volatile VersionedInfo info;
+
+		MetricValue getValue(String name) {
+			MetricValue value = this.values.get(name);
+			if (value == null) {
+				value = new MetricValue();
+				MetricValue oldValue = this.values.putIfAbsent(name, value);
+				if (oldValue != null) {
+					return oldValue;
+				}
+				this.version.incrementAndGet();
+			}
+			return value;
+		}
+
+		void remove(String name) {
+			if (this.values.remove(name) != null) {
+				this.version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			MetricValue value = this.values.get(attribute);
+			if (value == null) {
+				throw new AttributeNotFoundException("No such metric: " + attribute);
+			}
+			return value.getValue();
+		}
+
+		@Override
+		public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+			throw new AttributeNotFoundException(
+					"Metric " + attribute.getName() + " is read-only");
+		}
+
+		@Override
+		public AttributeList getAttributes(String[] attributes) {
+			AttributeList result = new AttributeList();
+			for (String attribute : attributes) {
+				MetricValue value = this.values.get(attribute);
+				if (value != null) {
+					result.add(new Attribute(attribute, value.getValue()));
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public AttributeList setAttributes(AttributeList attributes) {
+			return new AttributeList();
+		}
+
+		@Override
+		public Object invoke(String actionName, Object[] params, String[] signature)
+				throws ReflectionException {
+			throw new ReflectionException(
+					new NoSuchMethodException(actionName + " is not supported"));
+		}
+
+		@Override
+		public MBeanInfo getMBeanInfo() {
+			VersionedInfo info = this.info;
+			int version = this.version.get();
+			if (info == null || info.version != version) {
+				info = new VersionedInfo(version, createMBeanInfo());
+				this.info = info;
+			}
+			return info.info;
+		}
+
+		private MBeanInfo createMBeanInfo() {
+			List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+			for (String name : this.values.keySet()) {
+				attributes.add(new MBeanAttributeInfo(name, Double.class.getName(),
+						"Metric " + name, true, false, false));
+			}
+			return new MBeanInfo(getClass().getName(), "Group of metric values",
+					attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null,
+					null, null);
+		}
+
+	}
+
+	/**
+	 * An {@link MBeanInfo} and the {@link MetricGroup} version it was created for.
+	 */
+	private static final class VersionedInfo {
+
+		private final int version;
+
+		private final MBeanInfo info;
+
+		VersionedInfo(int version, MBeanInfo info) {
+			this.version = version;
+			this.info = info;
+		}
+
+	}
+
+}
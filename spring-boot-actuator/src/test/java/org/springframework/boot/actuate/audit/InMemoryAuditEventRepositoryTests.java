@@ -63,6 +63,49 @@ public class InMemoryAuditEventRepositoryTests {
 		assertThat(events.get(1).getType()).isEqualTo("c");
 	}
 
+	@Test
+	public void concurrentAdd() throws Exception {
+		final InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(
+				100);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			final String principal = "user" + i;
+			threads[i] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int j = 0; j < 1000; j++) {
+						repository.add(new AuditEvent(principal, "a", "index=" + j));
+					}
+				}
+
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		List<AuditEvent> events = repository.find(null);
+		assertThat(events).hasSize(100);
+		// The 100 most recent events are retained, which for each thread is a run of
+		// its last events, in order
+		Map<String, Integer> lastIndexes = new HashMap<String, Integer>();
+		for (AuditEvent event : events) {
+			String principal = event.getPrincipal();
+			int index = Integer.parseInt((String) event.getData().get("index"));
+			Integer last = lastIndexes.get(principal);
+			if (last != null) {
+				assertThat(index).isEqualTo(last + 1);
+			}
+			lastIndexes.put(principal, index);
+		}
+		assertThat(lastIndexes.values()).containsOnly(999);
+		repository.add(new AuditEvent("dave", "b"));
+		events = repository.find(null);
+		assertThat(events).hasSize(100);
+		assertThat(events.get(99).getPrincipal()).isEqualTo("dave");
+	}
+
 	@Test
 	public void addNullAuditEvent() throws Exception {
 		this.thrown.expect(IllegalArgumentException.class);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,8 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.cache.NearCacheManager;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -126,6 +128,27 @@ public class CacheStatisticsAutoConfigurationTests {
 		doTestCoreStatistics(provider, true);
 	}
 
+	@Test
+	public void nearCacheStatistics() {
+		load(NearCacheConfig.class);
+		CacheStatisticsProvider provider = this.context
+				.getBean("nearCacheStatisticsProvider", CacheStatisticsProvider.class);
+		doTestCoreStatistics(provider, true);
+		Cache books = getCache("books");
+		((NearCacheManager) this.cacheManager).getRemoteCacheManager().getCache("books")
+				.put("c", "c");
+		getOrCreate(books, "c");
+		CacheStatistics statistics = provider.getCacheStatistics(this.cacheManager,
+				books);
+		Double remoteHitRatio = null;
+		for (Metric<?> metric : statistics.toMetrics("cache.books.")) {
+			if (metric.getName().equals("cache.books.remote.hit.ratio")) {
+				remoteHitRatio = metric.getValue().doubleValue();
+			}
+		}
+		checkRatio("Wrong remote hit ratio", 0.33D, remoteHitRatio);
+	}
+
 	@Test
 	public void concurrentMapCacheStatistics() {
 		load(ConcurrentMapConfig.class);
@@ -337,4 +360,16 @@ public class CacheStatisticsAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class NearCacheConfig {
+
+		@Bean
+		public NearCacheManager cacheManager() {
+			return new NearCacheManager(
+					new ConcurrentMapCacheManager("books", "speaker"),
+					Caffeine.newBuilder().recordStats());
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,12 +32,16 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.JettyPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.endpoint.PublicMetricsSampler;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
+import org.springframework.boot.actuate.endpoint.UndertowPublicMetrics;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
 import org.springframework.boot.actuate.metrics.rich.RichGauge;
 import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -46,6 +50,7 @@ import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetada
 import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
 import org.springframework.boot.context.embedded.MockEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -57,6 +62,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
 import org.springframework.util.SocketUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -95,6 +101,32 @@ public class PublicMetricsAutoConfigurationTests {
 				.hasSize(2);
 	}
 
+	@Test
+	public void noSamplerByDefault() {
+		load();
+		assertThat(this.context.getBeansOfType(PublicMetricsSampler.class)).isEmpty();
+	}
+
+	@Test
+	public void samplerWithSampleInterval() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.sample-interval:5000");
+		context.register(DataSourcePoolMetadataProvidersConfiguration.class,
+				CacheStatisticsAutoConfiguration.class,
+				PublicMetricsAutoConfiguration.class);
+		context.refresh();
+		this.context = context;
+		PublicMetricsSampler sampler = context.getBean(PublicMetricsSampler.class);
+		assertThat(sampler.isRunning()).isTrue();
+		assertThat(sampler.sampled(context.getBean(SystemPublicMetrics.class)))
+				.isNotSameAs(context.getBean(SystemPublicMetrics.class));
+		assertThat(context.getBeanNamesForType(
+				ScheduledAnnotationBeanPostProcessor.class)).isEmpty();
+		context.close();
+		assertThat(sampler.isRunning()).isFalse();
+	}
+
 	@Test
 	public void richGaugePublicMetrics() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
@@ -133,6 +165,53 @@ public class PublicMetricsAutoConfigurationTests {
 		assertMetrics(metrics, "datasource.primary.active", "datasource.primary.usage");
 	}
 
+	@Test
+	public void autoDataSourceWithJdbcMetrics() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.jdbc.enabled:true");
+		context.register(DataSourceAutoConfiguration.class,
+				DataSourcePoolMetadataProvidersConfiguration.class,
+				CacheStatisticsAutoConfiguration.class,
+				PublicMetricsAutoConfiguration.class);
+		context.refresh();
+		this.context = context;
+		DataSource dataSource = this.context.getBean(DataSource.class);
+		assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+		new JdbcTemplate(dataSource).queryForList(
+				"SELECT * FROM INFORMATION_SCHEMA.SYSTEM_USERS WHERE USER_NAME = 'SA'");
+		Map<String, String> statements = ((InstrumentedDataSource) dataSource)
+				.getStatements();
+		assertThat(statements).hasSize(1);
+		Map.Entry<String, String> entry = statements.entrySet().iterator().next();
+		assertThat(entry.getValue()).isEqualTo(
+				"SELECT * FROM INFORMATION_SCHEMA.SYSTEM_USERS WHERE USER_NAME = ?");
+		assertThat(entry.getKey()).matches("[0-9a-f]{12}");
+		PublicMetrics bean = this.context.getBean(DataSourcePublicMetrics.class);
+		Collection<Metric<?>> metrics = bean.metrics();
+		String statement = "datasource.primary.statement." + entry.getKey() + ".";
+		assertMetrics(metrics, "datasource.primary.active", "datasource.primary.usage",
+				"datasource.primary.connection.acquire.count",
+				"datasource.primary.connection.acquire.time.mean",
+				statement + "count", statement + "time.max", statement + "rows");
+	}
+
+	@Test
+	public void userDefinedDataSourcesAreNotInstrumented() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.jdbc.enabled:true");
+		context.register(MultipleDataSourcesConfig.class,
+				DataSourcePoolMetadataProvidersConfiguration.class,
+				CacheStatisticsAutoConfiguration.class,
+				PublicMetricsAutoConfiguration.class);
+		context.refresh();
+		this.context = context;
+		assertThat(this.context.getBean("hikariDS"))
+				.isInstanceOf(HikariDataSource.class);
+		assertThat(this.context.getBeansOfType(InstrumentedDataSource.class)).isEmpty();
+	}
+
 	@Test
 	public void multipleDataSources() {
 		load(MultipleDataSourcesConfig.class);
@@ -193,6 +272,24 @@ public class PublicMetricsAutoConfigurationTests {
 		assertThat(this.context.getBeansOfType(TomcatPublicMetrics.class)).hasSize(1);
 	}
 
+	@Test
+	public void jettyAndUndertowMetrics() throws Exception {
+		loadWeb();
+		assertThat(this.context.getBeansOfType(JettyPublicMetrics.class)).hasSize(1);
+		assertThat(this.context.getBeansOfType(UndertowPublicMetrics.class)).hasSize(1);
+		assertThat(this.context.getBean(JettyPublicMetrics.class).metrics()).isEmpty();
+		assertThat(this.context.getBean(UndertowPublicMetrics.class).metrics())
+				.isEmpty();
+	}
+
+	@Test
+	public void noContainerMetricsWhenNotWebApplication() throws Exception {
+		load();
+		assertThat(this.context.getBeansOfType(TomcatPublicMetrics.class)).isEmpty();
+		assertThat(this.context.getBeansOfType(JettyPublicMetrics.class)).isEmpty();
+		assertThat(this.context.getBeansOfType(UndertowPublicMetrics.class)).isEmpty();
+	}
+
 	@Test
 	public void noCacheMetrics() {
 		load();
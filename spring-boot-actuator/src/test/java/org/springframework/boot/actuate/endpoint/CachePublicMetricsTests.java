@@ -25,10 +25,12 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.CaffeineCacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.ConcurrentMapCacheStatisticsProvider;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.cache.CoalescingCacheManager;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -95,6 +97,31 @@ public class CachePublicMetricsTests {
 		assertThat(metrics).containsOnly(entry("cache.foo.size", 0L));
 	}
 
+	@Test
+	public void cacheMetricsFallBackToNextMatchingProvider() {
+		CachePublicMetrics cpm = new CachePublicMetrics(this.cacheManagers,
+				providers(new CaffeineCacheStatisticsProvider(),
+						new NoStatisticsProvider(),
+						new ConcurrentMapCacheStatisticsProvider()));
+		for (int i = 0; i < 2; i++) {
+			Map<String, Number> metrics = metrics(cpm);
+			assertThat(metrics).containsOnly(entry("cache.foo.size", 0L),
+					entry("cache.bar.size", 0L));
+		}
+	}
+
+	@Test
+	public void cacheMetricsWithCoalescingCache() {
+		this.cacheManagers.put("cacheManager", new CoalescingCacheManager(
+				new ConcurrentMapCacheManager("foo"), 0, null));
+		CachePublicMetrics cpm = new CachePublicMetrics(this.cacheManagers,
+				providers(new ConcurrentMapCacheStatisticsProvider()));
+		Map<String, Number> metrics = metrics(cpm);
+		assertThat(metrics).containsOnly(entry("cache.foo.size", 0L),
+				entry("cache.foo.coalesced.loads", 0L),
+				entry("cache.foo.refreshes", 0L));
+	}
+
 	private Map<String, Number> metrics(CachePublicMetrics cpm) {
 		Collection<Metric<?>> metrics = cpm.metrics();
 		assertThat(metrics).isNotNull();
@@ -110,4 +137,15 @@ public class CachePublicMetricsTests {
 		return Arrays.asList(providers);
 	}
 
+	private static class NoStatisticsProvider
+			implements CacheStatisticsProvider<ConcurrentMapCache> {
+
+		@Override
+		public CacheStatistics getCacheStatistics(CacheManager cacheManager,
+				ConcurrentMapCache cache) {
+			return null;
+		}
+
+	}
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.jdbc.InstrumentedDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JdbcStatementsEndpoint}.
+ */
+public class JdbcStatementsEndpointTests
+		extends AbstractEndpointTests<JdbcStatementsEndpoint> {
+
+	public JdbcStatementsEndpointTests() {
+		super(Config.class, JdbcStatementsEndpoint.class, "jdbcstatements", true,
+				"endpoints.jdbcstatements");
+	}
+
+	@Test
+	public void invoke() throws Exception {
+		new JdbcTemplate(this.context.getBean("instrumentedDataSource", DataSource.class))
+				.queryForList("SELECT * FROM INFORMATION_SCHEMA.SYSTEM_USERS "
+						+ "WHERE USER_NAME = 'SA'");
+		Map<String, Map<String, String>> result = getEndpointBean().invoke();
+		assertThat(result).containsOnlyKeys("instrumentedDataSource");
+		assertThat(result.get("instrumentedDataSource")).containsValues(
+				"SELECT * FROM INFORMATION_SCHEMA.SYSTEM_USERS WHERE USER_NAME = ?");
+	}
+
+	@Configuration
+	public static class Config {
+
+		@Bean
+		public DataSource instrumentedDataSource() {
+			return new InstrumentedDataSource(new EmbeddedDatabaseBuilder()
+					.setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build(),
+					10);
+		}
+
+		@Bean
+		public DataSource otherDataSource() {
+			return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL)
+					.generateUniqueName(true).build();
+		}
+
+		@Bean
+		public JdbcStatementsEndpoint endpoint() {
+			return new JdbcStatementsEndpoint();
+		}
+
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.SocketUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JettyPublicMetrics}.
+ */
+public class JettyPublicMetricsTests {
+
+	@Test
+	public void jettyMetrics() throws Exception {
+		AnnotationConfigEmbeddedWebApplicationContext context = new AnnotationConfigEmbeddedWebApplicationContext(
+				Config.class);
+		try {
+			JettyPublicMetrics jettyMetrics = context.getBean(JettyPublicMetrics.class);
+			Iterator<Metric<?>> metrics = jettyMetrics.metrics().iterator();
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.max");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.current");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.busy");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.queued");
+			assertThat(metrics.hasNext()).isFalse();
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public JettyEmbeddedServletContainerFactory containerFactory() {
+			JettyEmbeddedServletContainerFactory factory = new JettyEmbeddedServletContainerFactory();
+			factory.setPort(SocketUtils.findAvailableTcpPort(40000));
+			return factory;
+		}
+
+		@Bean
+		public JettyPublicMetrics metrics() {
+			return new JettyPublicMetrics();
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link KafkaConsumerPublicMetrics}.
+ */
+public class KafkaConsumerPublicMetricsTests {
+
+	private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+	private ObjectName name;
+
+	@After
+	public void unregister() throws Exception {
+		if (this.name != null) {
+			this.mBeanServer.unregisterMBean(this.name);
+		}
+	}
+
+	@Test
+	public void consumerMetrics() throws Exception {
+		register("consumer-1", 120.5, 42.0);
+		Map<String, Number> metrics = getMetrics();
+		assertThat(metrics).containsEntry("kafka.consumer.consumer-1.records.rate",
+				120.5);
+		assertThat(metrics).containsEntry("kafka.consumer.consumer-1.lag.max", 42.0);
+	}
+
+	@Test
+	public void metricsWithoutSamplesAreIgnored() throws Exception {
+		register("consumer-2", Double.NaN, Double.NEGATIVE_INFINITY);
+		assertThat(getMetrics()).doesNotContainKeys(
+				"kafka.consumer.consumer-2.records.rate",
+				"kafka.consumer.consumer-2.lag.max");
+	}
+
+	private Map<String, Number> getMetrics() {
+		Map<String, Number> metrics = new HashMap<String, Number>();
+		for (Metric<?> metric : new KafkaConsumerPublicMetrics().metrics()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+	private void register(String clientId, double recordsRate, double lagMax)
+			throws Exception {
+		this.name = new ObjectName(
+				"kafka.consumer:type=consumer-fetch-manager-metrics,client-id="
+						+ clientId);
+		Map<String, Object> attributes = new HashMap<String, Object>();
+		attributes.put("records-consumed-rate", recordsRate);
+		attributes.put("records-lag-max", lagMax);
+		this.mBeanServer.registerMBean(new MetricsMBean(attributes), this.name);
+	}
+
+	private static class MetricsMBean implements DynamicMBean {
+
+		private final Map<String, Object> attributes;
+
+		MetricsMBean(Map<String, Object> attributes) {
+			this.attributes = attributes;
+		}
+
+		@Override
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			if (!this.attributes.containsKey(attribute)) {
+				throw new AttributeNotFoundException(attribute);
+			}
+			return this.attributes.get(attribute);
+		}
+
+		@Override
+		public void setAttribute(Attribute attribute) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public AttributeList getAttributes(String[] attributes) {
+			AttributeList list = new AttributeList();
+			for (String attribute : attributes) {
+				if (this.attributes.containsKey(attribute)) {
+					list.add(new Attribute(attribute, this.attributes.get(attribute)));
+				}
+			}
+			return list;
+		}
+
+		@Override
+		public AttributeList setAttributes(AttributeList attributes) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object invoke(String actionName, Object[] params, String[] signature) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public MBeanInfo getMBeanInfo() {
+			return new MBeanInfo(MetricsMBean.class.getName(), "Kafka metrics", null,
+					null, null, null);
+		}
+
+	}
+
+}
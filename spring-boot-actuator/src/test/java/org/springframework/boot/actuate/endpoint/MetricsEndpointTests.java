@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,6 +35,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * Tests for {@link MetricsEndpoint}.
@@ -71,6 +73,26 @@ public class MetricsEndpointTests extends AbstractEndpointTests<MetricsEndpoint>
 		assertThat(iterator.hasNext()).isFalse();
 	}
 
+	@Test
+	public void doWithMetricsFiltersByPrefix() throws Exception {
+		List<PublicMetrics> publicMetrics = new ArrayList<PublicMetrics>();
+		publicMetrics.add(new TestPublicMetrics(2, this.metric2, this.metric3));
+		publicMetrics.add(new TestPublicMetrics(1, this.metric1,
+				new Metric<Number>("ab", 4), new Metric<Number>("ad", null)));
+		final Map<String, Number> metrics = new LinkedHashMap<String, Number>();
+		new MetricsEndpoint(publicMetrics).doWithMetrics("a",
+				new MetricsEndpoint.MetricCallback() {
+
+					@Override
+					public void metric(String name, Number value) {
+						metrics.put(name, value);
+					}
+
+				});
+		assertThat(metrics).containsExactly(entry("a", (Number) 1),
+				entry("ab", (Number) 4));
+	}
+
 	private static class TestPublicMetrics implements PublicMetrics, Ordered {
 
 		private final int order;
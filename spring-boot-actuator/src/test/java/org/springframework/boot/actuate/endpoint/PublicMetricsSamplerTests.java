@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PublicMetricsSampler}.
+ */
+public class PublicMetricsSamplerTests {
+
+	private final PublicMetricsSampler sampler = new PublicMetricsSampler(1000,
+			CountingPublicMetrics.class);
+
+	@Test
+	public void unsupportedTypeIsNotWrapped() {
+		PublicMetrics metrics = new SystemPublicMetrics();
+		assertThat(this.sampler.sampled(metrics)).isSameAs(metrics);
+	}
+
+	@Test
+	public void metricsAreReadFromSnapshot() {
+		CountingPublicMetrics source = new CountingPublicMetrics();
+		PublicMetrics sampled = this.sampler.sampled(source);
+		assertThat(sampled.metrics().iterator().next().getValue()).isEqualTo(1);
+		assertThat(sampled.metrics().iterator().next().getValue()).isEqualTo(1);
+		this.sampler.sample();
+		assertThat(sampled.metrics().iterator().next().getValue()).isEqualTo(2);
+		assertThat(source.count).isEqualTo(2);
+	}
+
+	@Test
+	public void samplesAreTakenWhileRunning() throws Exception {
+		PublicMetricsSampler sampler = new PublicMetricsSampler(10,
+				CountingPublicMetrics.class);
+		CountingPublicMetrics source = new CountingPublicMetrics();
+		sampler.sampled(source);
+		sampler.start();
+		try {
+			assertThat(sampler.isRunning()).isTrue();
+			long end = System.currentTimeMillis() + 5000;
+			while (source.count < 3 && System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			assertThat(source.count).isGreaterThanOrEqualTo(3);
+		}
+		finally {
+			sampler.stop();
+		}
+		assertThat(sampler.isRunning()).isFalse();
+	}
+
+	@Test
+	public void sameSourceIsOnlySampledOnce() {
+		CountingPublicMetrics source = new CountingPublicMetrics();
+		PublicMetrics sampled = this.sampler.sampled(source);
+		assertThat(this.sampler.sampled(source)).isSameAs(sampled);
+		assertThat(this.sampler.sampled(sampled)).isSameAs(sampled);
+		this.sampler.sample();
+		assertThat(source.count).isEqualTo(1);
+	}
+
+	@Test
+	public void orderIsPreserved() {
+		PublicMetrics sampled = this.sampler.sampled(new CountingPublicMetrics());
+		assertThat(((Ordered) sampled).getOrder()).isEqualTo(42);
+	}
+
+	static class CountingPublicMetrics implements PublicMetrics, Ordered {
+
+		private volatile int count;
+
+		@Override
+		public Collection<Metric<?>> metrics() {
+			this.count++;
+			return Collections.<Metric<?>>singleton(
+					new Metric<Integer>("count", this.count));
+		}
+
+		@Override
+		public int getOrder() {
+			return 42;
+		}
+
+	}
+
+}
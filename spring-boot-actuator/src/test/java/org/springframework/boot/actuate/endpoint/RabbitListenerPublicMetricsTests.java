@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.amqp.RabbitListenerStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link RabbitListenerPublicMetrics}.
+ */
+public class RabbitListenerPublicMetricsTests {
+
+	private final RabbitListenerStatistics statistics = new RabbitListenerStatistics();
+
+	@Test
+	public void noMetricsWithoutQueues() {
+		assertThat(new RabbitListenerPublicMetrics(this.statistics, null, null)
+				.metrics()).isEmpty();
+	}
+
+	@Test
+	public void queueStatisticsAndDepth() throws Throwable {
+		consume("orders");
+		consume("orders");
+		AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+		Properties properties = new Properties();
+		properties.put(RabbitAdmin.QUEUE_MESSAGE_COUNT, 42);
+		given(amqpAdmin.getQueueProperties("orders")).willReturn(properties);
+		Map<String, Number> metrics = toMap(
+				new RabbitListenerPublicMetrics(this.statistics, amqpAdmin, null)
+						.metrics());
+		assertThat(metrics).containsEntry("rabbit.listener.orders.processed", 2L);
+		assertThat(metrics).containsEntry("rabbit.listener.orders.failed", 0L);
+		assertThat(metrics).containsEntry("rabbit.listener.orders.active", 0);
+		assertThat(metrics).containsEntry("rabbit.listener.orders.depth", 42);
+		assertThat(metrics).containsKeys("rabbit.listener.orders.busy",
+				"rabbit.listener.orders.time.mean", "rabbit.listener.orders.time.p99");
+	}
+
+	@Test
+	public void depthIsSkippedWhenBrokerIsNotAvailable() throws Throwable {
+		consume("orders");
+		AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+		given(amqpAdmin.getQueueProperties("orders"))
+				.willThrow(new AmqpConnectException(new RuntimeException("test")));
+		Map<String, Number> metrics = toMap(
+				new RabbitListenerPublicMetrics(this.statistics, amqpAdmin, null)
+						.metrics());
+		assertThat(metrics).containsKey("rabbit.listener.orders.processed");
+		assertThat(metrics).doesNotContainKey("rabbit.listener.orders.depth");
+	}
+
+	private void consume(String queue) throws Throwable {
+		MessageProperties properties = new MessageProperties();
+		properties.setConsumerQueue(queue);
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		given(invocation.getArguments())
+				.willReturn(new Object[] { null, new Message(new byte[0], properties) });
+		this.statistics.invoke(invocation);
+	}
+
+	private Map<String, Number> toMap(Collection<Metric<?>> metrics) {
+		Map<String, Number> result = new HashMap<String, Number>();
+		for (Metric<?> metric : metrics) {
+			result.put(metric.getName(), metric.getValue());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.amqp.PublisherConfirmWindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link RabbitPublisherPublicMetrics}.
+ */
+public class RabbitPublisherPublicMetricsTests {
+
+	@Test
+	public void metrics() {
+		PublisherConfirmWindow window = mock(PublisherConfirmWindow.class);
+		given(window.getOutstanding()).willReturn(12);
+		given(window.getLatency()).willReturn(3.5);
+		given(window.getNacks()).willReturn(2L);
+		Map<String, Number> metrics = toMap(
+				new RabbitPublisherPublicMetrics(window).metrics());
+		assertThat(metrics).containsEntry("rabbit.publisher.confirms.outstanding", 12);
+		assertThat(metrics).containsEntry("rabbit.publisher.confirms.latency", 3.5);
+		assertThat(metrics).containsEntry("rabbit.publisher.confirms.nacks", 2L);
+	}
+
+	private Map<String, Number> toMap(Collection<Metric<?>> metrics) {
+		Map<String, Number> result = new HashMap<String, Number>();
+		for (Metric<?> metric : metrics) {
+			result.put(metric.getName(), metric.getValue());
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,4 +48,23 @@ public class SanitizerTests {
 		assertThat(sanitizer.sanitize("veryokish", "secret")).isEqualTo("secret");
 	}
 
+	@Test
+	public void mixedKeys() throws Exception {
+		Sanitizer sanitizer = new Sanitizer("pin", "foo.bar", "^exact$");
+		assertThat(sanitizer.sanitize("card.PIN", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("my.foo.bar", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("exact", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("inexact", "secret")).isEqualTo("secret");
+		assertThat(sanitizer.sanitize("pinned", "secret")).isEqualTo("secret");
+	}
+
+	@Test
+	public void changingKeysResetsCachedOutcome() throws Exception {
+		Sanitizer sanitizer = new Sanitizer();
+		assertThat(sanitizer.sanitize("find", "secret")).isEqualTo("secret");
+		sanitizer.setKeysToSanitize("find");
+		assertThat(sanitizer.sanitize("find", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("password", "secret")).isEqualTo("secret");
+	}
+
 }
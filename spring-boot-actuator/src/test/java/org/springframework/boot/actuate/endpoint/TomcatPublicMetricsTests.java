@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,10 @@ public class TomcatPublicMetricsTests {
 			Iterator<Metric<?>> metrics = tomcatMetrics.metrics().iterator();
 			assertThat(metrics.next().getName()).isEqualTo("httpsessions.max");
 			assertThat(metrics.next().getName()).isEqualTo("httpsessions.active");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.max");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.current");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.busy");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.queued");
 			assertThat(metrics.hasNext()).isFalse();
 		}
 		finally {
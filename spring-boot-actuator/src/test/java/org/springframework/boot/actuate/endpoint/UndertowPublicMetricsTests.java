@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.undertow.UndertowEmbeddedServletContainerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.SocketUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UndertowPublicMetrics}.
+ */
+public class UndertowPublicMetricsTests {
+
+	@Test
+	public void undertowMetrics() throws Exception {
+		AnnotationConfigEmbeddedWebApplicationContext context = new AnnotationConfigEmbeddedWebApplicationContext(
+				Config.class);
+		try {
+			UndertowPublicMetrics undertowMetrics = context
+					.getBean(UndertowPublicMetrics.class);
+			Iterator<Metric<?>> metrics = undertowMetrics.metrics().iterator();
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.max");
+			assertThat(metrics.next().getName()).isEqualTo("httpthreads.queued");
+			assertThat(metrics.hasNext()).isFalse();
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public UndertowEmbeddedServletContainerFactory containerFactory() {
+			UndertowEmbeddedServletContainerFactory factory = new UndertowEmbeddedServletContainerFactory();
+			factory.setPort(SocketUtils.findAvailableTcpPort(40000));
+			return factory;
+		}
+
+		@Bean
+		public UndertowPublicMetrics metrics() {
+			return new UndertowPublicMetrics();
+		}
+
+	}
+
+}
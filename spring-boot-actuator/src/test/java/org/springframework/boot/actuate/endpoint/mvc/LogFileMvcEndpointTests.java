@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.boot.actuate.endpoint.mvc;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -110,6 +112,137 @@ public class LogFileMvcEndpointTests {
 		assertThat(response.getContentAsString()).isEqualTo("--TEST--");
 	}
 
+	@Test
+	public void invokeWithTail() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			content.append("line ").append(i).append("\n");
+		}
+		FileCopyUtils.copy(content.toString().getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("tail", "1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		String tail = response.getContentAsString();
+		assertThat(tail.length()).isLessThanOrEqualTo(1024);
+		assertThat(tail).startsWith("line ").endsWith("line 199\n");
+		assertThat(response.getHeader(LogFileMvcEndpoint.OFFSET_HEADER))
+				.isEqualTo(String.valueOf(this.logFile.length()));
+	}
+
+	@Test
+	public void invokeWithOffset() throws Exception {
+		FileCopyUtils.copy("first\nsecond\n".getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("offset", "6");
+		this.mvc.invoke(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("second\n");
+		assertThat(response.getHeader(LogFileMvcEndpoint.OFFSET_HEADER))
+				.isEqualTo("13");
+	}
+
+	@Test
+	public void invokeWithInvalidOffset() throws Exception {
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("offset", "abc");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+	}
+
+	@Test
+	public void invokeWithNegativeTail() throws Exception {
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("tail", "-1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+	}
+
+	@Test
+	public void invokeWithTailLongerThanFile() throws Exception {
+		FileCopyUtils.copy("first\nsecond\n".getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("tail", String.valueOf(Long.MAX_VALUE));
+		this.mvc.invoke(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("first\nsecond\n");
+	}
+
+	@Test
+	public void invokeWithFilter() throws Exception {
+		FileCopyUtils.copy("a id=1\nb id=2\nc id=1\n".getBytes(), this.logFile);
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("filter", "id=1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("a id=1\nc id=1\n");
+	}
+
+	@Test
+	public void invokeWithCompressedSegment() throws Exception {
+		File segment = new File(this.logFile.getPath() + ".1.gz");
+		GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(segment));
+		try {
+			out.write("old\ncontent\n".getBytes());
+		}
+		finally {
+			out.close();
+		}
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("segment", "1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("old\ncontent\n");
+	}
+
+	@Test
+	public void headWithCompressedSegment() throws Exception {
+		File segment = new File(this.logFile.getPath() + ".1.gz");
+		GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(segment));
+		try {
+			out.write("old\ncontent\n".getBytes());
+		}
+		finally {
+			out.close();
+		}
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(
+				HttpMethod.HEAD.name(), "/logfile");
+		request.setParameter("segment", "1");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getContentAsString()).isEmpty();
+	}
+
+	@Test
+	public void invokeWithMissingSegment() throws Exception {
+		this.mvc.setExternalFile(this.logFile);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(),
+				"/logfile");
+		request.setParameter("segment", "2");
+		this.mvc.invoke(request, response);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+	}
+
 	@Test
 	public void invokeGetsContentExternalFile() throws Exception {
 		this.mvc.setExternalFile(this.logFile);
@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.endpoint.mvc;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -171,6 +172,36 @@ public class MetricsMvcEndpointTests {
 				.andExpect(content().string(containsString("1")));
 	}
 
+	@Test
+	public void streamWithPrefix() throws Exception {
+		this.mvc.perform(get("/metrics").param("prefix", "group1."))
+				.andExpect(status().isOk()).andExpect(content()
+						.string(equalTo("{\"group1.a\":1,\"group1.b\":1}")));
+	}
+
+	@Test
+	public void streamWithPrefixAndNonStandardNumberType() throws Exception {
+		this.mvc.perform(get("/metrics").param("prefix", "counters."))
+				.andExpect(status().isOk()).andExpect(content().string(
+						equalTo("{\"counters.atomic\":5,\"counters.ratio\":0.5}")));
+	}
+
+	@Test
+	public void streamWithPrefixWhenDisabled() throws Exception {
+		this.context.getBean(MetricsEndpoint.class).setEnabled(false);
+		this.mvc.perform(get("/metrics").param("prefix", "group1."))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void textFormat() throws Exception {
+		this.mvc.perform(get("/metrics").param("format", "text").param("prefix", "group"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "text/plain;charset=UTF-8"))
+				.andExpect(content().string(equalTo(
+						"group1.a 1\ngroup1.b 1\ngroup2.a 1\ngroup2_a 1\n")));
+	}
+
 	@Import({ JacksonAutoConfiguration.class, AuditAutoConfiguration.class,
 			HttpMessageConvertersAutoConfiguration.class,
 			EndpointWebMvcAutoConfiguration.class, WebMvcAutoConfiguration.class,
@@ -192,6 +223,9 @@ public class MetricsMvcEndpointTests {
 					metrics.add(new Metric<Integer>("group2.a", 1));
 					metrics.add(new Metric<Integer>("group2_a", 1));
 					metrics.add(new Metric<Integer>("baz", null));
+					metrics.add(new Metric<AtomicLong>("counters.atomic",
+							new AtomicLong(5)));
+					metrics.add(new Metric<Double>("counters.ratio", 0.5));
 					return Collections.unmodifiableList(metrics);
 				}
 
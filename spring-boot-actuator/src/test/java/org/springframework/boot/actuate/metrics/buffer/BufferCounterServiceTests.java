@@ -18,7 +18,6 @@ package org.springframework.boot.actuate.metrics.buffer;
 
 import org.junit.Test;
 
-import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.Metric;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,7 +31,7 @@ public class BufferCounterServiceTests {
 
 	private CounterBuffers counters = new CounterBuffers();
 
-	private CounterService service = new BufferCounterService(this.counters);
+	private BufferCounterService service = new BufferCounterService(this.counters);
 
 	private BufferMetricReader reader = new BufferMetricReader(this.counters,
 			new GaugeBuffers());
@@ -82,4 +81,13 @@ public class BufferCounterServiceTests {
 		assertThat(meterFooMetric.getValue()).isEqualTo(1L);
 	}
 
+	@Test
+	public void counterHandleSharesBuffer() {
+		CounterBuffer counter = this.service.counter("foo");
+		counter.add(2L);
+		this.service.increment("foo");
+		assertThat(this.service.counter("foo")).isSameAs(counter);
+		assertThat(this.reader.findOne("counter.foo").getValue()).isEqualTo(3L);
+	}
+
 }
@@ -56,6 +56,23 @@ public class CounterBuffersTests {
 		assertThat(this.value).isEqualTo(0);
 	}
 
+	@Test
+	public void timestampResolvedOnRead() {
+		long before = System.currentTimeMillis();
+		this.buffers.increment("foo", 1);
+		CounterBuffer buffer = this.buffers.find("foo");
+		long timestamp = buffer.getTimestamp();
+		assertThat(timestamp).isGreaterThanOrEqualTo(before);
+		assertThat(buffer.getTimestamp()).isEqualTo(timestamp);
+	}
+
+	@Test
+	public void findOrCreateReturnsSameBuffer() {
+		CounterBuffer buffer = this.buffers.findOrCreate("foo");
+		assertThat(this.buffers.findOrCreate("foo")).isSameAs(buffer);
+		assertThat(this.buffers.find("foo")).isSameAs(buffer);
+	}
+
 	@Test
 	public void findNonExistent() {
 		assertThat(this.buffers.find("foo")).isNull();
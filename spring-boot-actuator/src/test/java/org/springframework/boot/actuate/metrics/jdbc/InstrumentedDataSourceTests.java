@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstrumentedDataSource}.
+ */
+public class InstrumentedDataSourceTests {
+
+	private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+			.setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build();
+
+	@After
+	public void close() {
+		this.database.shutdown();
+	}
+
+	@Test
+	public void recordsConnectionsStatementsAndRows() {
+		InstrumentedDataSource dataSource = new InstrumentedDataSource(this.database,
+				10);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE CUSTOMER (ID INTEGER, NAME VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO CUSTOMER VALUES (1, 'Alice')");
+		jdbcTemplate.update("INSERT INTO CUSTOMER VALUES (2, 'Bob')");
+		jdbcTemplate.queryForList("SELECT * FROM CUSTOMER WHERE ID > ?", 0);
+		assertThat(dataSource.getConnectionStatistics().getCount()).isEqualTo(4L);
+		String create = "CREATE TABLE CUSTOMER (ID INTEGER, NAME VARCHAR(?))";
+		String insert = "INSERT INTO CUSTOMER VALUES (?, ?)";
+		String select = "SELECT * FROM CUSTOMER WHERE ID > ?";
+		assertThat(dataSource.getStatements()).containsOnlyKeys(key(create), key(insert),
+				key(select));
+		assertThat(dataSource.getStatements().get(key(select))).isEqualTo(select);
+		Map<String, ExecutionStatistics> statements = dataSource
+				.getStatementStatistics();
+		assertThat(statements).containsOnlyKeys(key(create), key(insert), key(select));
+		assertThat(statements.get(key(insert)).getCount()).isEqualTo(2L);
+		ExecutionStatistics selectStatistics = statements.get(key(select));
+		assertThat(selectStatistics.getCount()).isEqualTo(1L);
+		assertThat(selectStatistics.getRows()).isEqualTo(2L);
+		assertThat(selectStatistics.getMaxTime()).isGreaterThan(0);
+	}
+
+	@Test
+	public void preparedStatementIsRecordedOnEachExecution() throws SQLException {
+		InstrumentedDataSource dataSource = new InstrumentedDataSource(this.database,
+				10);
+		new JdbcTemplate(dataSource).execute("CREATE TABLE CUSTOMER (ID INTEGER)");
+		Connection connection = dataSource.getConnection();
+		try {
+			PreparedStatement statement = connection
+					.prepareStatement("INSERT INTO CUSTOMER VALUES (?)");
+			statement.setInt(1, 1);
+			statement.executeUpdate();
+			statement.setInt(1, 2);
+			statement.executeUpdate();
+			statement.close();
+		}
+		finally {
+			connection.close();
+		}
+		assertThat(dataSource.getStatementStatistics()
+				.get(key("INSERT INTO CUSTOMER VALUES (?)")).getCount()).isEqualTo(2L);
+	}
+
+	@Test
+	public void statementsBeyondMaximumAreRecordedAsOther() {
+		InstrumentedDataSource dataSource = new InstrumentedDataSource(this.database,
+				1);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE CUSTOMER (ID INTEGER)");
+		jdbcTemplate.update("INSERT INTO CUSTOMER VALUES (1)");
+		jdbcTemplate.update("DELETE FROM CUSTOMER");
+		assertThat(dataSource.getStatementStatistics()).containsOnlyKeys(
+				key("CREATE TABLE CUSTOMER (ID INTEGER)"),
+				InstrumentedDataSource.OTHER_STATEMENTS_KEY);
+		assertThat(dataSource.getStatementStatistics()
+				.get(InstrumentedDataSource.OTHER_STATEMENTS_KEY).getCount())
+						.isEqualTo(2L);
+		assertThat(dataSource.getStatements()).hasSize(1);
+	}
+
+	@Test
+	public void statementsWithDifferentLiteralsShareKey() {
+		StatementKeys keys = new StatementKeys();
+		assertThat(keys.getKey("SELECT * FROM T WHERE ID = 1"))
+				.isEqualTo(keys.getKey("SELECT * FROM T WHERE ID = 2"))
+				.isEqualTo(key("SELECT * FROM T WHERE ID = ?"));
+	}
+
+	@Test
+	public void normalize() {
+		assertThat(StatementKeys.normalize(
+				"select  name\n from t1 where id = 42 and name = 'it''s' and x=-1.5"))
+						.isEqualTo("select name from t1 where id = ? and name = ? "
+								+ "and x=-?");
+	}
+
+	private String key(String normalizedSql) {
+		return StatementKeys.createKey(normalizedSql);
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.jmx;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.jmx.export.MBeanExporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GroupedJmxMetricWriter}.
+ */
+public class GroupedJmxMetricWriterTests {
+
+	private final MBeanServer server = MBeanServerFactory.newMBeanServer();
+
+	private final GroupedJmxMetricWriter writer = createWriter();
+
+	@After
+	public void close() {
+		MBeanServerFactory.releaseMBeanServer(this.server);
+	}
+
+	@Test
+	public void metricsInSameGroupShareAnMBean() throws Exception {
+		this.writer.increment(new Delta<Long>("counter.foo", 2L));
+		this.writer.increment(new Delta<Long>("counter.bar", 3L));
+		this.writer.set(new Metric<Double>("gauge.baz", 1.5));
+		assertThat(this.server.queryNames(new ObjectName("test:*"), null)).hasSize(2);
+		ObjectName counters = new ObjectName("test:type=MetricGroup,name=counter");
+		assertThat(this.server.getAttribute(counters, "counter.foo")).isEqualTo(2.0);
+		assertThat(this.server.getAttribute(counters, "counter.bar")).isEqualTo(3.0);
+		assertThat(this.server.getMBeanInfo(counters).getAttributes()).hasSize(2);
+	}
+
+	@Test
+	public void resetRemovesAttribute() throws Exception {
+		this.writer.increment(new Delta<Long>("counter.foo", 2L));
+		this.writer.increment(new Delta<Long>("counter.bar", 3L));
+		this.writer.reset("counter.foo");
+		ObjectName counters = new ObjectName("test:type=MetricGroup,name=counter");
+		assertThat(this.server.getMBeanInfo(counters).getAttributes()).hasSize(1);
+	}
+
+	private GroupedJmxMetricWriter createWriter() {
+		MBeanExporter exporter = new MBeanExporter();
+		exporter.setServer(this.server);
+		GroupedJmxMetricWriter writer = new GroupedJmxMetricWriter(exporter);
+		writer.setDomain("test");
+		return writer;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,11 @@ package org.springframework.boot.autoconfigure;
 import javax.annotation.PostConstruct;
 import javax.sql.DataSource;
 
+import org.springframework.boot.autoconfigure.jdbc.BatchingDatabasePopulator;
 import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.DatabasePopulator;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.jdbc.support.JdbcUtils;
@@ -55,21 +58,46 @@ public abstract class AbstractDatabaseInitializer {
 		if (!isEnabled()) {
 			return;
 		}
-		ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
 		String schemaLocation = getSchemaLocation();
 		if (schemaLocation.contains(PLATFORM_PLACEHOLDER)) {
 			String platform = getDatabaseName();
 			schemaLocation = schemaLocation.replace(PLATFORM_PLACEHOLDER, platform);
 		}
-		populator.addScript(this.resourceLoader.getResource(schemaLocation));
-		populator.setContinueOnError(true);
+		DatabasePopulator populator = createPopulator(
+				this.resourceLoader.getResource(schemaLocation));
 		DatabasePopulatorUtils.execute(populator, this.dataSource);
 	}
 
+	private DatabasePopulator createPopulator(Resource schema) {
+		int batchSize = getBatchSize();
+		if (batchSize > 0) {
+			BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+			populator.addScript(schema);
+			populator.setContinueOnError(true);
+			populator.setBatchSize(batchSize);
+			return populator;
+		}
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+		populator.addScript(schema);
+		populator.setContinueOnError(true);
+		return populator;
+	}
+
 	protected abstract boolean isEnabled();
 
 	protected abstract String getSchemaLocation();
 
+	/**
+	 * Return the number of consecutive DML statements of the schema script to execute
+	 * in a single batch using a {@link BatchingDatabasePopulator}, or {@code 0} to
+	 * execute the script with a {@link ResourceDatabasePopulator}.
+	 * @return the batch size
+	 * @since 1.5.10
+	 */
+	protected int getBatchSize() {
+		return 0;
+	}
+
 	protected String getDatabaseName() {
 		try {
 			String productName = JdbcUtils.commonDatabaseName(JdbcUtils
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collection;
+
+import com.rabbitmq.client.Channel;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.core.RabbitTemplate.ConfirmCallback;
+import org.springframework.amqp.rabbit.support.CorrelationData;
+import org.springframework.amqp.rabbit.support.PendingConfirm;
+import org.springframework.amqp.rabbit.support.PublisherCallbackChannel;
+import org.springframework.util.Assert;
+
+/**
+ * Pipelines the publishing of a {@link RabbitTemplate} through a
+ * {@link PublisherConfirmWindow}. The template registers {@link #getConfirmCallback()}
+ * so that every publish is correlated, routes its own
+ * {@link RabbitTemplate#setConfirmCallback(ConfirmCallback) setConfirmCallback} to
+ * {@link #setConfirmCallback(ConfirmCallback)} and notifies this instance of sends,
+ * confirms and expired confirms.
+ */
+class ConfirmWindowPublisher {
+
+	private final PublisherConfirmWindow window;
+
+	private final DelegatingConfirmCallback confirmCallback = new DelegatingConfirmCallback();
+
+	ConfirmWindowPublisher(PublisherConfirmWindow window) {
+		Assert.notNull(window, "Window must not be null");
+		this.window = window;
+	}
+
+	/**
+	 * Return the {@link ConfirmCallback} to register with the template.
+	 * @return the confirm callback
+	 */
+	ConfirmCallback getConfirmCallback() {
+		return this.confirmCallback;
+	}
+
+	/**
+	 * Set the {@link ConfirmCallback} of the user, if any.
+	 * @param confirmCallback the confirm callback
+	 */
+	void setConfirmCallback(ConfirmCallback confirmCallback) {
+		this.confirmCallback.setDelegate(confirmCallback);
+	}
+
+	/**
+	 * Publish on the given channel once the window has room. Channels that do not
+	 * support publisher confirms are published on directly.
+	 * @param channel the channel
+	 * @param publish the publish operation
+	 * @throws Exception if publishing fails
+	 */
+	void send(Channel channel, Publish publish) throws Exception {
+		if (!(channel instanceof PublisherCallbackChannel)) {
+			publish.publish();
+			return;
+		}
+		this.window.acquire();
+		try {
+			publish.publish();
+		}
+		catch (Exception ex) {
+			this.window.release(1);
+			throw ex;
+		}
+	}
+
+	void confirmed(PendingConfirm pendingConfirm, boolean ack) {
+		this.window.confirmed(pendingConfirm.getTimestamp(), ack);
+	}
+
+	void expired(Collection<CorrelationData> unconfirmed) {
+		if (unconfirmed != null) {
+			this.window.release(unconfirmed.size());
+		}
+	}
+
+	/**
+	 * A publish operation of the template.
+	 */
+	interface Publish {
+
+		void publish() throws Exception;
+
+	}
+
+	/**
+	 * {@link ConfirmCallback} registered with the template so that every publish is
+	 * correlated, forwarding to the callback of the user, if any.
+	 */
+	private static class DelegatingConfirmCallback implements ConfirmCallback {
+
+		private volatile ConfirmCallback delegate;
+
+		void setDelegate(ConfirmCallback delegate) {
+			Assert.state(this.delegate == null || this.delegate == delegate,
+					"Only one ConfirmCallback is supported by each RabbitTemplate");
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void confirm(CorrelationData correlationData, boolean ack, String cause) {
+			ConfirmCallback delegate = this.delegate;
+			if (delegate != null) {
+				delegate.confirm(correlationData, ack, cause);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collection;
+
+import com.rabbitmq.client.Channel;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.CorrelationData;
+import org.springframework.amqp.rabbit.support.PendingConfirm;
+import org.springframework.boot.autoconfigure.amqp.ConfirmWindowPublisher.Publish;
+
+/**
+ * {@link RabbitTemplate} that pipelines publishing through a
+ * {@link PublisherConfirmWindow}. Confirms are correlated asynchronously and a user
+ * {@link ConfirmCallback} can still be registered.
+ */
+class ConfirmWindowRabbitTemplate extends RabbitTemplate {
+
+	private final ConfirmWindowPublisher publisher;
+
+	ConfirmWindowRabbitTemplate(ConnectionFactory connectionFactory,
+			PublisherConfirmWindow window) {
+		super(connectionFactory);
+		this.publisher = new ConfirmWindowPublisher(window);
+		super.setConfirmCallback(this.publisher.getConfirmCallback());
+	}
+
+	@Override
+	public void setConfirmCallback(ConfirmCallback confirmCallback) {
+		this.publisher.setConfirmCallback(confirmCallback);
+	}
+
+	@Override
+	public void doSend(final Channel channel, final String exchange,
+			final String routingKey, final Message message, final boolean mandatory,
+			final CorrelationData correlationData) throws Exception {
+		this.publisher.send(channel, new Publish() {
+
+			@Override
+			public void publish() throws Exception {
+				ConfirmWindowRabbitTemplate.super.doSend(channel, exchange, routingKey,
+						message, mandatory, correlationData);
+			}
+
+		});
+	}
+
+	@Override
+	public void handleConfirm(PendingConfirm pendingConfirm, boolean ack) {
+		this.publisher.confirmed(pendingConfirm, ack);
+		super.handleConfirm(pendingConfirm, ack);
+	}
+
+	@Override
+	public Collection<CorrelationData> getUnconfirmed(long age) {
+		Collection<CorrelationData> unconfirmed = super.getUnconfirmed(age);
+		this.publisher.expired(unconfirmed);
+		return unconfirmed;
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Tracks the messages that a {@link RabbitTemplate} has published and for which no
+ * publisher confirm has been received yet. When the window is bounded, publishing
+ * blocks once it is full until confirms arrive, so that publishers can pipeline
+ * messages without waiting for each confirm and without an unbounded number of
+ * messages being in flight.
+ *
+ * @since 1.5.10
+ */
+public class PublisherConfirmWindow {
+
+	private final Object monitor = new Object();
+
+	private final int size;
+
+	private final long timeout;
+
+	private int outstanding;
+
+	private volatile double latency;
+
+	private final AtomicLong nacks = new AtomicLong();
+
+	/**
+	 * Create a new {@link PublisherConfirmWindow} instance.
+	 * @param size the maximum number of outstanding confirms, or {@code 0} for no limit
+	 * @param timeout the maximum time in milliseconds to wait for an outstanding confirm
+	 * when the window is full
+	 */
+	public PublisherConfirmWindow(int size, long timeout) {
+		this.size = size;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Return the maximum number of outstanding confirms, or {@code 0} for no limit.
+	 * @return the size of the window
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Return the number of published messages that have not been confirmed yet.
+	 * @return the number of outstanding confirms
+	 */
+	public int getOutstanding() {
+		synchronized (this.monitor) {
+			return this.outstanding;
+		}
+	}
+
+	/**
+	 * Return the recent average time between publishing a message and receiving its
+	 * confirm, in milliseconds.
+	 * @return the publish latency
+	 */
+	public double getLatency() {
+		return this.latency;
+	}
+
+	/**
+	 * Return the number of messages that have been negatively acknowledged by the
+	 * broker.
+	 * @return the number of nacks
+	 */
+	public long getNacks() {
+		return this.nacks.get();
+	}
+
+	void acquire() {
+		synchronized (this.monitor) {
+			if (this.size > 0) {
+				long deadline = System.currentTimeMillis() + this.timeout;
+				while (this.outstanding >= this.size) {
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						throw new AmqpException("Timed out after " + this.timeout
+								+ "ms waiting for one of " + this.outstanding
+								+ " outstanding publisher confirms");
+					}
+					try {
+						this.monitor.wait(remaining);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new AmqpException(
+								"Interrupted while waiting for publisher confirms", ex);
+					}
+				}
+			}
+			this.outstanding++;
+		}
+	}
+
+	void release(int count) {
+		synchronized (this.monitor) {
+			// A failed publish may still be nacked when its channel closes
+			this.outstanding = Math.max(0, this.outstanding - count);
+			this.monitor.notifyAll();
+		}
+	}
+
+	void confirmed(long timestamp, boolean ack) {
+		release(1);
+		if (!ack) {
+			this.nacks.incrementAndGet();
+		}
+		double sample = Math.max(0, System.currentTimeMillis() - timestamp);
+		double previous = this.latency;
+		// Exponentially weighted so that the latency follows recent conditions
+		this.latency = (previous == 0 ? sample : (previous * 4 + sample) / 5);
+	}
+
+}
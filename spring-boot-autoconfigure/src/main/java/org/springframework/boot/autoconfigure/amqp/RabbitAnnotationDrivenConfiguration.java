@@ -25,6 +25,7 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -43,13 +44,17 @@ class RabbitAnnotationDrivenConfiguration {
 
 	private final ObjectProvider<MessageRecoverer> messageRecoverer;
 
+	private final ObjectProvider<RabbitListenerStatistics> listenerStatistics;
+
 	private final RabbitProperties properties;
 
 	RabbitAnnotationDrivenConfiguration(ObjectProvider<MessageConverter> messageConverter,
 			ObjectProvider<MessageRecoverer> messageRecoverer,
+			ObjectProvider<RabbitListenerStatistics> listenerStatistics,
 			RabbitProperties properties) {
 		this.messageConverter = messageConverter;
 		this.messageRecoverer = messageRecoverer;
+		this.listenerStatistics = listenerStatistics;
 		this.properties = properties;
 	}
 
@@ -60,9 +65,17 @@ class RabbitAnnotationDrivenConfiguration {
 		configurer.setMessageConverter(this.messageConverter.getIfUnique());
 		configurer.setMessageRecoverer(this.messageRecoverer.getIfUnique());
 		configurer.setRabbitProperties(this.properties);
+		configurer.setListenerStatistics(this.listenerStatistics.getIfUnique());
 		return configurer;
 	}
 
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.rabbitmq.listener.simple", name = "statistics-enabled")
+	@ConditionalOnMissingBean
+	public RabbitListenerStatistics rabbitListenerStatistics() {
+		return new RabbitListenerStatistics();
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(name = "rabbitListenerContainerFactory")
 	public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
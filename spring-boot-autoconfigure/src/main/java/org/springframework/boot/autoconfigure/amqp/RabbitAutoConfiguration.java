@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.amqp.rabbit.connection.RabbitConnectionFactoryBean;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitMessagingTemplate;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.core.support.SimpleBatchingStrategy;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -55,6 +56,9 @@ import org.springframework.retry.support.RetryTemplate;
  * context.</li>
  * <li>{@link org.springframework.amqp.core.AmqpAdmin } instance as long as
  * {@literal spring.rabbitmq.dynamic=true}.</li>
+ * <li>{@link PublisherConfirmWindow} instance used by the {@link RabbitTemplate} if
+ * publisher confirms are enabled and
+ * {@literal spring.rabbitmq.template.confirms.max-in-flight} is set.</li>
  * </ul>
  * <p>
  * The {@link org.springframework.amqp.rabbit.connection.CachingConnectionFactory} honors
@@ -154,12 +158,16 @@ public class RabbitAutoConfiguration {
 
 		private final ObjectProvider<MessageConverter> messageConverter;
 
+		private final ObjectProvider<PublisherConfirmWindow> confirmWindow;
+
 		private final RabbitProperties properties;
 
 		public RabbitTemplateConfiguration(
 				ObjectProvider<MessageConverter> messageConverter,
+				ObjectProvider<PublisherConfirmWindow> confirmWindow,
 				RabbitProperties properties) {
 			this.messageConverter = messageConverter;
+			this.confirmWindow = confirmWindow;
 			this.properties = properties;
 		}
 
@@ -167,7 +175,7 @@ public class RabbitAutoConfiguration {
 		@ConditionalOnSingleCandidate(ConnectionFactory.class)
 		@ConditionalOnMissingBean(RabbitTemplate.class)
 		public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-			RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+			RabbitTemplate rabbitTemplate = createRabbitTemplate(connectionFactory);
 			MessageConverter messageConverter = this.messageConverter.getIfUnique();
 			if (messageConverter != null) {
 				rabbitTemplate.setMessageConverter(messageConverter);
@@ -187,6 +195,21 @@ public class RabbitAutoConfiguration {
 			return rabbitTemplate;
 		}
 
+		private RabbitTemplate createRabbitTemplate(ConnectionFactory connectionFactory) {
+			PublisherConfirmWindow confirmWindow = this.confirmWindow.getIfUnique();
+			RabbitProperties.Batch batch = this.properties.getTemplate().getBatch();
+			if (batch.isEnabled()) {
+				return new ScheduledBatchingRabbitTemplate(connectionFactory,
+						new SimpleBatchingStrategy(batch.getSize(),
+								batch.getBufferLimit(), batch.getTimeout()),
+						confirmWindow);
+			}
+			if (confirmWindow != null) {
+				return new ConfirmWindowRabbitTemplate(connectionFactory, confirmWindow);
+			}
+			return new RabbitTemplate(connectionFactory);
+		}
+
 		private boolean determineMandatoryFlag() {
 			Boolean mandatory = this.properties.getTemplate().getMandatory();
 			return (mandatory != null ? mandatory : this.properties.isPublisherReturns());
@@ -205,6 +228,17 @@ public class RabbitAutoConfiguration {
 			return template;
 		}
 
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.rabbitmq", name = { "publisher-confirms",
+				"template.confirms.max-in-flight" })
+		@ConditionalOnMissingBean
+		public PublisherConfirmWindow publisherConfirmWindow() {
+			RabbitProperties.Confirms confirms = this.properties.getTemplate()
+					.getConfirms();
+			return new PublisherConfirmWindow(confirms.getMaxInFlight(),
+					confirms.getTimeout());
+		}
+
 		@Bean
 		@ConditionalOnSingleCandidate(ConnectionFactory.class)
 		@ConditionalOnProperty(prefix = "spring.rabbitmq", name = "dynamic", matchIfMissing = true)
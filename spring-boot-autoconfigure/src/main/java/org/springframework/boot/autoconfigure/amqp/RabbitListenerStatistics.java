@@ -0,0 +1,225 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * Advice for Rabbit listener containers that records, for each consumed queue, how
+ * many messages have been processed, failed or were redelivered, how many consumers are
+ * busy and how long processing takes.
+ *
+ * @since 1.5.10
+ */
+public class RabbitListenerStatistics implements MethodInterceptor {
+
+	private final ConcurrentMap<String, QueueStatistics> queues = new ConcurrentHashMap<String, QueueStatistics>();
+
+	/**
+	 * Return the statistics of each queue that a listener has consumed from, keyed by
+	 * queue name.
+	 * @return the statistics of each queue
+	 */
+	public Map<String, QueueStatistics> getQueues() {
+		return Collections.unmodifiableMap(this.queues);
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		MessageProperties properties = getMessageProperties(invocation.getArguments());
+		if (properties == null || properties.getConsumerQueue() == null) {
+			return invocation.proceed();
+		}
+		QueueStatistics statistics = getStatistics(properties.getConsumerQueue());
+		statistics.started(Boolean.TRUE.equals(properties.isRedelivered()));
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			Object result = invocation.proceed();
+			success = true;
+			return result;
+		}
+		finally {
+			statistics.finished(System.nanoTime() - start, success);
+		}
+	}
+
+	private MessageProperties getMessageProperties(Object[] arguments) {
+		for (Object argument : arguments) {
+			if (argument instanceof Message) {
+				return ((Message) argument).getMessageProperties();
+			}
+		}
+		return null;
+	}
+
+	private QueueStatistics getStatistics(String queue) {
+		QueueStatistics statistics = this.queues.get(queue);
+		if (statistics == null) {
+			statistics = new QueueStatistics();
+			QueueStatistics existing = this.queues.putIfAbsent(queue, statistics);
+			statistics = (existing != null ? existing : statistics);
+		}
+		return statistics;
+	}
+
+	/**
+	 * Processing statistics of the listeners of a queue.
+	 */
+	public static class QueueStatistics {
+
+		private static final long[] BUCKETS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000,
+				2500, 5000, 10000 };
+
+		private final AtomicLong processed = new AtomicLong();
+
+		private final AtomicLong failed = new AtomicLong();
+
+		private final AtomicLong redelivered = new AtomicLong();
+
+		private final AtomicInteger active = new AtomicInteger();
+
+		private final AtomicLong busyTime = new AtomicLong();
+
+		private final AtomicLongArray histogram = new AtomicLongArray(
+				BUCKETS.length + 1);
+
+		private volatile long maxTime;
+
+		QueueStatistics() {
+		}
+
+		void started(boolean redelivered) {
+			this.active.incrementAndGet();
+			if (redelivered) {
+				this.redelivered.incrementAndGet();
+			}
+		}
+
+		void finished(long nanos, boolean success) {
+			this.active.decrementAndGet();
+			this.processed.incrementAndGet();
+			if (!success) {
+				this.failed.incrementAndGet();
+			}
+			this.busyTime.addAndGet(nanos);
+			long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+			this.histogram.incrementAndGet(getBucket(millis));
+			if (millis > this.maxTime) {
+				this.maxTime = millis;
+			}
+		}
+
+		private int getBucket(long millis) {
+			for (int i = 0; i < BUCKETS.length; i++) {
+				if (millis <= BUCKETS[i]) {
+					return i;
+				}
+			}
+			return BUCKETS.length;
+		}
+
+		/**
+		 * Return the number of messages processed by the listeners.
+		 * @return the number of processed messages
+		 */
+		public long getProcessed() {
+			return this.processed.get();
+		}
+
+		/**
+		 * Return the number of messages for which the listener threw an exception.
+		 * @return the number of failed messages
+		 */
+		public long getFailed() {
+			return this.failed.get();
+		}
+
+		/**
+		 * Return the number of messages that had already been delivered before.
+		 * @return the number of redelivered messages
+		 */
+		public long getRedelivered() {
+			return this.redelivered.get();
+		}
+
+		/**
+		 * Return the number of consumers that are currently processing a message.
+		 * @return the number of busy consumers
+		 */
+		public int getActive() {
+			return this.active.get();
+		}
+
+		/**
+		 * Return the total time spent processing messages, in milliseconds. Its rate of
+		 * change is the average number of busy consumers.
+		 * @return the total processing time
+		 */
+		public long getBusyTime() {
+			return TimeUnit.NANOSECONDS.toMillis(this.busyTime.get());
+		}
+
+		/**
+		 * Return the mean processing time of a message, in milliseconds.
+		 * @return the mean processing time
+		 */
+		public double getMeanTime() {
+			long processed = this.processed.get();
+			return (processed == 0 ? 0 : this.busyTime.get() / 1000000.0 / processed);
+		}
+
+		/**
+		 * Return an upper bound of the processing time, in milliseconds, of the given
+		 * percentage of the messages.
+		 * @param percentile the percentile, between {@code 0} and {@code 1}
+		 * @return the processing time of that percentile
+		 */
+		public long getPercentile(double percentile) {
+			long total = 0;
+			long[] counts = new long[this.histogram.length()];
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = this.histogram.get(i);
+				total += counts[i];
+			}
+			long threshold = (long) Math.ceil(total * percentile);
+			long count = 0;
+			for (int i = 0; i < BUCKETS.length; i++) {
+				count += counts[i];
+				if (count >= threshold && count > 0) {
+					return Math.min(BUCKETS[i], this.maxTime);
+				}
+			}
+			return this.maxTime;
+		}
+
+	}
+
+}
@@ -614,6 +614,34 @@ public class RabbitProperties {
 		 */
 		private Long idleEventInterval;
 
+		/**
+		 * Number of consecutive messages received by a consumer, without a receive
+		 * timeout, after which a consumer is added if max-concurrency allows it.
+		 */
+		private Integer consecutiveActiveTrigger;
+
+		/**
+		 * Number of consecutive receive timeouts of a consumer after which it is stopped
+		 * if more than concurrency consumers are running.
+		 */
+		private Integer consecutiveIdleTrigger;
+
+		/**
+		 * Minimum time in milliseconds between starting consumers on demand.
+		 */
+		private Long startConsumerMinInterval;
+
+		/**
+		 * Minimum time in milliseconds between stopping idle consumers.
+		 */
+		private Long stopConsumerMinInterval;
+
+		/**
+		 * Record processing statistics of the listeners, such as processing time and
+		 * redeliveries.
+		 */
+		private boolean statisticsEnabled;
+
 		/**
 		 * Optional properties for a retry interceptor.
 		 */
@@ -684,6 +712,46 @@ public class RabbitProperties {
 			this.idleEventInterval = idleEventInterval;
 		}
 
+		public Integer getConsecutiveActiveTrigger() {
+			return this.consecutiveActiveTrigger;
+		}
+
+		public void setConsecutiveActiveTrigger(Integer consecutiveActiveTrigger) {
+			this.consecutiveActiveTrigger = consecutiveActiveTrigger;
+		}
+
+		public Integer getConsecutiveIdleTrigger() {
+			return this.consecutiveIdleTrigger;
+		}
+
+		public void setConsecutiveIdleTrigger(Integer consecutiveIdleTrigger) {
+			this.consecutiveIdleTrigger = consecutiveIdleTrigger;
+		}
+
+		public Long getStartConsumerMinInterval() {
+			return this.startConsumerMinInterval;
+		}
+
+		public void setStartConsumerMinInterval(Long startConsumerMinInterval) {
+			this.startConsumerMinInterval = startConsumerMinInterval;
+		}
+
+		public Long getStopConsumerMinInterval() {
+			return this.stopConsumerMinInterval;
+		}
+
+		public void setStopConsumerMinInterval(Long stopConsumerMinInterval) {
+			this.stopConsumerMinInterval = stopConsumerMinInterval;
+		}
+
+		public boolean isStatisticsEnabled() {
+			return this.statisticsEnabled;
+		}
+
+		public void setStatisticsEnabled(boolean statisticsEnabled) {
+			this.statisticsEnabled = statisticsEnabled;
+		}
+
 		public ListenerRetry getRetry() {
 			return this.retry;
 		}
@@ -695,6 +763,12 @@ public class RabbitProperties {
 		@NestedConfigurationProperty
 		private final Retry retry = new Retry();
 
+		@NestedConfigurationProperty
+		private final Batch batch = new Batch();
+
+		@NestedConfigurationProperty
+		private final Confirms confirms = new Confirms();
+
 		/**
 		 * Enable mandatory messages. If a mandatory message cannot be routed to a queue
 		 * by the server, it will return an unroutable message with a Return method.
@@ -715,6 +789,14 @@ public class RabbitProperties {
 			return this.retry;
 		}
 
+		public Batch getBatch() {
+			return this.batch;
+		}
+
+		public Confirms getConfirms() {
+			return this.confirms;
+		}
+
 		public Boolean getMandatory() {
 			return this.mandatory;
 		}
@@ -810,6 +892,97 @@ public class RabbitProperties {
 
 	}
 
+	public static class Batch {
+
+		/**
+		 * Whether or not messages sent without correlation data are published in
+		 * batches.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of messages in a batch.
+		 */
+		private int size = 100;
+
+		/**
+		 * Maximum size of a batch in bytes.
+		 */
+		private int bufferLimit = 65536;
+
+		/**
+		 * Time in milliseconds after which a partial batch is published.
+		 */
+		private long timeout = 100L;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getSize() {
+			return this.size;
+		}
+
+		public void setSize(int size) {
+			this.size = size;
+		}
+
+		public int getBufferLimit() {
+			return this.bufferLimit;
+		}
+
+		public void setBufferLimit(int bufferLimit) {
+			this.bufferLimit = bufferLimit;
+		}
+
+		public long getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(long timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
+	public static class Confirms {
+
+		/**
+		 * Maximum number of published messages awaiting a publisher confirm. Publishing
+		 * blocks once that many confirms are outstanding, 0 for no limit. Requires
+		 * publisher confirms to be enabled. A blocked publisher holds a cached channel,
+		 * so size it together with "spring.rabbitmq.cache.channel.size".
+		 */
+		private Integer maxInFlight;
+
+		/**
+		 * Maximum time in milliseconds to wait for an outstanding confirm before
+		 * publishing fails.
+		 */
+		private long timeout = 5000L;
+
+		public Integer getMaxInFlight() {
+			return this.maxInFlight;
+		}
+
+		public void setMaxInFlight(Integer maxInFlight) {
+			this.maxInFlight = maxInFlight;
+		}
+
+		public long getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(long timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
 	public static class ListenerRetry extends Retry {
 
 		/**
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collection;
+
+import com.rabbitmq.client.Channel;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.BatchingRabbitTemplate;
+import org.springframework.amqp.rabbit.core.support.BatchingStrategy;
+import org.springframework.amqp.rabbit.support.CorrelationData;
+import org.springframework.amqp.rabbit.support.PendingConfirm;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.amqp.ConfirmWindowPublisher.Publish;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * {@link BatchingRabbitTemplate} that manages the scheduler used to release partial
+ * batches and optionally pipelines the publishing of batches through a
+ * {@link PublisherConfirmWindow}.
+ */
+class ScheduledBatchingRabbitTemplate extends BatchingRabbitTemplate
+		implements DisposableBean {
+
+	private final ThreadPoolTaskScheduler scheduler;
+
+	private final ConfirmWindowPublisher publisher;
+
+	ScheduledBatchingRabbitTemplate(ConnectionFactory connectionFactory,
+			BatchingStrategy batchingStrategy, PublisherConfirmWindow window) {
+		this(connectionFactory, batchingStrategy, createScheduler(), window);
+	}
+
+	private ScheduledBatchingRabbitTemplate(ConnectionFactory connectionFactory,
+			BatchingStrategy batchingStrategy, ThreadPoolTaskScheduler scheduler,
+			PublisherConfirmWindow window) {
+		super(batchingStrategy, scheduler);
+		setConnectionFactory(connectionFactory);
+		this.scheduler = scheduler;
+		this.publisher = (window != null ? new ConfirmWindowPublisher(window) : null);
+		if (this.publisher != null) {
+			super.setConfirmCallback(this.publisher.getConfirmCallback());
+		}
+	}
+
+	private static ThreadPoolTaskScheduler createScheduler() {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setThreadNamePrefix("rabbit-batch-");
+		scheduler.setDaemon(true);
+		scheduler.initialize();
+		return scheduler;
+	}
+
+	@Override
+	public void setConfirmCallback(ConfirmCallback confirmCallback) {
+		if (this.publisher != null) {
+			this.publisher.setConfirmCallback(confirmCallback);
+		}
+		else {
+			super.setConfirmCallback(confirmCallback);
+		}
+	}
+
+	@Override
+	public void doSend(final Channel channel, final String exchange,
+			final String routingKey, final Message message, final boolean mandatory,
+			final CorrelationData correlationData) throws Exception {
+		if (this.publisher == null) {
+			super.doSend(channel, exchange, routingKey, message, mandatory,
+					correlationData);
+			return;
+		}
+		this.publisher.send(channel, new Publish() {
+
+			@Override
+			public void publish() throws Exception {
+				ScheduledBatchingRabbitTemplate.super.doSend(channel, exchange,
+						routingKey, message, mandatory, correlationData);
+			}
+
+		});
+	}
+
+	@Override
+	public void handleConfirm(PendingConfirm pendingConfirm, boolean ack) {
+		if (this.publisher != null) {
+			this.publisher.confirmed(pendingConfirm, ack);
+		}
+		super.handleConfirm(pendingConfirm, ack);
+	}
+
+	@Override
+	public Collection<CorrelationData> getUnconfirmed(long age) {
+		Collection<CorrelationData> unconfirmed = super.getUnconfirmed(age);
+		if (this.publisher != null) {
+			this.publisher.expired(unconfirmed);
+		}
+		return unconfirmed;
+	}
+
+	@Override
+	public void destroy() {
+		flush();
+		this.scheduler.shutdown();
+	}
+
+}
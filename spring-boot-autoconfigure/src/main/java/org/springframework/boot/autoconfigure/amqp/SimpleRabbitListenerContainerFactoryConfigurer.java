@@ -16,6 +16,11 @@
 
 package org.springframework.boot.autoconfigure.amqp;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.aop.Advice;
+
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -41,6 +46,8 @@ public final class SimpleRabbitListenerContainerFactoryConfigurer {
 
 	private RabbitProperties rabbitProperties;
 
+	private RabbitListenerStatistics listenerStatistics;
+
 	/**
 	 * Set the {@link MessageConverter} to use or {@code null} if the out-of-the-box
 	 * converter should be used.
@@ -66,6 +73,15 @@ public final class SimpleRabbitListenerContainerFactoryConfigurer {
 		this.rabbitProperties = rabbitProperties;
 	}
 
+	/**
+	 * Set the {@link RabbitListenerStatistics} to record or {@code null} if no
+	 * statistics should be recorded.
+	 * @param listenerStatistics the {@link RabbitListenerStatistics}
+	 */
+	void setListenerStatistics(RabbitListenerStatistics listenerStatistics) {
+		this.listenerStatistics = listenerStatistics;
+	}
+
 	/**
 	 * Configure the specified rabbit listener container factory. The factory can be
 	 * further tuned and default settings can be overridden.
@@ -105,6 +121,23 @@ public final class SimpleRabbitListenerContainerFactoryConfigurer {
 		if (config.getIdleEventInterval() != null) {
 			factory.setIdleEventInterval(config.getIdleEventInterval());
 		}
+		if (config.getConsecutiveActiveTrigger() != null) {
+			factory.setConsecutiveActiveTrigger(config.getConsecutiveActiveTrigger());
+		}
+		if (config.getConsecutiveIdleTrigger() != null) {
+			factory.setConsecutiveIdleTrigger(config.getConsecutiveIdleTrigger());
+		}
+		if (config.getStartConsumerMinInterval() != null) {
+			factory.setStartConsumerMinInterval(config.getStartConsumerMinInterval());
+		}
+		if (config.getStopConsumerMinInterval() != null) {
+			factory.setStopConsumerMinInterval(config.getStopConsumerMinInterval());
+		}
+		List<Advice> adviceChain = new ArrayList<Advice>();
+		if (this.listenerStatistics != null) {
+			// First so that retries are included in the processing time of a message
+			adviceChain.add(this.listenerStatistics);
+		}
 		ListenerRetry retryConfig = config.getRetry();
 		if (retryConfig.isEnabled()) {
 			RetryInterceptorBuilder<?> builder = (retryConfig.isStateless()
@@ -116,7 +149,10 @@ public final class SimpleRabbitListenerContainerFactoryConfigurer {
 			MessageRecoverer recoverer = (this.messageRecoverer != null
 					? this.messageRecoverer : new RejectAndDontRequeueRecoverer());
 			builder.recoverer(recoverer);
-			factory.setAdviceChain(builder.build());
+			adviceChain.add(builder.build());
+		}
+		if (!adviceChain.isEmpty()) {
+			factory.setAdviceChain(adviceChain.toArray(new Advice[adviceChain.size()]));
 		}
 
 	}
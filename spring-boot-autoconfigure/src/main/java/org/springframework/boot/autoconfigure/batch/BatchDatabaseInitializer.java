@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,11 @@ public class BatchDatabaseInitializer extends AbstractDatabaseInitializer {
 		return this.properties.getSchema();
 	}
 
+	@Override
+	protected int getBatchSize() {
+		return this.properties.getInitializer().getBatchSize();
+	}
+
 	@Override
 	protected String getDatabaseName() {
 		String databaseName = super.getDatabaseName();
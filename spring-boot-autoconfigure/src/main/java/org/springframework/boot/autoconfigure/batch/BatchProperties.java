@@ -78,6 +78,12 @@ public class BatchProperties {
 		 */
 		private Boolean enabled;
 
+		/**
+		 * Number of consecutive DML statements of the schema script to send in a single
+		 * JDBC batch. Set to 0 to execute statements one at a time.
+		 */
+		private int batchSize;
+
 		public boolean isEnabled() {
 			if (this.enabled != null) {
 				return this.enabled;
@@ -92,6 +98,14 @@ public class BatchProperties {
 			this.enabled = enabled;
 		}
 
+		public int getBatchSize() {
+			return this.batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
 	}
 
 	public static class Job {
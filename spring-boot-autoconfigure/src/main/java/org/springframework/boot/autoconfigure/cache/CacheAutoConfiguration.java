@@ -70,7 +70,8 @@ import org.springframework.util.Assert;
 @AutoConfigureBefore(HibernateJpaAutoConfiguration.class)
 @AutoConfigureAfter({ CouchbaseAutoConfiguration.class, HazelcastAutoConfiguration.class,
 		RedisAutoConfiguration.class })
-@Import(CacheConfigurationImportSelector.class)
+@Import({ CacheConfigurationImportSelector.class, CoalescingCacheConfiguration.class,
+		NearCacheConfiguration.class })
 public class CacheAutoConfiguration {
 
 	static final String VALIDATOR_BEAN_NAME = "cacheAutoConfigurationValidator";
@@ -20,6 +20,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -72,4 +75,28 @@ final class CacheConfigurations {
 				"Unknown configuration class " + configurationClassName);
 	}
 
+	/**
+	 * Return whether the bean with the specified name was created by one of the cache
+	 * configurations, rather than defined by the user.
+	 * @param beanFactory the bean factory
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the bean is the auto-configured cache manager
+	 */
+	public static boolean isAutoConfiguredCacheManager(
+			ConfigurableListableBeanFactory beanFactory, String beanName) {
+		try {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			for (Class<?> configurationClass : MAPPINGS.values()) {
+				if (configurationClass.getName()
+						.equals(beanDefinition.getFactoryBeanName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			return false;
+		}
+	}
+
 }
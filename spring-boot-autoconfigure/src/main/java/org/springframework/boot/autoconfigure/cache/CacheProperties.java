@@ -60,6 +60,10 @@ public class CacheProperties {
 
 	private final Guava guava = new Guava();
 
+	private final Near near = new Near();
+
+	private final Coalescing coalescing = new Coalescing();
+
 	public CacheType getType() {
 		return this.type;
 	}
@@ -105,6 +109,14 @@ public class CacheProperties {
 		return this.guava;
 	}
 
+	public Near getNear() {
+		return this.near;
+	}
+
+	public Coalescing getCoalescing() {
+		return this.coalescing;
+	}
+
 	/**
 	 * Resolve the config location if set.
 	 * @param config the config resource
@@ -140,6 +152,14 @@ public class CacheProperties {
 			this.spec = spec;
 		}
 
+		public String getChannel() {
+			return this.channel;
+		}
+
+		public void setChannel(String channel) {
+			this.channel = channel;
+		}
+
 	}
 
 	/**
@@ -292,6 +312,114 @@ public class CacheProperties {
 			this.spec = spec;
 		}
 
+		public String getChannel() {
+			return this.channel;
+		}
+
+		public void setChannel(String channel) {
+			this.channel = channel;
+		}
+
+	}
+
+	/**
+	 * Near cache properties.
+	 */
+	public static class Near {
+
+		/**
+		 * Keep a local copy of recently used entries in front of the auto-configured
+		 * cache manager.
+		 */
+		private boolean enabled;
+
+		/**
+		 * The spec to use to create the local caches, required when the near cache is
+		 * enabled. Check CaffeineSpec for more details on the spec format. The
+		 * expiration bounds how long a stale entry can be served locally if a change
+		 * published by another node is not delivered. Statistics are always recorded.
+		 */
+		private String spec;
+
+		/**
+		 * Redis channel on which changes are published to the near caches of other
+		 * nodes.
+		 */
+		private String channel = "spring.cache.near.invalidations";
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getSpec() {
+			return this.spec;
+		}
+
+		public void setSpec(String spec) {
+			this.spec = spec;
+		}
+
+		public String getChannel() {
+			return this.channel;
+		}
+
+		public void setChannel(String channel) {
+			this.channel = channel;
+		}
+
+	}
+
+	/**
+	 * Load coalescing properties.
+	 */
+	public static class Coalescing {
+
+		/**
+		 * Coalesce concurrent loads of the same key, as performed for synchronized
+		 * cacheable methods, into a single invocation.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Time in milliseconds after which an entry that is accessed is reloaded in the
+		 * background while its current value is returned. Should be lower than the
+		 * expiration of the cache. By default, entries are never refreshed.
+		 */
+		private long refreshAfter;
+
+		/**
+		 * Number of threads used to refresh entries in the background.
+		 */
+		private int refreshThreads = 2;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getRefreshAfter() {
+			return this.refreshAfter;
+		}
+
+		public void setRefreshAfter(long refreshAfter) {
+			this.refreshAfter = refreshAfter;
+		}
+
+		public int getRefreshThreads() {
+			return this.refreshThreads;
+		}
+
+		public void setRefreshThreads(int refreshThreads) {
+			this.refreshThreads = refreshThreads;
+		}
+
 	}
 
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * A {@link Cache} decorator that coalesces concurrent loads of the same key, as
+ * performed for {@code @Cacheable(sync = true)} methods, into a single invocation of the
+ * value loader regardless of how the decorated cache implements
+ * {@link #get(Object, Callable)}. Optionally, an entry that has been in the cache for
+ * longer than a configurable period is reloaded in the background while the current
+ * value is still returned.
+ * <p>
+ * Write times are only recorded for entries written through this instance and are held
+ * using soft references: an entry written by another node, or whose write time has been
+ * reclaimed, is not refreshed until it is written again through this instance. A refresh
+ * invokes the value loader, typically the {@code @Cacheable} method, on a thread of the
+ * refresh executor so any transaction, security or request context bound to the
+ * calling thread is not available to it. Refresh failures are logged and the current
+ * value is kept.
+ *
+ * @since 1.5.10
+ * @see CoalescingCacheManager
+ */
+public class CoalescingCache implements Cache {
+
+	private static final Log logger = LogFactory.getLog(CoalescingCache.class);
+
+	private final Cache cache;
+
+	private final long refreshAfter;
+
+	private final Executor refreshExecutor;
+
+	private final ConcurrentMap<Object, FutureTask<Object>> loads = new ConcurrentHashMap<Object, FutureTask<Object>>();
+
+	private final Map<Object, Long> writeTimes = new ConcurrentReferenceHashMap<Object, Long>();
+
+	private final AtomicLong coalescedLoadCount = new AtomicLong();
+
+	private final AtomicLong refreshCount = new AtomicLong();
+
+	/**
+	 * Create a new {@link CoalescingCache} instance that does not refresh entries.
+	 * @param cache the cache to decorate
+	 */
+	public CoalescingCache(Cache cache) {
+		this(cache, 0, null);
+	}
+
+	/**
+	 * Create a new {@link CoalescingCache} instance.
+	 * @param cache the cache to decorate
+	 * @param refreshAfter the time in milliseconds after which an entry is refreshed in
+	 * the background on access, or {@code 0} to never refresh entries
+	 * @param refreshExecutor the executor used to refresh entries, may be {@code null}
+	 * if {@code refreshAfter} is {@code 0}
+	 */
+	public CoalescingCache(Cache cache, long refreshAfter, Executor refreshExecutor) {
+		Assert.notNull(cache, "Cache must not be null");
+		Assert.isTrue(refreshAfter >= 0, "RefreshAfter must not be negative");
+		Assert.isTrue(refreshAfter == 0 || refreshExecutor != null,
+				"RefreshExecutor must not be null when refreshAfter is set");
+		this.cache = cache;
+		this.refreshAfter = refreshAfter;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Return the decorated cache.
+	 * @return the decorated cache
+	 */
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Return the number of loads that waited for a load of the same key that was already
+	 * in progress instead of invoking the value loader.
+	 * @return the coalesced load count
+	 */
+	public long getCoalescedLoadCount() {
+		return this.coalescedLoadCount.get();
+	}
+
+	/**
+	 * Return the number of entries that have been refreshed in the background.
+	 * @return the refresh count
+	 */
+	public long getRefreshCount() {
+		return this.refreshCount.get();
+	}
+
+	@Override
+	public String getName() {
+		return this.cache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.cache.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return this.cache.get(key);
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return this.cache.get(key, type);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.cache.get(key);
+		if (wrapper != null) {
+			if (isRefreshRequired(key)) {
+				refresh(key, valueLoader);
+			}
+			return (T) wrapper.get();
+		}
+		return (T) load(key, valueLoader);
+	}
+
+	private Object load(Object key, Callable<?> valueLoader) {
+		FutureTask<Object> task = new FutureTask<Object>(
+				new Loader(key, valueLoader, false));
+		FutureTask<Object> existing = this.loads.putIfAbsent(key, task);
+		if (existing != null) {
+			this.coalescedLoadCount.incrementAndGet();
+			return getResult(existing, key, valueLoader);
+		}
+		try {
+			task.run();
+			return getResult(task, key, valueLoader);
+		}
+		finally {
+			this.loads.remove(key, task);
+		}
+	}
+
+	private Object getResult(FutureTask<Object> task, Object key,
+			Callable<?> valueLoader) {
+		try {
+			return task.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+		}
+	}
+
+	private boolean isRefreshRequired(Object key) {
+		if (this.refreshAfter == 0) {
+			return false;
+		}
+		Long writeTime = this.writeTimes.get(key);
+		return (writeTime != null
+				&& System.currentTimeMillis() - writeTime > this.refreshAfter);
+	}
+
+	private void refresh(final Object key, Callable<?> valueLoader) {
+		final FutureTask<Object> task = new FutureTask<Object>(
+				new Loader(key, valueLoader, true));
+		if (this.loads.putIfAbsent(key, task) != null) {
+			return;
+		}
+		try {
+			this.refreshExecutor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						task.run();
+						task.get();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					catch (ExecutionException ex) {
+						logger.warn("Failed to refresh entry '" + key + "' of cache '"
+								+ getName() + "'", ex.getCause());
+					}
+					finally {
+						CoalescingCache.this.loads.remove(key, task);
+					}
+				}
+
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			// The current value is still valid so try again on a later access
+			this.loads.remove(key, task);
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		this.cache.put(key, value);
+		recordWrite(key);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = this.cache.putIfAbsent(key, value);
+		if (existing == null) {
+			recordWrite(key);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.cache.evict(key);
+		this.writeTimes.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		this.cache.clear();
+		this.writeTimes.clear();
+	}
+
+	private void recordWrite(Object key) {
+		if (this.refreshAfter != 0) {
+			this.writeTimes.put(key, System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Loads a value and stores it in the decorated cache.
+	 */
+	private class Loader implements Callable<Object> {
+
+		private final Object key;
+
+		private final Callable<?> valueLoader;
+
+		private final boolean refresh;
+
+		Loader(Object key, Callable<?> valueLoader, boolean refresh) {
+			this.key = key;
+			this.valueLoader = valueLoader;
+			this.refresh = refresh;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			if (!this.refresh) {
+				// Another load may have completed since our last check
+				ValueWrapper wrapper = CoalescingCache.this.cache.get(this.key);
+				if (wrapper != null) {
+					return wrapper.get();
+				}
+			}
+			Object value = this.valueLoader.call();
+			put(this.key, value);
+			if (this.refresh) {
+				CoalescingCache.this.refreshCount.incrementAndGet();
+			}
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Load coalescing configuration. Wraps the auto-configured {@link CacheManager} in a
+ * {@link CoalescingCacheManager}. A cache manager defined by the user is left untouched.
+ * Once wrapped, the {@code cacheManager} bean is a {@link CoalescingCacheManager} so it
+ * can no longer be injected using its original type.
+ *
+ * @since 1.5.10
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.cache.coalescing", name = "enabled")
+class CoalescingCacheConfiguration {
+
+	@Bean
+	public static CoalescingCacheManagerPostProcessor coalescingCacheManagerPostProcessor() {
+		return new CoalescingCacheManagerPostProcessor();
+	}
+
+	/**
+	 * {@link BeanPostProcessor} that wraps the auto-configured {@link CacheManager}. Owns
+	 * the executor used to refresh entries and shuts it down when the context is closed.
+	 */
+	static class CoalescingCacheManagerPostProcessor
+			implements BeanPostProcessor, BeanFactoryAware, DisposableBean, Ordered {
+
+		private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+		private ConfigurableListableBeanFactory beanFactory;
+
+		private ThreadPoolTaskExecutor refreshExecutor;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+		}
+
+		@Override
+		public int getOrder() {
+			// Run before the near cache so that local misses are coalesced
+			return Ordered.LOWEST_PRECEDENCE - 10;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof CacheManager && !(bean instanceof CoalescingCacheManager)
+					&& CacheConfigurations.isAutoConfiguredCacheManager(this.beanFactory,
+							beanName)) {
+				CacheProperties.Coalescing coalescing = this.beanFactory
+						.getBean(CacheProperties.class).getCoalescing();
+				long refreshAfter = coalescing.getRefreshAfter();
+				return new CoalescingCacheManager((CacheManager) bean, refreshAfter,
+						(refreshAfter > 0
+								? createRefreshExecutor(coalescing.getRefreshThreads())
+								: null));
+			}
+			return bean;
+		}
+
+		private ThreadPoolTaskExecutor createRefreshExecutor(int threads) {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setCorePoolSize(threads);
+			executor.setMaxPoolSize(threads);
+			// Rejected refreshes are retried on a later access
+			executor.setQueueCapacity(REFRESH_QUEUE_CAPACITY);
+			executor.setThreadNamePrefix("cache-refresh-");
+			executor.setDaemon(true);
+			executor.initialize();
+			this.refreshExecutor = executor;
+			return executor;
+		}
+
+		@Override
+		public void destroy() {
+			if (this.refreshExecutor != null) {
+				this.refreshExecutor.shutdown();
+			}
+		}
+
+	}
+
+}
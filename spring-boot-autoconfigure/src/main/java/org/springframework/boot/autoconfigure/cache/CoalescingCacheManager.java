@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link CacheManager} that wraps each cache of another {@link CacheManager} in a
+ * {@link CoalescingCache}.
+ *
+ * @since 1.5.10
+ */
+public class CoalescingCacheManager implements CacheManager {
+
+	private final CacheManager cacheManager;
+
+	private final long refreshAfter;
+
+	private final Executor refreshExecutor;
+
+	private final ConcurrentMap<String, CoalescingCache> caches = new ConcurrentHashMap<String, CoalescingCache>();
+
+	/**
+	 * Create a new {@link CoalescingCacheManager} instance.
+	 * @param cacheManager the cache manager to delegate to
+	 * @param refreshAfter the time in milliseconds after which an entry is refreshed in
+	 * the background on access, or {@code 0} to never refresh entries
+	 * @param refreshExecutor the executor used to refresh entries, may be {@code null}
+	 * if {@code refreshAfter} is {@code 0}
+	 * @see CoalescingCache#CoalescingCache(Cache, long, Executor)
+	 */
+	public CoalescingCacheManager(CacheManager cacheManager, long refreshAfter,
+			Executor refreshExecutor) {
+		Assert.notNull(cacheManager, "CacheManager must not be null");
+		this.cacheManager = cacheManager;
+		this.refreshAfter = refreshAfter;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Return the cache manager that this instance delegates to.
+	 * @return the decorated cache manager
+	 */
+	public CacheManager getCacheManager() {
+		return this.cacheManager;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		CoalescingCache cache = this.caches.get(name);
+		if (cache == null) {
+			Cache target = this.cacheManager.getCache(name);
+			if (target == null) {
+				return null;
+			}
+			cache = new CoalescingCache(target, this.refreshAfter,
+					this.refreshExecutor);
+			CoalescingCache existing = this.caches.putIfAbsent(name, cache);
+			cache = (existing != null ? existing : cache);
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.cacheManager.getCacheNames();
+	}
+
+}
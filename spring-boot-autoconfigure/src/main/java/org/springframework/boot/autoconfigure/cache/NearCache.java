@@ -0,0 +1,250 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Cache} that keeps a local Caffeine copy of the entries read from another,
+ * typically remote, {@link Cache}. Writes go to the remote cache first and then update
+ * or invalidate the local copy. When a {@link NearCacheInvalidator} is configured,
+ * writes are also published so that other nodes discard their local copy. Otherwise, or
+ * if a change is not delivered, a local entry can be stale for at most the expiration
+ * configured for the local cache.
+ *
+ * @since 1.5.10
+ * @see NearCacheManager
+ */
+public class NearCache implements Cache {
+
+	private final Cache remoteCache;
+
+	private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> localCache;
+
+	private final NearCacheInvalidator invalidator;
+
+	private final AtomicLong remoteHitCount = new AtomicLong();
+
+	private final AtomicLong remoteMissCount = new AtomicLong();
+
+	/**
+	 * Create a new {@link NearCache} instance.
+	 * @param remoteCache the cache to delegate to
+	 * @param caffeine the builder used to create the local cache
+	 */
+	public NearCache(Cache remoteCache, Caffeine<Object, Object> caffeine) {
+		this(remoteCache, caffeine, null);
+	}
+
+	/**
+	 * Create a new {@link NearCache} instance.
+	 * @param remoteCache the cache to delegate to
+	 * @param caffeine the builder used to create the local cache
+	 * @param invalidator the invalidator used to publish changes to other nodes or
+	 * {@code null}
+	 */
+	public NearCache(Cache remoteCache, Caffeine<Object, Object> caffeine,
+			NearCacheInvalidator invalidator) {
+		Assert.notNull(remoteCache, "RemoteCache must not be null");
+		Assert.notNull(caffeine, "Caffeine must not be null");
+		this.remoteCache = remoteCache;
+		this.localCache = caffeine.build();
+		this.invalidator = invalidator;
+	}
+
+	/**
+	 * Return the cache that this instance delegates to.
+	 * @return the remote cache
+	 */
+	public Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	/**
+	 * Return the local Caffeine cache.
+	 * @return the local cache
+	 */
+	public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the number of local misses that were found in the remote cache.
+	 * @return the remote hit count
+	 */
+	public long getRemoteHitCount() {
+		return this.remoteHitCount.get();
+	}
+
+	/**
+	 * Return the number of local misses that were not found in the remote cache either.
+	 * @return the remote miss count
+	 */
+	public long getRemoteMissCount() {
+		return this.remoteMissCount.get();
+	}
+
+	@Override
+	public String getName() {
+		return this.remoteCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		ValueWrapper value = this.localCache.getIfPresent(key);
+		if (value != null) {
+			return value;
+		}
+		value = this.remoteCache.get(key);
+		if (value == null) {
+			this.remoteMissCount.incrementAndGet();
+			return null;
+		}
+		this.remoteHitCount.incrementAndGet();
+		value = new SimpleValueWrapper(value.get());
+		this.localCache.put(key, value);
+		return value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type ["
+					+ type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.localCache.getIfPresent(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		TrackingValueLoader<T> trackingLoader = new TrackingValueLoader<T>(valueLoader);
+		T value = this.remoteCache.get(key, trackingLoader);
+		if (trackingLoader.isInvoked()) {
+			this.remoteMissCount.incrementAndGet();
+		}
+		else {
+			this.remoteHitCount.incrementAndGet();
+		}
+		if (value != null || isAllowNullValues()) {
+			this.localCache.put(key, new SimpleValueWrapper(value));
+		}
+		return value;
+	}
+
+	private boolean isAllowNullValues() {
+		return (this.remoteCache instanceof AbstractValueAdaptingCache
+				&& ((AbstractValueAdaptingCache) this.remoteCache).isAllowNullValues());
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		this.remoteCache.put(key, value);
+		this.localCache.put(key, new SimpleValueWrapper(value));
+		publish(key);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = this.remoteCache.putIfAbsent(key, value);
+		this.localCache.invalidate(key);
+		if (existing == null) {
+			publish(key);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remoteCache.evict(key);
+		this.localCache.invalidate(key);
+		publish(key);
+	}
+
+	@Override
+	public void clear() {
+		this.remoteCache.clear();
+		this.localCache.invalidateAll();
+		publish(null);
+	}
+
+	/**
+	 * Discard the local copy of the entry with the given key, typically because it has
+	 * been changed by another node.
+	 * @param key the key of the entry or {@code null} to discard all entries
+	 */
+	public void invalidateLocal(Object key) {
+		if (key != null) {
+			this.localCache.invalidate(key);
+		}
+		else {
+			this.localCache.invalidateAll();
+		}
+	}
+
+	private void publish(Object key) {
+		if (this.invalidator != null) {
+			this.invalidator.publish(getName(), key);
+		}
+	}
+
+	/**
+	 * {@link Callable} that records whether the remote cache had to load the value.
+	 */
+	private static class TrackingValueLoader<T> implements Callable<T> {
+
+		private final Callable<T> valueLoader;
+
+		private volatile boolean invoked;
+
+		TrackingValueLoader(Callable<T> valueLoader) {
+			this.valueLoader = valueLoader;
+		}
+
+		@Override
+		public T call() throws Exception {
+			this.invoked = true;
+			return this.valueLoader.call();
+		}
+
+		public boolean isInvoked() {
+			return this.invoked;
+		}
+
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Near cache configuration. Wraps the auto-configured {@link CacheManager} in a
+ * {@link NearCacheManager} so that recently used entries are served locally. A cache
+ * manager defined by the user is left untouched. Once wrapped, the
+ * {@code cacheManager} bean is a {@link NearCacheManager} so it can no longer be
+ * injected using its original type, such as {@code RedisCacheManager}.
+ * <p>
+ * Changes are published to other nodes by a single {@link NearCacheInvalidator} bean,
+ * which is auto-configured to use Redis pub/sub when a {@link RedisConnectionFactory} is
+ * available. The near cache fails to start without one, as local copies would otherwise
+ * only be discarded when they expire.
+ *
+ * @since 1.5.10
+ */
+@Configuration
+@ConditionalOnClass(Caffeine.class)
+@ConditionalOnProperty(prefix = "spring.cache.near", name = "enabled")
+class NearCacheConfiguration {
+
+	@Bean
+	public static NearCacheManagerPostProcessor nearCacheManagerPostProcessor() {
+		return new NearCacheManagerPostProcessor();
+	}
+
+	@Configuration
+	@ConditionalOnClass(RedisConnectionFactory.class)
+	@ConditionalOnBean(RedisConnectionFactory.class)
+	@ConditionalOnMissingBean(NearCacheInvalidator.class)
+	static class RedisNearCacheInvalidatorConfiguration {
+
+		@Bean
+		public RedisNearCacheInvalidator nearCacheInvalidator(
+				RedisConnectionFactory connectionFactory,
+				CacheProperties cacheProperties) {
+			return new RedisNearCacheInvalidator(connectionFactory,
+					cacheProperties.getNear().getChannel());
+		}
+
+		@Bean
+		public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(
+				RedisConnectionFactory connectionFactory,
+				RedisNearCacheInvalidator nearCacheInvalidator) {
+			RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+			container.setConnectionFactory(connectionFactory);
+			container.addMessageListener(nearCacheInvalidator,
+					new ChannelTopic(nearCacheInvalidator.getChannel()));
+			return container;
+		}
+
+	}
+
+	/**
+	 * {@link BeanPostProcessor} that wraps the auto-configured {@link CacheManager}.
+	 */
+	static class NearCacheManagerPostProcessor
+			implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+		private ConfigurableListableBeanFactory beanFactory;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+		}
+
+		@Override
+		public int getOrder() {
+			// Run last so that the local copy is consulted before any other decorator
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof CacheManager && !(bean instanceof NearCacheManager)
+					&& CacheConfigurations.isAutoConfiguredCacheManager(this.beanFactory,
+							beanName)) {
+				NearCacheInvalidator invalidator = getInvalidator();
+				NearCacheManager cacheManager = new NearCacheManager((CacheManager) bean,
+						createCaffeine(), invalidator);
+				invalidator.subscribe(cacheManager);
+				return cacheManager;
+			}
+			return bean;
+		}
+
+		private NearCacheInvalidator getInvalidator() {
+			Map<String, NearCacheInvalidator> invalidators = this.beanFactory
+					.getBeansOfType(NearCacheInvalidator.class);
+			Assert.state(invalidators.size() == 1,
+					"The near cache requires a single NearCacheInvalidator bean to "
+							+ "publish changes to other nodes but found "
+							+ invalidators.keySet() + ". One is auto-configured when "
+							+ "a RedisConnectionFactory is available");
+			return invalidators.values().iterator().next();
+		}
+
+		private Caffeine<Object, Object> createCaffeine() {
+			String spec = this.beanFactory.getBean(CacheProperties.class).getNear()
+					.getSpec();
+			Assert.state(StringUtils.hasText(spec),
+					"spring.cache.near.spec must be set when the near cache is enabled. "
+							+ "Its expiration bounds how long a stale entry can be "
+							+ "served locally when a change is not delivered");
+			Caffeine<Object, Object> caffeine = Caffeine.from(spec);
+			if (!isRecordingStats(spec)) {
+				// Statistics are required for the near cache metrics
+				caffeine.recordStats();
+			}
+			return caffeine;
+		}
+
+		private boolean isRecordingStats(String spec) {
+			for (String option : StringUtils.commaDelimitedListToStringArray(spec)) {
+				if ("recordStats".equals(option.trim())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
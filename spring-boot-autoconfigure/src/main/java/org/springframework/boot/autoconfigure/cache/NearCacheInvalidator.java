@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+/**
+ * Strategy used to tell the {@link NearCacheManager near caches} of other nodes that an
+ * entry has changed so that they discard their local copy.
+ *
+ * @since 1.5.10
+ * @see RedisNearCacheInvalidator
+ */
+public interface NearCacheInvalidator {
+
+	/**
+	 * Publish that the entry with the given key has changed.
+	 * @param cacheName the name of the cache
+	 * @param key the key of the entry or {@code null} if the cache has been cleared
+	 */
+	void publish(String cacheName, Object key);
+
+	/**
+	 * Register a {@link NearCacheManager} whose local caches should be invalidated when
+	 * another node publishes a change.
+	 * @param cacheManager the cache manager
+	 */
+	void subscribe(NearCacheManager cacheManager);
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link CacheManager} that wraps each cache of another {@link CacheManager} in a
+ * {@link NearCache}. Changes are published to other nodes through an optional
+ * {@link NearCacheInvalidator}, which the manager should be
+ * {@link NearCacheInvalidator#subscribe(NearCacheManager) subscribed} to.
+ *
+ * @since 1.5.10
+ */
+public class NearCacheManager implements CacheManager {
+
+	private final CacheManager remoteCacheManager;
+
+	private final Caffeine<Object, Object> caffeine;
+
+	private final NearCacheInvalidator invalidator;
+
+	private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<String, NearCache>();
+
+	/**
+	 * Create a new {@link NearCacheManager} instance.
+	 * @param remoteCacheManager the cache manager to delegate to
+	 * @param caffeine the builder used to create the local caches
+	 */
+	public NearCacheManager(CacheManager remoteCacheManager,
+			Caffeine<Object, Object> caffeine) {
+		this(remoteCacheManager, caffeine, null);
+	}
+
+	/**
+	 * Create a new {@link NearCacheManager} instance.
+	 * @param remoteCacheManager the cache manager to delegate to
+	 * @param caffeine the builder used to create the local caches
+	 * @param invalidator the invalidator used to publish changes to other nodes or
+	 * {@code null}
+	 */
+	public NearCacheManager(CacheManager remoteCacheManager,
+			Caffeine<Object, Object> caffeine, NearCacheInvalidator invalidator) {
+		Assert.notNull(remoteCacheManager, "RemoteCacheManager must not be null");
+		Assert.notNull(caffeine, "Caffeine must not be null");
+		this.remoteCacheManager = remoteCacheManager;
+		this.caffeine = caffeine;
+		this.invalidator = invalidator;
+	}
+
+	/**
+	 * Return the cache manager that this instance delegates to.
+	 * @return the remote cache manager
+	 */
+	public CacheManager getRemoteCacheManager() {
+		return this.remoteCacheManager;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		NearCache cache = this.caches.get(name);
+		if (cache == null) {
+			Cache remoteCache = this.remoteCacheManager.getCache(name);
+			if (remoteCache == null) {
+				return null;
+			}
+			cache = new NearCache(remoteCache, this.caffeine, this.invalidator);
+			NearCache existing = this.caches.putIfAbsent(name, cache);
+			cache = (existing != null ? existing : cache);
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Discard the local copy of an entry that has been changed by another node.
+	 * @param cacheName the name of the cache
+	 * @param key the key of the entry or {@code null} to discard all entries of the cache
+	 */
+	public void invalidateLocal(String cacheName, Object key) {
+		NearCache cache = this.caches.get(cacheName);
+		if (cache != null) {
+			cache.invalidateLocal(key);
+		}
+	}
+
+}
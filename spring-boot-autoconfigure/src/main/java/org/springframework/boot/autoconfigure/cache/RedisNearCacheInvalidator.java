@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * {@link NearCacheInvalidator} that publishes changes on a Redis channel. It must be
+ * registered as a {@link MessageListener} for that channel, typically with a
+ * {@link org.springframework.data.redis.listener.RedisMessageListenerContainer}, so
+ * that changes published by other nodes are applied. Changes published by this
+ * instance are ignored. Keys are sent using Java serialization.
+ * <p>
+ * Redis does not store published messages, so a change that is published while a node
+ * is disconnected is lost. The expiration of the local caches bounds how long such an
+ * entry can be stale.
+ *
+ * @since 1.5.10
+ */
+public class RedisNearCacheInvalidator implements NearCacheInvalidator, MessageListener {
+
+	private static final Log logger = LogFactory.getLog(RedisNearCacheInvalidator.class);
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private final String channel;
+
+	private final List<NearCacheManager> cacheManagers = new CopyOnWriteArrayList<NearCacheManager>();
+
+	/**
+	 * Create a new {@link RedisNearCacheInvalidator} instance.
+	 * @param connectionFactory the connection factory to publish with
+	 * @param channel the channel on which changes are published
+	 */
+	public RedisNearCacheInvalidator(RedisConnectionFactory connectionFactory,
+			String channel) {
+		Assert.notNull(connectionFactory, "ConnectionFactory must not be null");
+		Assert.hasText(channel, "Channel must not be empty");
+		RedisTemplate<String, Object> redisTemplate = new RedisTemplate<String, Object>();
+		redisTemplate.setConnectionFactory(connectionFactory);
+		redisTemplate.afterPropertiesSet();
+		this.redisTemplate = redisTemplate;
+		this.channel = channel;
+	}
+
+	/**
+	 * Return the channel on which changes are published.
+	 * @return the channel
+	 */
+	public String getChannel() {
+		return this.channel;
+	}
+
+	@Override
+	public void publish(String cacheName, Object key) {
+		try {
+			this.redisTemplate.convertAndSend(this.channel,
+					new Invalidation(this.origin, cacheName, key));
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to publish the invalidation of entry '" + key
+					+ "' of cache '" + cacheName + "'", ex);
+		}
+	}
+
+	@Override
+	public void subscribe(NearCacheManager cacheManager) {
+		this.cacheManagers.add(cacheManager);
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		Object body = this.redisTemplate.getValueSerializer()
+				.deserialize(message.getBody());
+		if (body instanceof Invalidation) {
+			Invalidation invalidation = (Invalidation) body;
+			if (!this.origin.equals(invalidation.origin)) {
+				for (NearCacheManager cacheManager : this.cacheManagers) {
+					cacheManager.invalidateLocal(invalidation.cacheName,
+							invalidation.key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A change published on the channel.
+	 */
+	static class Invalidation implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String origin;
+
+		private final String cacheName;
+
+		private final Object key;
+
+		Invalidation(String origin, String cacheName, Object key) {
+			this.origin = origin;
+			this.cacheName = cacheName;
+			this.key = key;
+		}
+
+	}
+
+}
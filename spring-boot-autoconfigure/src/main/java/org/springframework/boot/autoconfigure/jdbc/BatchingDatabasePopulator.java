@@ -0,0 +1,589 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.CannotReadScriptException;
+import org.springframework.jdbc.datasource.init.DatabasePopulator;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.jdbc.datasource.init.UncategorizedScriptException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link DatabasePopulator} suited to large SQL scripts. Unlike
+ * {@link ResourceDatabasePopulator}, scripts are streamed rather than read fully in
+ * memory and consecutive DML statements ({@code INSERT}, {@code UPDATE},
+ * {@code DELETE} and {@code MERGE}) are sent to the database as JDBC batches, each
+ * committed in its own transaction. Scripts can optionally be executed in parallel,
+ * each on its own connection, when they do not depend on each other.
+ * <p>
+ * As scripts are streamed, statements must be terminated by the configured separator:
+ * there is no fallback to newline-separated statements.
+ *
+ * @since 1.5.10
+ */
+public class BatchingDatabasePopulator implements DatabasePopulator {
+
+	private static final Log logger = LogFactory.getLog(BatchingDatabasePopulator.class);
+
+	private static final String[] BATCHABLE_STATEMENTS = { "insert", "update", "delete",
+			"merge" };
+
+	private final List<Resource> scripts = new ArrayList<Resource>();
+
+	private String sqlScriptEncoding;
+
+	private String separator = ScriptUtils.DEFAULT_STATEMENT_SEPARATOR;
+
+	private String commentPrefix = ScriptUtils.DEFAULT_COMMENT_PREFIX;
+
+	private String blockCommentStartDelimiter = ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER;
+
+	private String blockCommentEndDelimiter = ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER;
+
+	private boolean continueOnError;
+
+	private int batchSize = 1000;
+
+	private int parallelism = 1;
+
+	/**
+	 * Add a script to execute.
+	 * @param script the script to add
+	 */
+	public void addScript(Resource script) {
+		Assert.notNull(script, "Script must not be null");
+		this.scripts.add(script);
+	}
+
+	/**
+	 * Set the encoding of the scripts, if different from the platform encoding.
+	 * @param sqlScriptEncoding the encoding of the scripts
+	 */
+	public void setSqlScriptEncoding(String sqlScriptEncoding) {
+		this.sqlScriptEncoding = (StringUtils.hasText(sqlScriptEncoding)
+				? sqlScriptEncoding : null);
+	}
+
+	/**
+	 * Set the statement separator. Defaults to {@code ";"}.
+	 * @param separator the statement separator
+	 */
+	public void setSeparator(String separator) {
+		Assert.hasLength(separator, "Separator must not be empty");
+		this.separator = separator;
+	}
+
+	/**
+	 * Set the prefix of single-line comments. Defaults to {@code "--"}.
+	 * @param commentPrefix the comment prefix
+	 */
+	public void setCommentPrefix(String commentPrefix) {
+		Assert.hasLength(commentPrefix, "CommentPrefix must not be empty");
+		this.commentPrefix = commentPrefix;
+	}
+
+	/**
+	 * Set the delimiters of block comments. Default to {@code "/*"} and
+	 * <code>"*&#47;"</code>.
+	 * @param startDelimiter the start delimiter
+	 * @param endDelimiter the end delimiter
+	 */
+	public void setBlockCommentDelimiters(String startDelimiter, String endDelimiter) {
+		Assert.hasLength(startDelimiter, "StartDelimiter must not be empty");
+		Assert.hasLength(endDelimiter, "EndDelimiter must not be empty");
+		this.blockCommentStartDelimiter = startDelimiter;
+		this.blockCommentEndDelimiter = endDelimiter;
+	}
+
+	/**
+	 * Set whether failing statements should be logged and skipped rather than stopping
+	 * the execution. When a batch fails, its statements are executed one by one so that
+	 * only the failing ones are skipped.
+	 * @param continueOnError whether to continue on error
+	 */
+	public void setContinueOnError(boolean continueOnError) {
+		this.continueOnError = continueOnError;
+	}
+
+	/**
+	 * Set the maximum number of statements sent to the database in a single batch.
+	 * Defaults to {@code 1000}; {@code 1} disables batching.
+	 * @param batchSize the batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "BatchSize must be positive");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the maximum number of scripts executed concurrently by
+	 * {@link #execute(DataSource)}. Defaults to {@code 1}. Only use a higher value if the
+	 * scripts do not depend on each other.
+	 * @param parallelism the maximum number of scripts executed concurrently
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be positive");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Execute the scripts, in order, on the given connection.
+	 * @param connection the connection to use
+	 */
+	@Override
+	public void populate(Connection connection) throws SQLException, ScriptException {
+		Assert.notNull(connection, "Connection must not be null");
+		for (Resource script : this.scripts) {
+			executeScript(connection, script);
+		}
+	}
+
+	/**
+	 * Execute the scripts against the given {@link DataSource}, in parallel if
+	 * {@link #setParallelism(int) parallelism} allows it.
+	 * @param dataSource the data source to use
+	 * @throws DataAccessException if a script could not be executed
+	 */
+	public void execute(final DataSource dataSource) throws DataAccessException {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		if (this.parallelism == 1 || this.scripts.size() < 2) {
+			DatabasePopulatorUtils.execute(this, dataSource);
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(this.parallelism, this.scripts.size()),
+				new CustomizableThreadFactory("sql-script-"));
+		try {
+			List<Future<Object>> futures = new ArrayList<Future<Object>>();
+			for (final Resource script : this.scripts) {
+				futures.add(executor.submit(new Callable<Object>() {
+
+					@Override
+					public Object call() throws Exception {
+						Connection connection = DataSourceUtils.getConnection(dataSource);
+						try {
+							executeScript(connection, script);
+							return null;
+						}
+						finally {
+							DataSourceUtils.releaseConnection(connection, dataSource);
+						}
+					}
+
+				}));
+			}
+			Throwable failure = null;
+			// Wait for every script so that no connection is left in use
+			for (Future<Object> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					failure = (failure != null ? failure : ex.getCause());
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					failure = (failure != null ? failure : ex);
+				}
+			}
+			if (failure instanceof DataAccessException) {
+				throw (DataAccessException) failure;
+			}
+			if (failure != null) {
+				throw new UncategorizedScriptException(
+						"Failed to execute database script", failure);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private void executeScript(Connection connection, Resource script)
+			throws SQLException {
+		EncodedResource resource = new EncodedResource(script, this.sqlScriptEncoding);
+		if (logger.isInfoEnabled()) {
+			logger.info("Executing SQL script from " + resource);
+		}
+		long start = System.currentTimeMillis();
+		ScriptExecution execution = new ScriptExecution(connection, resource);
+		Reader reader;
+		try {
+			reader = resource.getReader();
+		}
+		catch (IOException ex) {
+			throw new CannotReadScriptException(resource, ex);
+		}
+		try {
+			StatementReader statements = new StatementReader(reader);
+			String sql = statements.next();
+			while (sql != null) {
+				execution.execute(sql);
+				sql = statements.next();
+			}
+			execution.finish();
+		}
+		catch (IOException ex) {
+			throw new CannotReadScriptException(resource, ex);
+		}
+		finally {
+			execution.close();
+			try {
+				reader.close();
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Executed SQL script from " + resource + " in "
+					+ (System.currentTimeMillis() - start) + " ms.");
+		}
+	}
+
+	private static boolean isBatchable(String sql) {
+		String lowerCaseSql = sql.substring(0, Math.min(sql.length(), 10))
+				.toLowerCase(Locale.ENGLISH);
+		for (String candidate : BATCHABLE_STATEMENTS) {
+			int length = candidate.length();
+			if (lowerCaseSql.startsWith(candidate) && lowerCaseSql.length() > length
+					&& Character.isWhitespace(lowerCaseSql.charAt(length))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Executes the statements of a single script. Batches are committed in their own
+	 * transaction unless the connection is already part of a transaction, in which
+	 * case committing is left to the caller.
+	 */
+	private class ScriptExecution {
+
+		private final Connection connection;
+
+		private final EncodedResource resource;
+
+		private final boolean manageTransactions;
+
+		private final boolean batching;
+
+		private final List<String> batch = new ArrayList<String>();
+
+		private Statement statement;
+
+		private int statementNumber;
+
+		private int batchStart;
+
+		ScriptExecution(Connection connection, EncodedResource resource)
+				throws SQLException {
+			this.connection = connection;
+			this.resource = resource;
+			this.manageTransactions = connection.getAutoCommit();
+			// Skipping failing statements of a batch requires rolling it back first
+			this.batching = BatchingDatabasePopulator.this.batchSize > 1
+					&& (this.manageTransactions
+							|| !BatchingDatabasePopulator.this.continueOnError);
+		}
+
+		void execute(String sql) throws SQLException {
+			this.statementNumber++;
+			if (this.batching && isBatchable(sql)) {
+				if (this.batch.isEmpty()) {
+					this.batchStart = this.statementNumber;
+					if (this.manageTransactions) {
+						this.connection.setAutoCommit(false);
+					}
+				}
+				getStatement().addBatch(sql);
+				this.batch.add(sql);
+				if (this.batch.size() >= BatchingDatabasePopulator.this.batchSize) {
+					flush();
+				}
+				return;
+			}
+			finish();
+			executeStatement(sql, this.statementNumber);
+		}
+
+		void finish() throws SQLException {
+			flush();
+			if (this.manageTransactions && !this.connection.getAutoCommit()) {
+				this.connection.setAutoCommit(true);
+			}
+		}
+
+		private void flush() throws SQLException {
+			if (this.batch.isEmpty()) {
+				return;
+			}
+			try {
+				getStatement().executeBatch();
+				if (this.manageTransactions) {
+					this.connection.commit();
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Executed batch of " + this.batch.size()
+							+ " statements from " + this.resource);
+				}
+			}
+			catch (SQLException ex) {
+				getStatement().clearBatch();
+				if (!this.manageTransactions) {
+					throw new ScriptStatementFailedException(getFailedStatement(ex),
+							this.batchStart + getFailedIndex(ex), this.resource, ex);
+				}
+				this.connection.rollback();
+				this.connection.setAutoCommit(true);
+				// Execute the statements one by one to identify the failing ones
+				for (int i = 0; i < this.batch.size(); i++) {
+					executeStatement(this.batch.get(i), this.batchStart + i);
+				}
+			}
+			finally {
+				this.batch.clear();
+			}
+		}
+
+		private void executeStatement(String sql, int statementNumber)
+				throws SQLException {
+			try {
+				getStatement().execute(sql);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Executed statement #" + statementNumber + " from "
+							+ this.resource);
+				}
+			}
+			catch (SQLException ex) {
+				if (!BatchingDatabasePopulator.this.continueOnError) {
+					throw new ScriptStatementFailedException(sql, statementNumber,
+							this.resource, ex);
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug(ScriptStatementFailedException.buildErrorMessage(sql,
+							statementNumber, this.resource), ex);
+				}
+			}
+		}
+
+		private String getFailedStatement(SQLException ex) {
+			return this.batch.get(getFailedIndex(ex));
+		}
+
+		private int getFailedIndex(SQLException ex) {
+			if (ex instanceof BatchUpdateException) {
+				int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+				// Drivers that stop at the first failure report the preceding statements
+				if (updateCounts != null && updateCounts.length < this.batch.size()) {
+					return updateCounts.length;
+				}
+			}
+			return 0;
+		}
+
+		private Statement getStatement() throws SQLException {
+			if (this.statement == null) {
+				this.statement = this.connection.createStatement();
+			}
+			return this.statement;
+		}
+
+		/**
+		 * Release the resources of the execution. If it failed while a batch was in
+		 * progress, roll the batch back and restore auto-commit so that the connection
+		 * is not returned to the pool with an open transaction.
+		 */
+		void close() {
+			try {
+				if (this.manageTransactions && !this.connection.getAutoCommit()) {
+					rollbackAndRestoreAutoCommit();
+				}
+			}
+			catch (SQLException ex) {
+				logger.debug("Could not determine auto-commit state", ex);
+			}
+			finally {
+				this.batch.clear();
+				JdbcUtils.closeStatement(this.statement);
+			}
+		}
+
+		private void rollbackAndRestoreAutoCommit() {
+			try {
+				this.connection.rollback();
+			}
+			catch (SQLException ex) {
+				logger.debug("Could not roll back batch from " + this.resource, ex);
+			}
+			try {
+				this.connection.setAutoCommit(true);
+			}
+			catch (SQLException ex) {
+				logger.debug("Could not restore auto-commit", ex);
+			}
+		}
+
+	}
+
+	/**
+	 * Reads the statements of a script one at a time, skipping comments and honoring
+	 * quoted literals.
+	 */
+	private class StatementReader {
+
+		private final PushbackReader reader;
+
+		private final StringBuilder statement = new StringBuilder();
+
+		StatementReader(Reader reader) {
+			this.reader = new PushbackReader(new BufferedReader(reader),
+					getMaxLength(BatchingDatabasePopulator.this.separator,
+							BatchingDatabasePopulator.this.commentPrefix,
+							BatchingDatabasePopulator.this.blockCommentStartDelimiter,
+							BatchingDatabasePopulator.this.blockCommentEndDelimiter));
+		}
+
+		private int getMaxLength(String... tokens) {
+			int maxLength = 1;
+			for (String token : tokens) {
+				maxLength = Math.max(maxLength, token.length());
+			}
+			return maxLength;
+		}
+
+		String next() throws IOException {
+			char quote = 0;
+			int read = this.reader.read();
+			while (read != -1) {
+				char ch = (char) read;
+				if (quote != 0) {
+					this.statement.append(ch);
+					if (ch == quote) {
+						quote = 0;
+					}
+				}
+				else if (ch == '\'' || ch == '"') {
+					this.statement.append(ch);
+					quote = ch;
+				}
+				else if (matches(ch, BatchingDatabasePopulator.this.separator)) {
+					String sql = this.statement.toString().trim();
+					this.statement.setLength(0);
+					if (sql.length() > 0) {
+						return sql;
+					}
+				}
+				else if (matches(ch, BatchingDatabasePopulator.this.commentPrefix)) {
+					skipLine();
+					this.statement.append('\n');
+				}
+				else if (matches(ch,
+						BatchingDatabasePopulator.this.blockCommentStartDelimiter)) {
+					skipBlockComment();
+					this.statement.append(' ');
+				}
+				else {
+					this.statement.append(ch);
+				}
+				read = this.reader.read();
+			}
+			String sql = this.statement.toString().trim();
+			this.statement.setLength(0);
+			return (sql.length() > 0 ? sql : null);
+		}
+
+		/**
+		 * Return whether the given token starts with the current character, consuming
+		 * the rest of the token if it does.
+		 */
+		private boolean matches(char ch, String token) throws IOException {
+			if (ch != token.charAt(0)) {
+				return false;
+			}
+			int length = token.length() - 1;
+			if (length == 0) {
+				return true;
+			}
+			char[] buffer = new char[length];
+			int count = 0;
+			while (count < length) {
+				int read = this.reader.read(buffer, count, length - count);
+				if (read == -1) {
+					break;
+				}
+				count += read;
+			}
+			if (count == length && token.regionMatches(1, new String(buffer), 0, length)) {
+				return true;
+			}
+			this.reader.unread(buffer, 0, count);
+			return false;
+		}
+
+		private void skipLine() throws IOException {
+			int read = this.reader.read();
+			while (read != -1 && read != '\n') {
+				read = this.reader.read();
+			}
+		}
+
+		private void skipBlockComment() throws IOException {
+			String end = BatchingDatabasePopulator.this.blockCommentEndDelimiter;
+			int read = this.reader.read();
+			while (read != -1 && !matches((char) read, end)) {
+				read = this.reader.read();
+			}
+		}
+
+	}
+
+}
@@ -50,6 +50,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 /**
@@ -94,6 +95,29 @@ public class DataSourceAutoConfiguration {
 		}
 	}
 
+	/**
+	 * Determines if the {@link DataSource} bean with the specified name was created by
+	 * the auto-configuration rather than defined by the user.
+	 * @param beanFactory the bean factory
+	 * @param beanName the name of the bean
+	 * @return true if the data source was auto-configured
+	 * @since 1.5.10
+	 */
+	public static boolean isAutoConfiguredDataSource(
+			ConfigurableListableBeanFactory beanFactory, String beanName) {
+		try {
+			String factoryBeanName = beanFactory.getBeanDefinition(beanName)
+					.getFactoryBeanName();
+			return (EmbeddedDataSourceConfiguration.class.getName()
+					.equals(factoryBeanName)
+					|| (factoryBeanName != null && factoryBeanName
+							.startsWith(DataSourceConfiguration.class.getName() + "$")));
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			return false;
+		}
+	}
+
 	@Configuration
 	@Conditional(EmbeddedDatabaseCondition.class)
 	@ConditionalOnMissingBean({ DataSource.class, XADataSource.class })
@@ -113,6 +137,28 @@ public class DataSourceAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnProperty(prefix = "spring.datasource.warmup", name = "enabled")
+	protected static class DataSourceWarmupConfiguration {
+
+		@Bean
+		public static DataSourceWarmupPostProcessor dataSourceWarmupPostProcessor() {
+			return new DataSourceWarmupPostProcessor();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty(prefix = "spring.datasource.replicas[0]", name = "url")
+	protected static class ReplicaRoutingConfiguration {
+
+		@Bean
+		public static ReplicaRoutingDataSourcePostProcessor replicaRoutingDataSourcePostProcessor() {
+			return new ReplicaRoutingDataSourcePostProcessor();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnProperty(prefix = "spring.datasource", name = "jmx-enabled")
 	@ConditionalOnClass(name = "org.apache.tomcat.jdbc.pool.DataSourceProxy")
@@ -122,6 +168,10 @@ public class DataSourceAutoConfiguration {
 
 		@Bean
 		public Object dataSourceMBean(DataSource dataSource) {
+			// The pool may be wrapped, for instance to route to replicas
+			while (dataSource instanceof DelegatingDataSource) {
+				dataSource = ((DelegatingDataSource) dataSource).getTargetDataSource();
+			}
 			if (dataSource instanceof DataSourceProxy) {
 				try {
 					return ((DataSourceProxy) dataSource).createPool().getJmxPool();
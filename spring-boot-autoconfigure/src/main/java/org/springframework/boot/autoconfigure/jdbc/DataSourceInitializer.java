@@ -89,7 +89,7 @@ class DataSourceInitializer implements ApplicationListener<DataSourceInitialized
 		if (!scripts.isEmpty()) {
 			String username = this.properties.getSchemaUsername();
 			String password = this.properties.getSchemaPassword();
-			runScripts(scripts, username, password);
+			runScripts(scripts, username, password, 1);
 			try {
 				this.applicationContext
 						.publishEvent(new DataSourceInitializedEvent(this.dataSource));
@@ -125,7 +125,8 @@ class DataSourceInitializer implements ApplicationListener<DataSourceInitialized
 				this.properties.getData(), "data");
 		String username = this.properties.getDataUsername();
 		String password = this.properties.getDataPassword();
-		runScripts(scripts, username, password);
+		runScripts(scripts, username, password,
+				this.properties.getInitializer().getParallelism());
 	}
 
 	private List<Resource> getScripts(String propertyName, List<String> resources,
@@ -169,10 +170,35 @@ class DataSourceInitializer implements ApplicationListener<DataSourceInitialized
 		}
 	}
 
-	private void runScripts(List<Resource> resources, String username, String password) {
+	private void runScripts(List<Resource> resources, String username, String password,
+			int parallelism) {
 		if (resources.isEmpty()) {
 			return;
 		}
+		DataSource dataSource = this.dataSource;
+		if (StringUtils.hasText(username) && StringUtils.hasText(password)) {
+			dataSource = DataSourceBuilder.create(this.properties.getClassLoader())
+					.driverClassName(this.properties.determineDriverClassName())
+					.url(this.properties.determineUrl()).username(username)
+					.password(password).build();
+		}
+		int batchSize = this.properties.getInitializer().getBatchSize();
+		if (batchSize > 0) {
+			BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+			populator.setContinueOnError(this.properties.isContinueOnError());
+			populator.setSeparator(this.properties.getSeparator());
+			if (this.properties.getSqlScriptEncoding() != null) {
+				populator.setSqlScriptEncoding(
+						this.properties.getSqlScriptEncoding().name());
+			}
+			populator.setBatchSize(batchSize);
+			populator.setParallelism(parallelism);
+			for (Resource resource : resources) {
+				populator.addScript(resource);
+			}
+			populator.execute(dataSource);
+			return;
+		}
 		ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
 		populator.setContinueOnError(this.properties.isContinueOnError());
 		populator.setSeparator(this.properties.getSeparator());
@@ -182,13 +208,6 @@ class DataSourceInitializer implements ApplicationListener<DataSourceInitialized
 		for (Resource resource : resources) {
 			populator.addScript(resource);
 		}
-		DataSource dataSource = this.dataSource;
-		if (StringUtils.hasText(username) && StringUtils.hasText(password)) {
-			dataSource = DataSourceBuilder.create(this.properties.getClassLoader())
-					.driverClassName(this.properties.determineDriverClassName())
-					.url(this.properties.determineUrl()).username(username)
-					.password(password).build();
-		}
 		DatabasePopulatorUtils.execute(populator, dataSource);
 	}
 
@@ -17,6 +17,7 @@
 package org.springframework.boot.autoconfigure.jdbc;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -156,6 +157,17 @@ public class DataSourceProperties
 
 	private Xa xa = new Xa();
 
+	private Warmup warmup = new Warmup();
+
+	private Initializer initializer = new Initializer();
+
+	/**
+	 * Read replicas to which read-only transactions are routed.
+	 */
+	private List<Replica> replicas = new ArrayList<Replica>();
+
+	private ReplicaRouting replicaRouting = new ReplicaRouting();
+
 	private String uniqueName;
 
 	@Override
@@ -474,6 +486,38 @@ public class DataSourceProperties
 		this.xa = xa;
 	}
 
+	public Warmup getWarmup() {
+		return this.warmup;
+	}
+
+	public void setWarmup(Warmup warmup) {
+		this.warmup = warmup;
+	}
+
+	public Initializer getInitializer() {
+		return this.initializer;
+	}
+
+	public void setInitializer(Initializer initializer) {
+		this.initializer = initializer;
+	}
+
+	public List<Replica> getReplicas() {
+		return this.replicas;
+	}
+
+	public void setReplicas(List<Replica> replicas) {
+		this.replicas = replicas;
+	}
+
+	public ReplicaRouting getReplicaRouting() {
+		return this.replicaRouting;
+	}
+
+	public void setReplicaRouting(ReplicaRouting replicaRouting) {
+		this.replicaRouting = replicaRouting;
+	}
+
 	/**
 	 * XA Specific datasource settings.
 	 */
@@ -507,6 +551,226 @@ public class DataSourceProperties
 
 	}
 
+	/**
+	 * Connection pool warm-up settings.
+	 */
+	public static class Warmup {
+
+		/**
+		 * Open connections when the DataSource is created rather than on first use.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Number of connections to open. By default, the minimum number of idle
+		 * connections of the pool.
+		 */
+		private Integer connections;
+
+		/**
+		 * Timeout in seconds to wait for each connection to be validated.
+		 */
+		private int validationTimeout = 5;
+
+		/**
+		 * Time in milliseconds after which an unavailable replica is tried again by a
+		 * read-only transaction, regardless of health checks.
+		 */
+		private long retryInterval = 30000;
+
+		/**
+		 * SQL statements to execute once the connections have been opened, for instance
+		 * to prime the caches of the database server.
+		 */
+		private List<String> statements = new ArrayList<String>();
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Integer getConnections() {
+			return this.connections;
+		}
+
+		public void setConnections(Integer connections) {
+			this.connections = connections;
+		}
+
+		public int getValidationTimeout() {
+			return this.validationTimeout;
+		}
+
+		public void setValidationTimeout(int validationTimeout) {
+			this.validationTimeout = validationTimeout;
+		}
+
+		public List<String> getStatements() {
+			return this.statements;
+		}
+
+		public void setStatements(List<String> statements) {
+			this.statements = statements;
+		}
+
+	}
+
+	/**
+	 * Settings for the execution of the schema and data scripts.
+	 */
+	public static class Initializer {
+
+		/**
+		 * Number of consecutive DML statements to send in a single JDBC batch, each batch
+		 * being committed in its own transaction. Scripts are also streamed rather than
+		 * loaded in memory, so statements must be terminated by the separator. Set to 0
+		 * to execute statements one at a time.
+		 */
+		private int batchSize;
+
+		/**
+		 * Maximum number of data scripts to execute concurrently when batching is
+		 * enabled. Only use a value greater than 1 if the data scripts are independent.
+		 */
+		private int parallelism = 1;
+
+		public int getBatchSize() {
+			return this.batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public int getParallelism() {
+			return this.parallelism;
+		}
+
+		public void setParallelism(int parallelism) {
+			this.parallelism = parallelism;
+		}
+
+	}
+
+	/**
+	 * Read replica settings.
+	 */
+	public static class Replica {
+
+		/**
+		 * Name of the replica, used in logs and metrics. By default, "replica" followed
+		 * by the index of the replica.
+		 */
+		private String name;
+
+		/**
+		 * JDBC url of the replica.
+		 */
+		private String url;
+
+		/**
+		 * Login user of the replica. By default, the user of the primary database.
+		 */
+		private String username;
+
+		/**
+		 * Login password of the replica. By default, the password of the primary
+		 * database.
+		 */
+		private String password;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getUrl() {
+			return this.url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public String getUsername() {
+			return this.username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return this.password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+	}
+
+	/**
+	 * Settings for the routing of read-only transactions to replicas.
+	 */
+	public static class ReplicaRouting {
+
+		/**
+		 * Strategy used to balance read-only connections amongst the available replicas.
+		 */
+		private ReplicaRoutingDataSource.Balancing balancing = ReplicaRoutingDataSource.Balancing.LEAST_CONNECTIONS;
+
+		/**
+		 * Interval in milliseconds between replica health checks. Set to 0 to disable
+		 * health checks.
+		 */
+		private long healthCheckInterval = 10000;
+
+		/**
+		 * Timeout in seconds to wait for a replica connection to be validated.
+		 */
+		private int validationTimeout = 5;
+
+		public ReplicaRoutingDataSource.Balancing getBalancing() {
+			return this.balancing;
+		}
+
+		public void setBalancing(ReplicaRoutingDataSource.Balancing balancing) {
+			this.balancing = balancing;
+		}
+
+		public long getHealthCheckInterval() {
+			return this.healthCheckInterval;
+		}
+
+		public void setHealthCheckInterval(long healthCheckInterval) {
+			this.healthCheckInterval = healthCheckInterval;
+		}
+
+		public int getValidationTimeout() {
+			return this.validationTimeout;
+		}
+
+		public void setValidationTimeout(int validationTimeout) {
+			this.validationTimeout = validationTimeout;
+		}
+
+		public long getRetryInterval() {
+			return this.retryInterval;
+		}
+
+		public void setRetryInterval(long retryInterval) {
+			this.retryInterval = retryInterval;
+		}
+
+	}
+
 	static class DataSourceBeanCreationException extends BeanCreationException {
 
 		DataSourceBeanCreationException(EmbeddedDatabaseConnection connection,
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Opens a number of connections of a {@link DataSource} in parallel so that the pool
+ * does not have to establish them while serving the first requests. Connections are
+ * validated and held until they have all been opened so that the pool has to create
+ * distinct connections, then returned to the pool.
+ *
+ * @since 1.5.10
+ * @see DataSourceProperties.Warmup
+ */
+class DataSourceWarmup {
+
+	private static final Log logger = LogFactory.getLog(DataSourceWarmup.class);
+
+	private static final int MAX_THREADS = 8;
+
+	private final DataSourceProperties.Warmup properties;
+
+	private final DataSourcePoolMetadataProvider metadataProvider;
+
+	DataSourceWarmup(DataSourceProperties.Warmup properties,
+			DataSourcePoolMetadataProvider metadataProvider) {
+		this.properties = properties;
+		this.metadataProvider = metadataProvider;
+	}
+
+	/**
+	 * Warm up the specified {@link DataSource}. Failures are logged rather than
+	 * propagated as the pool will try again when connections are requested.
+	 * @param dataSource the data source to warm up
+	 * @param name the name of the data source
+	 */
+	public void warmUp(DataSource dataSource, String name) {
+		int connections = determineConnections(dataSource);
+		if (connections <= 0) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		List<Connection> opened = new ArrayList<Connection>(connections);
+		try {
+			SQLException failure = openConnections(dataSource, connections, opened);
+			if (failure == null && !opened.isEmpty()) {
+				failure = executeStatements(opened.get(0));
+			}
+			if (failure != null) {
+				logger.warn("Unable to warm up DataSource '" + name + "'", failure);
+				return;
+			}
+		}
+		finally {
+			for (Connection connection : opened) {
+				JdbcUtils.closeConnection(connection);
+			}
+		}
+		logger.info("Warmed up DataSource '" + name + "' with " + opened.size()
+				+ " connection(s) in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private int determineConnections(DataSource dataSource) {
+		DataSourcePoolMetadata metadata = (this.metadataProvider != null
+				? this.metadataProvider.getDataSourcePoolMetadata(dataSource) : null);
+		Integer connections = this.properties.getConnections();
+		if (connections == null) {
+			connections = (metadata != null ? metadata.getMin() : null);
+		}
+		if (connections == null) {
+			return 1;
+		}
+		Integer max = (metadata != null ? metadata.getMax() : null);
+		// Opening more connections than the pool allows would block until a timeout
+		return (max != null && max > 0 ? Math.min(connections, max) : connections);
+	}
+
+	private SQLException openConnections(final DataSource dataSource, int connections,
+			final List<Connection> opened) {
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(connections, MAX_THREADS),
+				new CustomizableThreadFactory("datasource-warmup-"));
+		final AtomicBoolean abandoned = new AtomicBoolean();
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < connections; i++) {
+				futures.add(executor.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						Connection connection = openConnection(dataSource);
+						synchronized (opened) {
+							if (!abandoned.get()) {
+								opened.add(connection);
+								return null;
+							}
+						}
+						// The warm-up has been interrupted so nobody else will close it
+						JdbcUtils.closeConnection(connection);
+						return null;
+					}
+
+				}));
+			}
+			SQLException failure = null;
+			// Wait for every task so that no connection is left behind
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					failure = (failure != null ? failure : asSqlException(ex.getCause()));
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					abandon(futures, opened, abandoned);
+					return new SQLException("Interrupted", ex);
+				}
+			}
+			return failure;
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private void abandon(List<Future<?>> futures, List<Connection> opened,
+			AtomicBoolean abandoned) {
+		synchronized (opened) {
+			abandoned.set(true);
+		}
+		// Tasks that have not started are skipped and those that are running close
+		// the connection that they open
+		for (Future<?> future : futures) {
+			future.cancel(false);
+		}
+	}
+
+	private Connection openConnection(DataSource dataSource) throws SQLException {
+		Connection connection = dataSource.getConnection();
+		try {
+			if (!connection.isValid(this.properties.getValidationTimeout())) {
+				throw new SQLException("Connection is not valid");
+			}
+			return connection;
+		}
+		catch (SQLException ex) {
+			JdbcUtils.closeConnection(connection);
+			throw ex;
+		}
+		catch (RuntimeException ex) {
+			JdbcUtils.closeConnection(connection);
+			throw ex;
+		}
+	}
+
+	private SQLException executeStatements(Connection connection) {
+		for (String sql : this.properties.getStatements()) {
+			Statement statement = null;
+			try {
+				statement = connection.createStatement();
+				statement.execute(sql);
+			}
+			catch (SQLException ex) {
+				return ex;
+			}
+			finally {
+				JdbcUtils.closeStatement(statement);
+			}
+		}
+		return null;
+	}
+
+	private SQLException asSqlException(Throwable ex) {
+		return (ex instanceof SQLException ? (SQLException) ex
+				: new SQLException(ex.getMessage(), ex));
+	}
+
+}
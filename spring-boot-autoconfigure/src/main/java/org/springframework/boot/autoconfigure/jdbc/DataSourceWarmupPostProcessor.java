@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProviders;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link BeanPostProcessor} that warms up {@link DataSource} beans once they have been
+ * initialized. As it runs while the context is refreshed, the application does not
+ * accept requests until the pool has been filled. The primary and each replica of a
+ * {@link ReplicaRoutingDataSource} are warmed up individually. Warm-up is skipped if
+ * several {@link DataSourceProperties} beans are defined and none of them is primary.
+ *
+ * @since 1.5.10
+ * @see DataSourceWarmup
+ */
+class DataSourceWarmupPostProcessor
+		implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+	private static final Log logger = LogFactory
+			.getLog(DataSourceWarmupPostProcessor.class);
+
+	private ListableBeanFactory beanFactory;
+
+	private DataSourceWarmup warmup;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = (ListableBeanFactory) beanFactory;
+	}
+
+	@Override
+	public int getOrder() {
+		// Run after the DataSourceInitializerPostProcessor so that schema scripts are
+		// available to warm-up statements
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName)
+			throws BeansException {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		if (bean instanceof DataSource) {
+			DataSourceWarmup warmup = getWarmup();
+			if (warmup != null) {
+				warmUp(warmup, (DataSource) bean, beanName);
+			}
+		}
+		return bean;
+	}
+
+	private void warmUp(DataSourceWarmup warmup, DataSource dataSource,
+			String beanName) {
+		if (dataSource instanceof ReplicaRoutingDataSource) {
+			// The routing data source hands out lazy connections so warm up the pools
+			// that it routes to instead
+			ReplicaRoutingDataSource routingDataSource = (ReplicaRoutingDataSource) dataSource;
+			warmup.warmUp(routingDataSource.getTargetDataSource(), beanName);
+			for (ReplicaRoutingDataSource.Replica replica : routingDataSource
+					.getReplicas()) {
+				warmup.warmUp(replica.getDataSource(),
+						beanName + " (replica '" + replica.getName() + "')");
+			}
+		}
+		else {
+			warmup.warmUp(dataSource, beanName);
+		}
+	}
+
+	private DataSourceWarmup getWarmup() {
+		if (this.warmup == null) {
+			DataSourceProperties properties = getDataSourceProperties();
+			if (properties == null) {
+				return null;
+			}
+			DataSourcePoolMetadataProviders metadataProviders = new DataSourcePoolMetadataProviders(
+					this.beanFactory.getBeansOfType(DataSourcePoolMetadataProvider.class)
+							.values());
+			this.warmup = new DataSourceWarmup(properties.getWarmup(), metadataProviders);
+		}
+		return this.warmup;
+	}
+
+	private DataSourceProperties getDataSourceProperties() {
+		try {
+			return this.beanFactory.getBean(DataSourceProperties.class);
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			logger.debug("Skipping DataSource warm-up as no unique DataSourceProperties "
+					+ "bean could be found", ex);
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link DataSource} that sends the connections of read-only transactions (for
+ * instance {@link Transactional#readOnly() @Transactional(readOnly = true)}) to a set of
+ * replicas and every other connection to the primary {@link DataSource}, which is its
+ * {@link #getTargetDataSource() target}. Connections are fetched lazily so that the
+ * transaction is known to be read-only by the time a data source has to be chosen.
+ * <p>
+ * Replicas are validated periodically and are taken out of rotation while they cannot
+ * be reached. A replica is also taken out of rotation when a connection to it cannot be
+ * established, but not when its pool fails to provide one in time. An unavailable
+ * replica is tried again by a read-only transaction once the retry interval has elapsed
+ * so that it can come back even if health checks are disabled. If no replica is
+ * available, read-only transactions use the primary.
+ *
+ * @since 1.5.10
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+	private static final Log logger = LogFactory.getLog(ReplicaRoutingDataSource.class);
+
+	private final List<Replica> replicas;
+
+	private final Random random = new Random();
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	private Balancing balancing = Balancing.LEAST_CONNECTIONS;
+
+	private long healthCheckInterval = 10000;
+
+	private int validationTimeout = 5;
+
+	private long retryInterval = 30000;
+
+	private LazyConnectionDataSourceProxy lazyDataSource;
+
+	private ScheduledExecutorService healthCheckExecutor;
+
+	/**
+	 * Create a new {@link ReplicaRoutingDataSource} instance.
+	 * @param primary the primary data source
+	 * @param replicas the replica data sources keyed by name
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+		super(primary);
+		Assert.notEmpty(replicas, "Replicas must not be empty");
+		List<Replica> list = new ArrayList<Replica>();
+		for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+			list.add(new Replica(entry.getKey(), entry.getValue()));
+		}
+		this.replicas = Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Set how read-only connections are balanced amongst the available replicas.
+	 * @param balancing the balancing strategy
+	 */
+	public void setBalancing(Balancing balancing) {
+		Assert.notNull(balancing, "Balancing must not be null");
+		this.balancing = balancing;
+	}
+
+	/**
+	 * Set the interval in milliseconds between replica health checks, or {@code 0} to
+	 * disable them.
+	 * @param healthCheckInterval the health check interval
+	 */
+	public void setHealthCheckInterval(long healthCheckInterval) {
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	/**
+	 * Set the timeout in seconds to wait for a replica connection to be validated.
+	 * @param validationTimeout the validation timeout
+	 */
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+	/**
+	 * Set the time in milliseconds after which an unavailable replica is tried again by a
+	 * read-only transaction, regardless of health checks.
+	 * @param retryInterval the retry interval
+	 */
+	public void setRetryInterval(long retryInterval) {
+		this.retryInterval = retryInterval;
+	}
+
+	/**
+	 * Return the replicas.
+	 * @return the replicas
+	 */
+	public List<Replica> getReplicas() {
+		return this.replicas;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		this.lazyDataSource = new LazyConnectionDataSourceProxy(new RoutingDataSource());
+		if (this.healthCheckInterval > 0) {
+			this.healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(
+					createHealthCheckThreadFactory());
+			this.healthCheckExecutor.scheduleWithFixedDelay(new Runnable() {
+
+				@Override
+				public void run() {
+					checkHealth();
+				}
+
+			}, 0, this.healthCheckInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private CustomizableThreadFactory createHealthCheckThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"datasource-replica-health-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getLazyDataSource().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password)
+			throws SQLException {
+		return getLazyDataSource().getConnection(username, password);
+	}
+
+	private DataSource getLazyDataSource() {
+		Assert.state(this.lazyDataSource != null,
+				"ReplicaRoutingDataSource has not been initialized");
+		return this.lazyDataSource;
+	}
+
+	/**
+	 * Validate a connection of each replica, updating its availability and latency. The
+	 * latency is the time taken by the validation round trip, excluding the time spent
+	 * waiting for the pool of the replica. As when routing, a replica is only taken out
+	 * of rotation if a valid connection cannot be established, not if its pool is
+	 * exhausted.
+	 */
+	public void checkHealth() {
+		for (Replica replica : this.replicas) {
+			Connection connection = null;
+			try {
+				connection = replica.getDataSource().getConnection();
+				long start = System.nanoTime();
+				if (!connection.isValid(this.validationTimeout)) {
+					throw new SQLNonTransientConnectionException(
+							"Connection is not valid");
+				}
+				replica.recordLatency(System.nanoTime() - start);
+				replica.markAvailable();
+			}
+			catch (SQLException ex) {
+				if (isConnectionFailure(ex)) {
+					replica.markUnavailable(ex, this.retryInterval);
+				}
+				else if (logger.isDebugEnabled()) {
+					logger.debug("Skipped health check of DataSource replica '"
+							+ replica.getName() + "'", ex);
+				}
+			}
+			catch (RuntimeException ex) {
+				// Keep the scheduled health checks running
+				logger.warn("Health check of DataSource replica '" + replica.getName()
+						+ "' failed", ex);
+			}
+			finally {
+				JdbcUtils.closeConnection(connection);
+			}
+		}
+	}
+
+	/**
+	 * Stop the health checks and close the primary and replica data sources if they
+	 * provide a {@code close} method.
+	 */
+	public void close() {
+		if (this.healthCheckExecutor != null) {
+			this.healthCheckExecutor.shutdownNow();
+		}
+		for (Replica replica : this.replicas) {
+			closeDataSource(replica.getDataSource());
+		}
+		closeDataSource(getTargetDataSource());
+	}
+
+	private void closeDataSource(DataSource dataSource) {
+		Method close = ReflectionUtils.findMethod(dataSource.getClass(), "close");
+		if (close != null) {
+			try {
+				ReflectionUtils.invokeMethod(close, dataSource);
+			}
+			catch (Exception ex) {
+				logger.warn("Failed to close DataSource " + dataSource, ex);
+			}
+		}
+	}
+
+	private Connection getReadOnlyConnection() throws SQLException {
+		Replica replica = selectReplica();
+		while (replica != null) {
+			try {
+				Connection connection = replica.getDataSource().getConnection();
+				replica.markAvailable();
+				return replica.track(connection);
+			}
+			catch (SQLException ex) {
+				if (!isConnectionFailure(ex)) {
+					// The replica is reachable but its pool is exhausted or timed out
+					throw ex;
+				}
+				replica.markUnavailable(ex, this.retryInterval);
+				replica = selectReplica();
+			}
+		}
+		return getTargetDataSource().getConnection();
+	}
+
+	private boolean isConnectionFailure(SQLException ex) {
+		// SQL state class 08 is used for connection exceptions
+		String sqlState = ex.getSQLState();
+		return (ex instanceof SQLNonTransientConnectionException
+				|| (sqlState != null && sqlState.startsWith("08")));
+	}
+
+	private Replica selectReplica() {
+		List<Replica> candidates = new ArrayList<Replica>(this.replicas.size());
+		for (Replica replica : this.replicas) {
+			if (replica.isHealthy()) {
+				candidates.add(replica);
+			}
+			else if (replica.claimRetry(this.retryInterval)) {
+				return replica;
+			}
+		}
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		if (this.balancing == Balancing.LATENCY_WEIGHTED) {
+			return selectByLatency(candidates);
+		}
+		return selectByConnections(candidates);
+	}
+
+	private Replica selectByConnections(List<Replica> candidates) {
+		// Start from a rotating position so that ties are spread evenly
+		int start = (this.nextReplica.getAndIncrement() & Integer.MAX_VALUE)
+				% candidates.size();
+		Replica selected = null;
+		for (int i = 0; i < candidates.size(); i++) {
+			Replica candidate = candidates.get((start + i) % candidates.size());
+			if (selected == null || candidate.getActiveConnections() < selected
+					.getActiveConnections()) {
+				selected = candidate;
+			}
+		}
+		return selected;
+	}
+
+	private Replica selectByLatency(List<Replica> candidates) {
+		double[] weights = new double[candidates.size()];
+		double total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = candidates.get(i).getWeight();
+			total += weights[i];
+		}
+		double value = this.random.nextDouble() * total;
+		for (int i = 0; i < weights.length; i++) {
+			value -= weights[i];
+			if (value < 0) {
+				return candidates.get(i);
+			}
+		}
+		return candidates.get(candidates.size() - 1);
+	}
+
+	/**
+	 * Strategies used to balance read-only connections amongst replicas.
+	 */
+	public enum Balancing {
+
+		/**
+		 * Use the replica with the fewest connections in use.
+		 */
+		LEAST_CONNECTIONS,
+
+		/**
+		 * Pick a replica at random, favoring replicas that respond faster.
+		 */
+		LATENCY_WEIGHTED
+
+	}
+
+	/**
+	 * A replica and its state.
+	 */
+	public static final class Replica {
+
+		private static final long MIN_LATENCY = TimeUnit.MICROSECONDS.toNanos(100);
+
+		private final String name;
+
+		private final DataSource dataSource;
+
+		private final AtomicInteger activeConnections = new AtomicInteger();
+
+		private volatile boolean healthy = true;
+
+		private volatile long latency;
+
+		private final AtomicLong nextRetry = new AtomicLong();
+
+		Replica(String name, DataSource dataSource) {
+			Assert.notNull(dataSource, "DataSource must not be null");
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		/**
+		 * Return the name of the replica.
+		 * @return the name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the data source of the replica.
+		 * @return the data source
+		 */
+		public DataSource getDataSource() {
+			return this.dataSource;
+		}
+
+		/**
+		 * Return whether the replica is in rotation.
+		 * @return whether the replica is healthy
+		 */
+		public boolean isHealthy() {
+			return this.healthy;
+		}
+
+		/**
+		 * Return the number of connections of the replica that are in use.
+		 * @return the number of active connections
+		 */
+		public int getActiveConnections() {
+			return this.activeConnections.get();
+		}
+
+		/**
+		 * Return the moving average of the time taken to validate a connection of the
+		 * replica during health checks, in milliseconds.
+		 * @return the latency or {@code 0} if no health check has completed
+		 */
+		public double getLatency() {
+			return this.latency / 1000000.0;
+		}
+
+		double getWeight() {
+			return 1.0 / Math.max(this.latency, MIN_LATENCY);
+		}
+
+		void recordLatency(long nanos) {
+			long previous = this.latency;
+			// Exponentially weighted so that the latency follows recent conditions
+			this.latency = (previous == 0 ? nanos : (previous * 4 + nanos) / 5);
+		}
+
+		void markAvailable() {
+			if (!this.healthy) {
+				logger.info("DataSource replica '" + this.name + "' is available again");
+			}
+			this.healthy = true;
+		}
+
+		void markUnavailable(Exception ex, long retryInterval) {
+			if (this.healthy) {
+				logger.warn("DataSource replica '" + this.name
+						+ "' is unavailable, routing to other data sources", ex);
+			}
+			this.nextRetry.set(System.currentTimeMillis() + retryInterval);
+			this.healthy = false;
+		}
+
+		boolean claimRetry(long retryInterval) {
+			long now = System.currentTimeMillis();
+			long nextRetry = this.nextRetry.get();
+			// Only one caller tries the replica again per interval
+			return (now >= nextRetry
+					&& this.nextRetry.compareAndSet(nextRetry, now + retryInterval));
+		}
+
+		Connection track(Connection connection) {
+			this.activeConnections.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(
+					ReplicaRoutingDataSource.class.getClassLoader(),
+					new Class<?>[] { Connection.class },
+					new TrackingInvocationHandler(connection));
+		}
+
+		/**
+		 * Decrements the count of active connections once a connection is closed.
+		 */
+		private class TrackingInvocationHandler implements InvocationHandler {
+
+			private final Connection target;
+
+			private final AtomicBoolean closed = new AtomicBoolean();
+
+			TrackingInvocationHandler(Connection target) {
+				this.target = target;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+				String name = method.getName();
+				if (name.equals("equals")) {
+					return (proxy == args[0]);
+				}
+				if (name.equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				}
+				if (name.equals("close") && this.closed.compareAndSet(false, true)) {
+					Replica.this.activeConnections.decrementAndGet();
+				}
+				try {
+					return method.invoke(this.target, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+
+		}
+
+	}
+
+	/**
+	 * Chooses the data source of each connection once it is actually needed.
+	 */
+	private class RoutingDataSource extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+				return getReadOnlyConnection();
+			}
+			return getTargetDataSource().getConnection();
+		}
+
+		@Override
+		public Connection getConnection(String username, String password)
+				throws SQLException {
+			// Replicas are configured with their own credentials
+			return getTargetDataSource().getConnection(username, password);
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link BeanPostProcessor} that routes the read-only transactions of the
+ * auto-configured {@link DataSource} to the configured replicas by wrapping it in a
+ * {@link ReplicaRoutingDataSource}. A data source defined by the user is left untouched.
+ *
+ * @since 1.5.10
+ * @see DataSourceProperties#getReplicas()
+ */
+class ReplicaRoutingDataSourcePostProcessor
+		implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+	}
+
+	@Override
+	public int getOrder() {
+		// Run before the DataSourceWarmupPostProcessor so that the primary is warmed up
+		// through the routing data source
+		return Ordered.LOWEST_PRECEDENCE - 10;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName)
+			throws BeansException {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		if (bean instanceof DataSource && !(bean instanceof ReplicaRoutingDataSource)
+				&& DataSourceAutoConfiguration
+						.isAutoConfiguredDataSource(this.beanFactory, beanName)) {
+			return createRoutingDataSource((DataSource) bean);
+		}
+		return bean;
+	}
+
+	private ReplicaRoutingDataSource createRoutingDataSource(DataSource primary) {
+		DataSourceProperties properties = this.beanFactory
+				.getBean(DataSourceProperties.class);
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary,
+				createReplicas(properties));
+		DataSourceProperties.ReplicaRouting routing = properties.getReplicaRouting();
+		routingDataSource.setBalancing(routing.getBalancing());
+		routingDataSource.setHealthCheckInterval(routing.getHealthCheckInterval());
+		routingDataSource.setValidationTimeout(routing.getValidationTimeout());
+		routingDataSource.setRetryInterval(routing.getRetryInterval());
+		routingDataSource.afterPropertiesSet();
+		return routingDataSource;
+	}
+
+	private Map<String, DataSource> createReplicas(DataSourceProperties properties) {
+		List<DataSourceProperties.Replica> replicas = properties.getReplicas();
+		Map<String, DataSource> dataSources = new LinkedHashMap<String, DataSource>();
+		for (int i = 0; i < replicas.size(); i++) {
+			DataSourceProperties.Replica replica = replicas.get(i);
+			String name = (StringUtils.hasText(replica.getName()) ? replica.getName()
+					: "replica" + i);
+			String username = (replica.getUsername() != null ? replica.getUsername()
+					: properties.determineUsername());
+			String password = (replica.getPassword() != null ? replica.getPassword()
+					: properties.determinePassword());
+			DataSourceBuilder builder = DataSourceBuilder
+					.create(properties.getClassLoader()).type(properties.getType())
+					.url(replica.getUrl()).username(username).password(password);
+			// Otherwise the driver is deduced from the url of the replica
+			if (StringUtils.hasText(properties.getDriverClassName())) {
+				builder.driverClassName(properties.getDriverClassName());
+			}
+			dataSources.put(name, builder.build());
+		}
+		return dataSources;
+	}
+
+}
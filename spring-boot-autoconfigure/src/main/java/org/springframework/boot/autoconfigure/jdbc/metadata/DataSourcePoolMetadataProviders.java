@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,9 +23,12 @@ import java.util.List;
 
 import javax.sql.DataSource;
 
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
 /**
  * A {@link DataSourcePoolMetadataProvider} implementation that returns the first
- * {@link DataSourcePoolMetadata} that is found by one of its delegate.
+ * {@link DataSourcePoolMetadata} that is found by one of its delegate. The target of a
+ * {@link DelegatingDataSource} is inspected if the data source itself is not supported.
  *
  * @author Stephane Nicoll
  * @since 1.2.0
@@ -55,6 +58,10 @@ public class DataSourcePoolMetadataProviders implements DataSourcePoolMetadataPr
 				return metadata;
 			}
 		}
+		if (dataSource instanceof DelegatingDataSource) {
+			DataSource target = ((DelegatingDataSource) dataSource).getTargetDataSource();
+			return (target != null ? getDataSourcePoolMetadata(target) : null);
+		}
 		return null;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -108,6 +108,9 @@ public final class DefaultJmsListenerContainerFactoryConfigurer {
 		if (concurrency != null) {
 			factory.setConcurrency(concurrency);
 		}
+		if (listener.getMaxMessagesPerTask() != null) {
+			factory.setMaxMessagesPerTask(listener.getMaxMessagesPerTask());
+		}
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -90,6 +90,13 @@ public class JmsProperties {
 		 */
 		private Integer maxConcurrency;
 
+		/**
+		 * Maximum number of messages processed by a consumer before it is rescheduled.
+		 * Allows idle consumers to be stopped when max-concurrency is higher than
+		 * concurrency.
+		 */
+		private Integer maxMessagesPerTask;
+
 		public boolean isAutoStartup() {
 			return this.autoStartup;
 		}
@@ -122,6 +129,14 @@ public class JmsProperties {
 			this.maxConcurrency = maxConcurrency;
 		}
 
+		public Integer getMaxMessagesPerTask() {
+			return this.maxMessagesPerTask;
+		}
+
+		public void setMaxMessagesPerTask(Integer maxMessagesPerTask) {
+			this.maxMessagesPerTask = maxMessagesPerTask;
+		}
+
 		public String formatConcurrency() {
 			if (this.concurrency == null) {
 				return (this.maxConcurrency != null ? "1-" + this.maxConcurrency : null);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -68,6 +68,8 @@ public class ConcurrentKafkaListenerContainerFactoryConfigurer {
 		if (container.getConcurrency() != null) {
 			listenerContainerFactory.setConcurrency(container.getConcurrency());
 		}
+		listenerContainerFactory
+				.setBatchListener(container.getType() == Listener.Type.BATCH);
 	}
 
 }
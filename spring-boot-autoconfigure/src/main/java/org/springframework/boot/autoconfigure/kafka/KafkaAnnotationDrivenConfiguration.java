@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,11 +54,21 @@ class KafkaAnnotationDrivenConfiguration {
 	public ConcurrentKafkaListenerContainerFactory<?, ?> kafkaListenerContainerFactory(
 			ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
 			ConsumerFactory<Object, Object> kafkaConsumerFactory) {
-		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = createListenerContainerFactory();
 		configurer.configure(factory, kafkaConsumerFactory);
 		return factory;
 	}
 
+	private ConcurrentKafkaListenerContainerFactory<Object, Object> createListenerContainerFactory() {
+		Integer partitionParallelism = this.properties.getListener()
+				.getPartitionParallelism();
+		if (partitionParallelism != null && partitionParallelism > 1) {
+			return new PartitionParallelKafkaListenerContainerFactory(
+					partitionParallelism);
+		}
+		return new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+	}
+
 	@EnableKafka
 	@ConditionalOnMissingBean(name = KafkaListenerConfigUtils.KAFKA_LISTENER_ANNOTATION_PROCESSOR_BEAN_NAME)
 	protected static class EnableKafkaConfiguration {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -261,6 +261,17 @@ public class KafkaProperties {
 		 */
 		private Integer maxPollRecords;
 
+		/**
+		 * Maximum amount of data in bytes the server should return for a fetch request.
+		 */
+		private Integer fetchMaxSize;
+
+		/**
+		 * Maximum amount of data in bytes per partition the server should return for a
+		 * fetch request.
+		 */
+		private Integer maxPartitionFetchSize;
+
 		public Ssl getSsl() {
 			return this.ssl;
 		}
@@ -361,6 +372,22 @@ public class KafkaProperties {
 			this.maxPollRecords = maxPollRecords;
 		}
 
+		public Integer getFetchMaxSize() {
+			return this.fetchMaxSize;
+		}
+
+		public void setFetchMaxSize(Integer fetchMaxSize) {
+			this.fetchMaxSize = fetchMaxSize;
+		}
+
+		public Integer getMaxPartitionFetchSize() {
+			return this.maxPartitionFetchSize;
+		}
+
+		public void setMaxPartitionFetchSize(Integer maxPartitionFetchSize) {
+			this.maxPartitionFetchSize = maxPartitionFetchSize;
+		}
+
 		public Map<String, Object> buildProperties() {
 			Map<String, Object> properties = new HashMap<String, Object>();
 			if (this.autoCommitInterval != null) {
@@ -428,6 +455,13 @@ public class KafkaProperties {
 				properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
 						this.maxPollRecords);
 			}
+			if (this.fetchMaxSize != null) {
+				properties.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, this.fetchMaxSize);
+			}
+			if (this.maxPartitionFetchSize != null) {
+				properties.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG,
+						this.maxPartitionFetchSize);
+			}
 			return properties;
 		}
 
@@ -638,6 +672,32 @@ public class KafkaProperties {
 
 	public static class Listener {
 
+		public enum Type {
+
+			/**
+			 * Invoke the endpoint with one ConsumerRecord at a time.
+			 */
+			SINGLE,
+
+			/**
+			 * Invoke the endpoint with a batch of ConsumerRecords.
+			 */
+			BATCH
+
+		}
+
+		/**
+		 * Listener type.
+		 */
+		private Type type = Type.SINGLE;
+
+		/**
+		 * Maximum number of partitions of a batch that a consumer processes
+		 * concurrently. Records of the same partition are always processed in order.
+		 * Only applies to batch listeners that do not acknowledge manually.
+		 */
+		private Integer partitionParallelism;
+
 		/**
 		 * Listener AckMode; see the spring-kafka documentation.
 		 */
@@ -665,6 +725,22 @@ public class KafkaProperties {
 		 */
 		private Long ackTime;
 
+		public Type getType() {
+			return this.type;
+		}
+
+		public void setType(Type type) {
+			this.type = type;
+		}
+
+		public Integer getPartitionParallelism() {
+			return this.partitionParallelism;
+		}
+
+		public void setPartitionParallelism(Integer partitionParallelism) {
+			this.partitionParallelism = partitionParallelism;
+		}
+
 		public AckMode getAckMode() {
 			return this.ackMode;
 		}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.kafka;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import org.springframework.kafka.listener.AbstractMessageListenerContainer.AckMode;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link InvocationHandler} for a {@link BatchMessageListener} or
+ * {@link BatchAcknowledgingMessageListener} that splits each batch by partition and
+ * processes up to a configurable number of partitions concurrently. Records of a
+ * partition are passed to the listener in order and the batch only completes once every
+ * partition has been processed so that offsets are committed as usual. With a
+ * {@link AckMode#MANUAL MANUAL} or {@link AckMode#MANUAL_IMMEDIATE MANUAL_IMMEDIATE} ack
+ * mode, acknowledging batches are passed through as the listener acknowledges the batch
+ * as a whole. Every other method is passed through to the listener.
+ *
+ * @since 1.5.10
+ */
+class PartitionParallelBatchListener implements InvocationHandler {
+
+	private final Object listener;
+
+	private final int parallelism;
+
+	private final ExecutorService executor;
+
+	private final boolean manualAck;
+
+	private PartitionParallelBatchListener(Object listener, int parallelism,
+			ExecutorService executor, boolean manualAck) {
+		this.listener = listener;
+		this.parallelism = parallelism;
+		this.executor = executor;
+		this.manualAck = manualAck;
+	}
+
+	/**
+	 * Wrap the specified listener if it is a {@link BatchMessageListener} or a
+	 * {@link BatchAcknowledgingMessageListener}.
+	 * @param listener the listener
+	 * @param parallelism the maximum number of partitions to process concurrently
+	 * @param executor the executor used to process partitions
+	 * @param ackMode the ack mode of the container
+	 * @return the listener to use
+	 */
+	static Object wrap(Object listener, int parallelism, ExecutorService executor,
+			AckMode ackMode) {
+		if (!(listener instanceof BatchMessageListener
+				|| listener instanceof BatchAcknowledgingMessageListener)
+				|| parallelism < 2) {
+			return listener;
+		}
+		boolean manualAck = (ackMode == AckMode.MANUAL
+				|| ackMode == AckMode.MANUAL_IMMEDIATE);
+		// Expose every interface so that the container detects the same capabilities
+		return Proxy.newProxyInstance(listener.getClass().getClassLoader(),
+				ClassUtils.getAllInterfaces(listener), new PartitionParallelBatchListener(
+						listener, parallelism, executor, manualAck));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (isBatch(method, args)) {
+			onMessage(method, args, (List<ConsumerRecord<Object, Object>>) args[0]);
+			return null;
+		}
+		try {
+			return method.invoke(this.listener, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	private boolean isBatch(Method method, Object[] args) {
+		if (!method.getName().equals("onMessage") || args == null
+				|| !(args[0] instanceof List)) {
+			return false;
+		}
+		if (args.length == 1) {
+			return true;
+		}
+		// A manual acknowledgment covers the whole batch so it can't be split
+		return (args.length == 2 && !this.manualAck
+				&& Acknowledgment.class.equals(method.getParameterTypes()[1]));
+	}
+
+	private void onMessage(Method method, Object[] args,
+			List<ConsumerRecord<Object, Object>> records) throws Throwable {
+		List<List<ConsumerRecord<Object, Object>>> partitions = groupByPartition(
+				records);
+		if (partitions.size() < 2) {
+			ReflectionUtils.invokeMethod(method, this.listener, args);
+			return;
+		}
+		List<List<List<ConsumerRecord<Object, Object>>>> groups = distribute(partitions);
+		List<Future<?>> futures = new ArrayList<Future<?>>(groups.size() - 1);
+		for (int i = 1; i < groups.size(); i++) {
+			futures.add(this.executor.submit(
+					new PartitionTask(this.listener, method, args, groups.get(i))));
+		}
+		Throwable failure = null;
+		try {
+			new PartitionTask(this.listener, method, args, groups.get(0)).run();
+		}
+		catch (RuntimeException ex) {
+			failure = ex;
+		}
+		// Wait for every partition so that no record is processed after the batch
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException ex) {
+				failure = (failure != null ? failure : ex.getCause());
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				failure = (failure != null ? failure : ex);
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private List<List<ConsumerRecord<Object, Object>>> groupByPartition(
+			List<ConsumerRecord<Object, Object>> records) {
+		Map<TopicPartition, List<ConsumerRecord<Object, Object>>> partitions = new LinkedHashMap<TopicPartition, List<ConsumerRecord<Object, Object>>>();
+		for (ConsumerRecord<Object, Object> record : records) {
+			TopicPartition partition = new TopicPartition(record.topic(),
+					record.partition());
+			List<ConsumerRecord<Object, Object>> partitionRecords = partitions
+					.get(partition);
+			if (partitionRecords == null) {
+				partitionRecords = new ArrayList<ConsumerRecord<Object, Object>>();
+				partitions.put(partition, partitionRecords);
+			}
+			partitionRecords.add(record);
+		}
+		return new ArrayList<List<ConsumerRecord<Object, Object>>>(partitions.values());
+	}
+
+	private List<List<List<ConsumerRecord<Object, Object>>>> distribute(
+			List<List<ConsumerRecord<Object, Object>>> partitions) {
+		int size = Math.min(this.parallelism, partitions.size());
+		List<List<List<ConsumerRecord<Object, Object>>>> groups = new ArrayList<List<List<ConsumerRecord<Object, Object>>>>(
+				size);
+		for (int i = 0; i < size; i++) {
+			groups.add(new ArrayList<List<ConsumerRecord<Object, Object>>>());
+		}
+		for (int i = 0; i < partitions.size(); i++) {
+			groups.get(i % size).add(partitions.get(i));
+		}
+		return groups;
+	}
+
+	/**
+	 * Passes the records of a group of partitions to the listener, one partition at a
+	 * time, using the {@code onMessage} variant that the container invoked.
+	 */
+	private static class PartitionTask implements Runnable {
+
+		private final Object listener;
+
+		private final Method method;
+
+		private final Object[] args;
+
+		private final List<List<ConsumerRecord<Object, Object>>> partitions;
+
+		PartitionTask(Object listener, Method method, Object[] args,
+				List<List<ConsumerRecord<Object, Object>>> partitions) {
+			this.listener = listener;
+			this.method = method;
+			this.args = args;
+			this.partitions = partitions;
+		}
+
+		@Override
+		public void run() {
+			for (List<ConsumerRecord<Object, Object>> records : this.partitions) {
+				Object[] args = this.args.clone();
+				args[0] = records;
+				ReflectionUtils.invokeMethod(this.method, this.listener, args);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.kafka;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpoint;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link ConcurrentKafkaListenerContainerFactory} that lets batch listeners process the
+ * partitions of a batch concurrently.
+ *
+ * @since 1.5.10
+ * @see PartitionParallelBatchListener
+ */
+class PartitionParallelKafkaListenerContainerFactory
+		extends ConcurrentKafkaListenerContainerFactory<Object, Object>
+		implements DisposableBean {
+
+	private final int partitionParallelism;
+
+	private final ExecutorService executor;
+
+	PartitionParallelKafkaListenerContainerFactory(int partitionParallelism) {
+		this.partitionParallelism = partitionParallelism;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"kafka-partition-");
+		threadFactory.setDaemon(true);
+		// Threads are reused across batches and bounded by the number of partitions
+		// that are processed concurrently
+		this.executor = Executors.newCachedThreadPool(threadFactory);
+	}
+
+	@Override
+	public ConcurrentMessageListenerContainer<Object, Object> createListenerContainer(
+			KafkaListenerEndpoint endpoint) {
+		ConcurrentMessageListenerContainer<Object, Object> container = super.createListenerContainer(
+				endpoint);
+		Object listener = container.getContainerProperties().getMessageListener();
+		Object wrapped = PartitionParallelBatchListener.wrap(listener,
+				this.partitionParallelism, this.executor,
+				container.getContainerProperties().getAckMode());
+		if (wrapped != listener) {
+			container.setupMessageListener(wrapped);
+		}
+		return container;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
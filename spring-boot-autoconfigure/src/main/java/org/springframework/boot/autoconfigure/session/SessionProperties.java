@@ -164,6 +164,12 @@ public class SessionProperties {
 			 */
 			private Boolean enabled;
 
+			/**
+			 * Number of consecutive DML statements of the schema script to send in a
+			 * single JDBC batch. Set to 0 to execute statements one at a time.
+			 */
+			private int batchSize;
+
 			public boolean isEnabled() {
 				if (this.enabled != null) {
 					return this.enabled;
@@ -179,6 +185,14 @@ public class SessionProperties {
 				this.enabled = enabled;
 			}
 
+			public int getBatchSize() {
+				return this.batchSize;
+			}
+
+			public void setBatchSize(int batchSize) {
+				this.batchSize = batchSize;
+			}
+
 		}
 
 	}
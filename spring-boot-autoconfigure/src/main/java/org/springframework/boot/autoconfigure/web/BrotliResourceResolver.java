@@ -0,0 +1,189 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.GzipResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * A {@code ResourceResolver} that resolves Brotli compressed variants of resources,
+ * following the same conventions as {@link GzipResourceResolver}. A resource with the
+ * "*.br" extension is returned in place of the original when the client's
+ * {@code Accept-Encoding} header lists the "br" content coding with a non-zero quality.
+ * Should be registered ahead of any {@link GzipResourceResolver} so that the smaller
+ * Brotli variant is preferred.
+ */
+class BrotliResourceResolver extends AbstractResourceResolver {
+
+	@Override
+	protected Resource resolveResourceInternal(HttpServletRequest request,
+			String requestPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || (request != null && !isBrotliAccepted(request))) {
+			return resource;
+		}
+		try {
+			Resource compressed = new BrotliResource(resource);
+			if (compressed.exists()) {
+				return compressed;
+			}
+		}
+		catch (IOException ex) {
+			this.logger.trace(
+					"No brotli resource for [" + resource.getFilename() + "]", ex);
+		}
+		return resource;
+	}
+
+	private boolean isBrotliAccepted(HttpServletRequest request) {
+		String value = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (value == null) {
+			return false;
+		}
+		for (String coding : StringUtils.tokenizeToStringArray(value, ",")) {
+			String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+			if (parts.length > 0 && "br".equalsIgnoreCase(parts[0])) {
+				return getQuality(parts) > 0;
+			}
+		}
+		return false;
+	}
+
+	private double getQuality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			if (parts[i].startsWith("q=")) {
+				try {
+					return Double.parseDouble(parts[i].substring(2));
+				}
+				catch (NumberFormatException ex) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+	/**
+	 * A Brotli compressed {@link HttpResource}.
+	 */
+	static final class BrotliResource extends AbstractResource implements HttpResource {
+
+		private final Resource original;
+
+		private final Resource compressed;
+
+		BrotliResource(Resource original) throws IOException {
+			this.original = original;
+			this.compressed = original.createRelative(original.getFilename() + ".br");
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.compressed.getInputStream();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.compressed.exists();
+		}
+
+		@Override
+		public boolean isReadable() {
+			return this.compressed.isReadable();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return this.compressed.isOpen();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.compressed.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.compressed.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.compressed.getFile();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.compressed.contentLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.compressed.lastModified();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.compressed.createRelative(relativePath);
+		}
+
+		@Override
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.compressed.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers = (this.original instanceof HttpResource
+					? ((HttpResource) this.original).getResponseHeaders()
+					: new HttpHeaders());
+			// The original may already be a gzip variant so replace rather than add
+			headers.set(HttpHeaders.CONTENT_ENCODING, "br");
+			headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			return headers;
+		}
+
+	}
+
+}
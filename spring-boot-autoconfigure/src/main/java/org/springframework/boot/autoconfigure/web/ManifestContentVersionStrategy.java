@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+
+/**
+ * {@link ContentVersionStrategy} that avoids recalculating content hashes. Versions are
+ * read from an optional manifest that maps resource paths (relative to a static
+ * location, for example {@code css/site.css}) to their hash, usually generated as part
+ * of the build. A resource is only matched against the manifest when it lies beneath
+ * one of the given locations. Resources that are not listed are hashed on first use and
+ * the result is remembered until the resource is modified.
+ */
+class ManifestContentVersionStrategy extends ContentVersionStrategy {
+
+	private final Map<String, String> manifest;
+
+	private final List<String> locations;
+
+	private final Map<Resource, Version> versions = new ConcurrentReferenceHashMap<Resource, Version>();
+
+	ManifestContentVersionStrategy(Resource manifest, List<Resource> locations) {
+		this.manifest = loadManifest(manifest);
+		this.locations = getLocationPaths(locations);
+	}
+
+	private static Map<String, String> loadManifest(Resource manifest) {
+		if (manifest == null || !manifest.exists()) {
+			return Collections.emptyMap();
+		}
+		try {
+			Properties properties = PropertiesLoaderUtils.loadProperties(manifest);
+			Map<String, String> versions = new HashMap<String, String>();
+			for (String name : properties.stringPropertyNames()) {
+				String path = (name.startsWith("/") ? name.substring(1) : name);
+				versions.put(path, properties.getProperty(name).trim());
+			}
+			return versions;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(
+					"Unable to load resource version manifest from " + manifest, ex);
+		}
+	}
+
+	private static List<String> getLocationPaths(List<Resource> locations) {
+		List<String> paths = new ArrayList<String>();
+		for (Resource location : locations) {
+			try {
+				String path = location.getURL().getPath();
+				paths.add(path.endsWith("/") ? path : path + "/");
+			}
+			catch (IOException ex) {
+				// Location does not exist so no resource can be beneath it
+			}
+		}
+		return paths;
+	}
+
+	@Override
+	public String getResourceVersion(Resource resource) {
+		String version = getManifestVersion(resource);
+		if (version != null) {
+			return version;
+		}
+		long lastModified = getLastModified(resource);
+		Version cached = this.versions.get(resource);
+		if (cached != null && lastModified != -1 && cached.lastModified == lastModified) {
+			return cached.value;
+		}
+		version = super.getResourceVersion(resource);
+		if (lastModified != -1) {
+			this.versions.put(resource, new Version(lastModified, version));
+		}
+		return version;
+	}
+
+	private String getManifestVersion(Resource resource) {
+		if (this.manifest.isEmpty()) {
+			return null;
+		}
+		String path;
+		try {
+			path = resource.getURL().getPath();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		for (String location : this.locations) {
+			if (path.startsWith(location)) {
+				String version = this.manifest.get(path.substring(location.length()));
+				if (version != null) {
+					return version;
+				}
+			}
+		}
+		return null;
+	}
+
+	private long getLastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	private static final class Version {
+
+		private final long lastModified;
+
+		private final String value;
+
+		Version(long lastModified, String value) {
+			this.lastModified = lastModified;
+			this.value = value;
+		}
+
+	}
+
+}
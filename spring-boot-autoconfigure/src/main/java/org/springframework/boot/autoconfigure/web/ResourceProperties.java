@@ -185,6 +185,13 @@ public class ResourceProperties implements ResourceLoaderAware {
 		 */
 		private boolean gzipped = false;
 
+		/**
+		 * Enable resolution of already Brotli compressed resources. Checks for a
+		 * resource name variant with the "*.br" extension and takes precedence over
+		 * gzipped resources for clients that accept both.
+		 */
+		private boolean brotli = false;
+
 		@NestedConfigurationProperty
 		private final Strategy strategy = new Strategy();
 
@@ -231,6 +238,14 @@ public class ResourceProperties implements ResourceLoaderAware {
 			this.gzipped = gzipped;
 		}
 
+		public boolean isBrotli() {
+			return this.brotli;
+		}
+
+		public void setBrotli(boolean brotli) {
+			this.brotli = brotli;
+		}
+
 		static Boolean getEnabled(boolean fixedEnabled, boolean contentEnabled,
 				Boolean chainEnabled) {
 			return (fixedEnabled || contentEnabled ? Boolean.TRUE : chainEnabled);
@@ -274,6 +289,12 @@ public class ResourceProperties implements ResourceLoaderAware {
 		 */
 		private String[] paths = new String[] { "/**" };
 
+		/**
+		 * Location of a properties manifest mapping resource paths to precomputed
+		 * content hashes. Resources that are not listed are hashed on first use.
+		 */
+		private String manifest;
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -290,6 +311,14 @@ public class ResourceProperties implements ResourceLoaderAware {
 			this.paths = paths;
 		}
 
+		public String getManifest() {
+			return this.manifest;
+		}
+
+		public void setManifest(String manifest) {
+			this.manifest = manifest;
+		}
+
 	}
 
 	/**
@@ -51,16 +51,19 @@ import org.eclipse.jetty.server.handler.HandlerWrapper;
 
 import org.springframework.boot.autoconfigure.web.ServerProperties.Session.Cookie;
 import org.springframework.boot.cloud.CloudPlatform;
+import org.springframework.boot.context.embedded.AbstractConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizerBeanPostProcessor;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.Http2;
 import org.springframework.boot.context.embedded.InitParameterConfiguringServletContextInitializer;
 import org.springframework.boot.context.embedded.JspServlet;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.jetty.JettyServerCustomizer;
+import org.springframework.boot.context.embedded.tomcat.AsyncAccessLogValve;
 import org.springframework.boot.context.embedded.tomcat.TomcatConnectorCustomizer;
 import org.springframework.boot.context.embedded.tomcat.TomcatContextCustomizer;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
@@ -167,6 +170,9 @@ public class ServerProperties
 	@NestedConfigurationProperty
 	private Compression compression = new Compression();
 
+	@NestedConfigurationProperty
+	private Http2 http2 = new Http2();
+
 	@NestedConfigurationProperty
 	private JspServlet jspServlet;
 
@@ -224,6 +230,11 @@ public class ServerProperties
 		if (getCompression() != null) {
 			container.setCompression(getCompression());
 		}
+		if (getHttp2() != null
+				&& container instanceof AbstractConfigurableEmbeddedServletContainer) {
+			((AbstractConfigurableEmbeddedServletContainer) container)
+					.setHttp2(getHttp2());
+		}
 		container.setServerHeader(getServerHeader());
 		// 如果使用的是Tomcat内置Servlet容器，设置对应的Tomcat配置
 		if (container instanceof TomcatEmbeddedServletContainerFactory) {
@@ -434,6 +445,10 @@ public class ServerProperties
 		return this.compression;
 	}
 
+	public Http2 getHttp2() {
+		return this.http2;
+	}
+
 	public JspServlet getJspServlet() {
 		return this.jspServlet;
 	}
@@ -1015,7 +1030,7 @@ public class ServerProperties
 		}
 
 		private void customizeAccessLog(TomcatEmbeddedServletContainerFactory factory) {
-			AccessLogValve valve = new AccessLogValve();
+			AccessLogValve valve = createAccessLogValve();
 			valve.setPattern(this.accesslog.getPattern());
 			valve.setDirectory(this.accesslog.getDirectory());
 			valve.setPrefix(this.accesslog.getPrefix());
@@ -1029,6 +1044,15 @@ public class ServerProperties
 			factory.addEngineValves(valve);
 		}
 
+		private AccessLogValve createAccessLogValve() {
+			if (!this.accesslog.isAsync()) {
+				return new AccessLogValve();
+			}
+			AsyncAccessLogValve valve = new AsyncAccessLogValve();
+			valve.setQueueSize(this.accesslog.getAsyncQueueSize());
+			return valve;
+		}
+
 		private void customizeRedirectContextRoot(
 				TomcatEmbeddedServletContainerFactory factory,
 				final boolean redirectContextRoot) {
@@ -1096,6 +1120,18 @@ public class ServerProperties
 			 */
 			private boolean buffered = true;
 
+			/**
+			 * Write access log entries on a background thread. Entries that arrive when
+			 * the queue is full are dropped.
+			 */
+			private boolean async;
+
+			/**
+			 * Maximum number of access log entries waiting to be written when async is
+			 * enabled.
+			 */
+			private int asyncQueueSize = 8192;
+
 			public boolean isEnabled() {
 				return this.enabled;
 			}
@@ -1176,6 +1212,22 @@ public class ServerProperties
 				this.buffered = buffered;
 			}
 
+			public boolean isAsync() {
+				return this.async;
+			}
+
+			public void setAsync(boolean async) {
+				this.async = async;
+			}
+
+			public int getAsyncQueueSize() {
+				return this.asyncQueueSize;
+			}
+
+			public void setAsyncQueueSize(int asyncQueueSize) {
+				this.asyncQueueSize = asyncQueueSize;
+			}
+
 		}
 
 	}
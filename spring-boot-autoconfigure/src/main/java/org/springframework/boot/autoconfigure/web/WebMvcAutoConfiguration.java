@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -57,7 +58,9 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.core.Ordered;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.format.Formatter;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.DateFormatter;
@@ -500,6 +503,9 @@ public class WebMvcAutoConfiguration {
 		@Autowired
 		private ResourceProperties resourceProperties = new ResourceProperties();
 
+		@Autowired
+		private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
 		@Override
 		public void customize(ResourceHandlerRegistration registration) {
 			ResourceProperties.Chain properties = this.resourceProperties.getChain();
@@ -513,6 +519,9 @@ public class WebMvcAutoConfiguration {
 			if (strategy.getFixed().isEnabled() || strategy.getContent().isEnabled()) {
 				chain.addResolver(getVersionResourceResolver(strategy));
 			}
+			if (properties.isBrotli()) {
+				chain.addResolver(new BrotliResourceResolver());
+			}
 			if (properties.isGzipped()) {
 				chain.addResolver(new GzipResourceResolver());
 			}
@@ -531,11 +540,23 @@ public class WebMvcAutoConfiguration {
 			}
 			if (properties.getContent().isEnabled()) {
 				String[] paths = properties.getContent().getPaths();
-				resolver.addContentVersionStrategy(paths);
+				String manifest = properties.getContent().getManifest();
+				resolver.addVersionStrategy(new ManifestContentVersionStrategy(
+						manifest == null ? null
+								: this.resourceLoader.getResource(manifest),
+						getStaticLocations()), paths);
 			}
 			return resolver;
 		}
 
+		private List<Resource> getStaticLocations() {
+			List<Resource> locations = new ArrayList<Resource>();
+			for (String location : this.resourceProperties.getStaticLocations()) {
+				locations.add(this.resourceLoader.getResource(location));
+			}
+			return locations;
+		}
+
 	}
 
 	static final class WelcomePageHandlerMapping extends AbstractUrlHandlerMapping {
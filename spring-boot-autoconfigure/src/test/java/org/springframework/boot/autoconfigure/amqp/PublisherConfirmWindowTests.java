@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.amqp.AmqpException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PublisherConfirmWindow}.
+ */
+public class PublisherConfirmWindowTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void acquireTimesOutWhenWindowIsFull() {
+		PublisherConfirmWindow window = new PublisherConfirmWindow(2, 50);
+		window.acquire();
+		window.acquire();
+		assertThat(window.getOutstanding()).isEqualTo(2);
+		this.thrown.expect(AmqpException.class);
+		this.thrown.expectMessage("2 outstanding publisher confirms");
+		window.acquire();
+	}
+
+	@Test
+	public void confirmReleasesBlockedPublisher() throws Exception {
+		final PublisherConfirmWindow window = new PublisherConfirmWindow(1, 5000);
+		window.acquire();
+		final CountDownLatch acquired = new CountDownLatch(1);
+		Thread publisher = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				window.acquire();
+				acquired.countDown();
+			}
+
+		});
+		publisher.start();
+		assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+		window.confirmed(System.currentTimeMillis(), true);
+		assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(window.getOutstanding()).isEqualTo(1);
+	}
+
+	@Test
+	public void unboundedWindowOnlyTracksConfirms() {
+		PublisherConfirmWindow window = new PublisherConfirmWindow(0, 50);
+		for (int i = 0; i < 100; i++) {
+			window.acquire();
+		}
+		assertThat(window.getOutstanding()).isEqualTo(100);
+		window.confirmed(System.currentTimeMillis() - 20, false);
+		window.release(200);
+		assertThat(window.getOutstanding()).isEqualTo(0);
+		assertThat(window.getNacks()).isEqualTo(1);
+		assertThat(window.getLatency()).isGreaterThanOrEqualTo(20);
+	}
+
+}
@@ -35,11 +35,13 @@ import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFacto
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory.CacheMode;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.BatchingRabbitTemplate;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitMessagingTemplate;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.support.CorrelationData;
 import org.springframework.amqp.rabbit.support.ValueExpression;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.DirectFieldAccessor;
@@ -217,6 +219,62 @@ public class RabbitAutoConfigurationTests {
 		assertThat(getMandatory(rabbitTemplate)).isFalse();
 	}
 
+	@Test
+	public void testRabbitTemplateBatching() {
+		load(TestConfiguration.class, "spring.rabbitmq.template.batch.enabled=true",
+				"spring.rabbitmq.template.batch.size=20",
+				"spring.rabbitmq.template.batch.buffer-limit=4096",
+				"spring.rabbitmq.template.batch.timeout=250");
+		RabbitTemplate rabbitTemplate = this.context.getBean(RabbitTemplate.class);
+		assertThat(rabbitTemplate).isInstanceOf(BatchingRabbitTemplate.class);
+		DirectFieldAccessor dfa = new DirectFieldAccessor(
+				new DirectFieldAccessor(rabbitTemplate)
+						.getPropertyValue("batchingStrategy"));
+		assertThat(dfa.getPropertyValue("batchSize")).isEqualTo(20);
+		assertThat(dfa.getPropertyValue("bufferLimit")).isEqualTo(4096);
+		assertThat(dfa.getPropertyValue("timeout")).isEqualTo(250L);
+		assertThat(this.context.getBeansOfType(PublisherConfirmWindow.class)).isEmpty();
+	}
+
+	@Test
+	public void testRabbitTemplateConfirmWindow() {
+		load(TestConfiguration.class, "spring.rabbitmq.publisher-confirms=true",
+				"spring.rabbitmq.template.confirms.max-in-flight=50");
+		PublisherConfirmWindow window = this.context
+				.getBean(PublisherConfirmWindow.class);
+		assertThat(window.getSize()).isEqualTo(50);
+		RabbitTemplate rabbitTemplate = this.context.getBean(RabbitTemplate.class);
+		assertThat(rabbitTemplate).isInstanceOf(ConfirmWindowRabbitTemplate.class);
+		rabbitTemplate.setConfirmCallback(new RabbitTemplate.ConfirmCallback() {
+
+			@Override
+			public void confirm(CorrelationData correlationData, boolean ack,
+					String cause) {
+			}
+
+		});
+	}
+
+	@Test
+	public void testRabbitTemplateConfirmWindowRequiresPublisherConfirms() {
+		load(TestConfiguration.class,
+				"spring.rabbitmq.template.confirms.max-in-flight=50");
+		assertThat(this.context.getBeansOfType(PublisherConfirmWindow.class)).isEmpty();
+		assertThat(this.context.getBean(RabbitTemplate.class))
+				.isNotInstanceOf(ConfirmWindowRabbitTemplate.class);
+	}
+
+	@Test
+	public void testRabbitTemplateBatchingWithConfirmWindow() {
+		load(TestConfiguration.class, "spring.rabbitmq.publisher-confirms=true",
+				"spring.rabbitmq.template.confirms.max-in-flight=50",
+				"spring.rabbitmq.template.batch.enabled=true");
+		RabbitTemplate rabbitTemplate = this.context.getBean(RabbitTemplate.class);
+		assertThat(rabbitTemplate).isInstanceOf(ScheduledBatchingRabbitTemplate.class);
+		assertThat(new DirectFieldAccessor(rabbitTemplate).getPropertyValue("window"))
+				.isSameAs(this.context.getBean(PublisherConfirmWindow.class));
+	}
+
 	@Test
 	public void testConnectionFactoryBackOff() {
 		load(TestConfiguration2.class);
@@ -329,6 +387,40 @@ public class RabbitAutoConfigurationTests {
 				"spring.rabbitmq.listener.simple.transactionSize:20");
 	}
 
+	@Test
+	public void testSimpleRabbitListenerContainerFactoryWithConsumerScaling() {
+		load(TestConfiguration.class,
+				"spring.rabbitmq.listener.simple.consecutiveActiveTrigger:5",
+				"spring.rabbitmq.listener.simple.consecutiveIdleTrigger:20",
+				"spring.rabbitmq.listener.simple.startConsumerMinInterval:2000",
+				"spring.rabbitmq.listener.simple.stopConsumerMinInterval:30000");
+		SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory = this.context
+				.getBean("rabbitListenerContainerFactory",
+						SimpleRabbitListenerContainerFactory.class);
+		DirectFieldAccessor dfa = new DirectFieldAccessor(rabbitListenerContainerFactory);
+		assertThat(dfa.getPropertyValue("consecutiveActiveTrigger")).isEqualTo(5);
+		assertThat(dfa.getPropertyValue("consecutiveIdleTrigger")).isEqualTo(20);
+		assertThat(dfa.getPropertyValue("startConsumerMinInterval")).isEqualTo(2000L);
+		assertThat(dfa.getPropertyValue("stopConsumerMinInterval")).isEqualTo(30000L);
+		assertThat(this.context.getBeansOfType(RabbitListenerStatistics.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void testSimpleRabbitListenerContainerFactoryWithStatistics() {
+		load(TestConfiguration.class,
+				"spring.rabbitmq.listener.simple.statisticsEnabled:true",
+				"spring.rabbitmq.listener.simple.retry.enabled:true");
+		SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory = this.context
+				.getBean("rabbitListenerContainerFactory",
+						SimpleRabbitListenerContainerFactory.class);
+		DirectFieldAccessor dfa = new DirectFieldAccessor(rabbitListenerContainerFactory);
+		Advice[] adviceChain = (Advice[]) dfa.getPropertyValue("adviceChain");
+		assertThat(adviceChain).hasSize(2);
+		assertThat(adviceChain[0])
+				.isSameAs(this.context.getBean(RabbitListenerStatistics.class));
+	}
+
 	private void testSimpleRabbitListenerContainerFactoryWithCustomSettings(
 			String... environment) {
 		load(new Class<?>[] { MessageConvertersConfiguration.class,
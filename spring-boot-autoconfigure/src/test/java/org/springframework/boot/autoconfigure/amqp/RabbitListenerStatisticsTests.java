@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.amqp;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.boot.autoconfigure.amqp.RabbitListenerStatistics.QueueStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link RabbitListenerStatistics}.
+ */
+public class RabbitListenerStatisticsTests {
+
+	private final RabbitListenerStatistics statistics = new RabbitListenerStatistics();
+
+	@Test
+	public void recordsProcessedMessages() throws Throwable {
+		this.statistics.invoke(invocation("orders", false, null));
+		this.statistics.invoke(invocation("orders", true, null));
+		this.statistics.invoke(invocation("invoices", false, null));
+		assertThat(this.statistics.getQueues()).containsOnlyKeys("orders", "invoices");
+		QueueStatistics orders = this.statistics.getQueues().get("orders");
+		assertThat(orders.getProcessed()).isEqualTo(2);
+		assertThat(orders.getRedelivered()).isEqualTo(1);
+		assertThat(orders.getFailed()).isEqualTo(0);
+		assertThat(orders.getActive()).isEqualTo(0);
+	}
+
+	@Test
+	public void recordsFailedMessages() throws Throwable {
+		IllegalStateException failure = new IllegalStateException("test");
+		try {
+			this.statistics.invoke(invocation("orders", false, failure));
+			fail("Did not throw");
+		}
+		catch (IllegalStateException ex) {
+			assertThat(ex).isSameAs(failure);
+		}
+		QueueStatistics orders = this.statistics.getQueues().get("orders");
+		assertThat(orders.getProcessed()).isEqualTo(1);
+		assertThat(orders.getFailed()).isEqualTo(1);
+	}
+
+	@Test
+	public void percentilesAreBoundedByMaxTime() throws Throwable {
+		QueueStatistics queue = new QueueStatistics();
+		for (int i = 0; i < 98; i++) {
+			queue.finished(3000000L, true);
+		}
+		queue.finished(40000000L, true);
+		queue.finished(700000000L, true);
+		assertThat(queue.getPercentile(0.5)).isEqualTo(5);
+		assertThat(queue.getPercentile(0.99)).isEqualTo(50);
+		assertThat(queue.getPercentile(1.0)).isEqualTo(700);
+		assertThat(queue.getBusyTime()).isEqualTo(1034);
+	}
+
+	@Test
+	public void invocationWithoutMessageIsNotRecorded() throws Throwable {
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		given(invocation.getArguments()).willReturn(new Object[] { "test" });
+		this.statistics.invoke(invocation);
+		assertThat(this.statistics.getQueues()).isEmpty();
+	}
+
+	private MethodInvocation invocation(String queue, boolean redelivered,
+			Throwable failure) throws Throwable {
+		MessageProperties properties = new MessageProperties();
+		properties.setConsumerQueue(queue);
+		properties.setRedelivered(redelivered);
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		given(invocation.getArguments())
+				.willReturn(new Object[] { null, new Message(new byte[0], properties) });
+		if (failure != null) {
+			given(invocation.proceed()).willThrow(failure);
+		}
+		return invocation;
+	}
+
+}
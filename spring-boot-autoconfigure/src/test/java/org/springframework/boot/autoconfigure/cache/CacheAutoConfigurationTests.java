@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.cache.Caching;
 import javax.cache.configuration.CompleteConfiguration;
@@ -80,7 +81,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -770,6 +775,177 @@ public class CacheAutoConfigurationTests {
 		validateCaffeineCacheWithStats();
 	}
 
+	@Test
+	public void nearCacheWrapsAutoConfiguredCacheManager() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=recordStats");
+		NearCacheManager cacheManager = validateCacheManager(NearCacheManager.class);
+		assertThat(cacheManager.getRemoteCacheManager())
+				.isInstanceOf(ConcurrentMapCacheManager.class);
+		assertThat(cacheManager.getCacheNames()).containsOnly("foo");
+		Cache foo = cacheManager.getCache("foo");
+		Cache remote = cacheManager.getRemoteCacheManager().getCache("foo");
+		foo.put("1", "one");
+		remote.evict("1");
+		assertThat(foo.get("1", String.class)).isEqualTo("one");
+		foo.evict("1");
+		assertThat(foo.get("1")).isNull();
+		assertThat(((NearCache) foo).getLocalCache().stats().hitCount())
+				.isEqualTo(1L);
+	}
+
+	@Test
+	public void nearCacheWithValueLoaderTracksRemoteLookups() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=maximumSize=10");
+		NearCache foo = (NearCache) validateCacheManager(NearCacheManager.class)
+				.getCache("foo");
+		foo.getRemoteCache().put("1", "one");
+		assertThat(foo.get("1", new StaticValueLoader("ignored"))).isEqualTo("one");
+		assertThat(foo.get("2", new StaticValueLoader("two"))).isEqualTo("two");
+		assertThat(foo.getRemoteHitCount()).isEqualTo(1L);
+		assertThat(foo.getRemoteMissCount()).isEqualTo(1L);
+		assertThat(foo.getLocalCache().getIfPresent("2").get()).isEqualTo("two");
+	}
+
+	@Test
+	public void nearCacheWithValueLoaderDoesNotStoreNullLocallyWhenRemoteDisallowsIt() {
+		NearCache cache = new NearCache(new ConcurrentMapCache("foo", false),
+				Caffeine.newBuilder());
+		assertThat(cache.get("1", new StaticValueLoader(null))).isNull();
+		assertThat(cache.getLocalCache().getIfPresent("1")).isNull();
+	}
+
+	@Test
+	public void nearCacheRequiresSpec() {
+		this.thrown.expect(BeanCreationException.class);
+		this.thrown.expectMessage("spring.cache.near.spec");
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.near.enabled=true");
+	}
+
+	@Test
+	public void nearCacheRequiresInvalidator() {
+		this.thrown.expect(BeanCreationException.class);
+		this.thrown.expectMessage("NearCacheInvalidator");
+		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.near.enabled=true", "spring.cache.near.spec=maximumSize=10");
+	}
+
+	@Test
+	public void nearCacheRecordsStatistics() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=maximumSize=10");
+		NearCache foo = (NearCache) validateCacheManager(NearCacheManager.class)
+				.getCache("foo");
+		foo.get("1");
+		assertThat(foo.getLocalCache().stats().missCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void nearCachePublishesChanges() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=maximumSize=10");
+		NearCacheManager cacheManager = validateCacheManager(NearCacheManager.class);
+		RecordingNearCacheInvalidator invalidator = this.context
+				.getBean(RecordingNearCacheInvalidator.class);
+		assertThat(invalidator.cacheManager).isSameAs(cacheManager);
+		Cache foo = cacheManager.getCache("foo");
+		foo.get("1");
+		foo.put("1", "one");
+		foo.putIfAbsent("1", "another");
+		foo.evict("2");
+		foo.clear();
+		assertThat(invalidator.published).containsExactly("foo:1", "foo:2", "foo:null");
+	}
+
+	@Test
+	public void nearCacheDiscardsEntriesChangedByOtherNodes() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=maximumSize=10");
+		NearCacheManager cacheManager = validateCacheManager(NearCacheManager.class);
+		Cache foo = cacheManager.getCache("foo");
+		Cache remote = cacheManager.getRemoteCacheManager().getCache("foo");
+		foo.put("1", "one");
+		remote.put("1", "changed");
+		cacheManager.invalidateLocal("foo", "1");
+		assertThat(foo.get("1", String.class)).isEqualTo("changed");
+		remote.put("1", "cleared");
+		cacheManager.invalidateLocal("foo", null);
+		assertThat(foo.get("1", String.class)).isEqualTo("cleared");
+	}
+
+	@Test
+	public void nearCacheUsesRedisInvalidatorWhenRedisIsAvailable() {
+		load(RedisConnectionFactoryConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.near.enabled=true", "spring.cache.near.spec=maximumSize=10",
+				"spring.cache.near.channel=test-invalidations");
+		validateCacheManager(NearCacheManager.class);
+		RedisNearCacheInvalidator invalidator = this.context
+				.getBean(RedisNearCacheInvalidator.class);
+		assertThat(invalidator.getChannel()).isEqualTo("test-invalidations");
+		assertThat(this.context.getBean(RedisMessageListenerContainer.class).isRunning())
+				.isTrue();
+	}
+
+	@Test
+	public void nearCacheDoesNotWrapCustomCacheManager() {
+		load(CustomCacheManagerConfiguration.class, "spring.cache.near.enabled=true",
+				"spring.cache.near.spec=maximumSize=10");
+		ConcurrentMapCacheManager cacheManager = validateCacheManager(
+				ConcurrentMapCacheManager.class);
+		assertThat(cacheManager.getCacheNames()).containsOnly("custom1");
+	}
+
+	@Test
+	public void coalescingWrapsAutoConfiguredCacheManager() {
+		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.coalescing.enabled=true",
+				"spring.cache.coalescing.refresh-after=1000");
+		CoalescingCacheManager cacheManager = validateCacheManager(
+				CoalescingCacheManager.class);
+		assertThat(cacheManager.getCacheManager())
+				.isInstanceOf(ConcurrentMapCacheManager.class);
+		assertThat(cacheManager.getCache("foo")).isInstanceOf(CoalescingCache.class);
+	}
+
+	@Test
+	public void coalescingRefreshExecutorIsShutDownWithContext() {
+		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.coalescing.enabled=true",
+				"spring.cache.coalescing.refresh-after=1000",
+				"spring.cache.coalescing.refresh-threads=3");
+		CoalescingCache foo = (CoalescingCache) validateCacheManager(
+				CoalescingCacheManager.class).getCache("foo");
+		ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) new DirectFieldAccessor(foo)
+				.getPropertyValue("refreshExecutor");
+		assertThat(executor.getMaxPoolSize()).isEqualTo(3);
+		this.context.close();
+		assertThat(executor.getThreadPoolExecutor().isShutdown()).isTrue();
+	}
+
+	@Test
+	public void coalescingDoesNotWrapCustomCacheManager() {
+		load(CustomCacheManagerConfiguration.class,
+				"spring.cache.coalescing.enabled=true");
+		validateCacheManager(ConcurrentMapCacheManager.class);
+	}
+
+	@Test
+	public void nearCacheWrapsCoalescingCacheManager() {
+		load(NearCacheInvalidatorConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.near.enabled=true", "spring.cache.near.spec=maximumSize=10",
+				"spring.cache.coalescing.enabled=true");
+		NearCacheManager cacheManager = validateCacheManager(NearCacheManager.class);
+		assertThat(cacheManager.getRemoteCacheManager())
+				.isInstanceOf(CoalescingCacheManager.class);
+	}
+
 	private void validateCaffeineCacheWithStats() {
 		CaffeineCacheManager cacheManager = validateCacheManager(
 				CaffeineCacheManager.class);
@@ -838,6 +1014,31 @@ public class CacheAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	@Import(DefaultCacheConfiguration.class)
+	static class NearCacheInvalidatorConfiguration {
+
+		@Bean
+		public RecordingNearCacheInvalidator nearCacheInvalidator() {
+			return new RecordingNearCacheInvalidator();
+		}
+
+	}
+
+	@Configuration
+	@Import(DefaultCacheConfiguration.class)
+	static class RedisConnectionFactoryConfiguration {
+
+		@Bean
+		public RedisConnectionFactory redisConnectionFactory() {
+			RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+			given(connectionFactory.getConnection())
+					.willReturn(mock(RedisConnection.class));
+			return connectionFactory;
+		}
+
+	}
+
 	@Configuration
 	@EnableCaching
 	static class GenericCacheConfiguration {
@@ -1164,4 +1365,37 @@ public class CacheAutoConfigurationTests {
 
 	}
 
+	static class RecordingNearCacheInvalidator implements NearCacheInvalidator {
+
+		private final List<String> published = new ArrayList<String>();
+
+		private NearCacheManager cacheManager;
+
+		@Override
+		public void publish(String cacheName, Object key) {
+			this.published.add(cacheName + ":" + key);
+		}
+
+		@Override
+		public void subscribe(NearCacheManager cacheManager) {
+			this.cacheManager = cacheManager;
+		}
+
+	}
+
+	private static class StaticValueLoader implements Callable<String> {
+
+		private final String value;
+
+		StaticValueLoader(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String call() throws Exception {
+			return this.value;
+		}
+
+	}
+
 }
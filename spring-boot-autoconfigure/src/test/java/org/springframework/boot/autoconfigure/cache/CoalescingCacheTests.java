@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+/**
+ * Tests for {@link CoalescingCache}.
+ */
+public class CoalescingCacheTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public OutputCapture output = new OutputCapture();
+
+	private final ConcurrentMapCache target = new ConcurrentMapCache("test");
+
+	@Test
+	public void concurrentLoadsAreCoalesced() throws Exception {
+		final CoalescingCache cache = new CoalescingCache(this.target);
+		final CountDownLatch loading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger invocations = new AtomicInteger();
+		final AtomicReference<String> secondResult = new AtomicReference<String>();
+		final Callable<String> loader = new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				invocations.incrementAndGet();
+				loading.countDown();
+				release.await(10, TimeUnit.SECONDS);
+				return "value";
+			}
+
+		};
+		Thread first = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				cache.get("key", loader);
+			}
+
+		});
+		first.start();
+		assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+		Thread second = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				secondResult.set(cache.get("key", loader));
+			}
+
+		});
+		second.start();
+		while (cache.getCoalescedLoadCount() == 0) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+		first.join(10000);
+		second.join(10000);
+		assertThat(secondResult.get()).isEqualTo("value");
+		assertThat(invocations.get()).isEqualTo(1);
+		assertThat(cache.getCoalescedLoadCount()).isEqualTo(1L);
+		assertThat(this.target.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void staleEntryIsRefreshedInBackground() throws Exception {
+		CoalescingCache cache = new CoalescingCache(this.target, 1, new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+
+		});
+		cache.put("key", "old");
+		Thread.sleep(10);
+		assertThat(cache.get("key", new FixedValueLoader("new"))).isEqualTo("old");
+		assertThat(this.target.get("key").get()).isEqualTo("new");
+		assertThat(cache.getRefreshCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void refreshFailureIsLoggedAndKeepsCurrentValue() throws Exception {
+		CoalescingCache cache = new CoalescingCache(this.target, 1, new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+
+		});
+		cache.put("key", "old");
+		Thread.sleep(10);
+		this.output.expect(
+				containsString("Failed to refresh entry 'key' of cache 'test'"));
+		assertThat(cache.get("key", new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				throw new IllegalStateException("failure");
+			}
+
+		})).isEqualTo("old");
+		assertThat(this.target.get("key").get()).isEqualTo("old");
+		assertThat(cache.getRefreshCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void freshEntryIsNotRefreshed() {
+		CoalescingCache cache = new CoalescingCache(this.target, 60000,
+				new Executor() {
+
+					@Override
+					public void execute(Runnable command) {
+						throw new IllegalStateException("Should not refresh");
+					}
+
+				});
+		cache.put("key", "old");
+		assertThat(cache.get("key", new FixedValueLoader("new"))).isEqualTo("old");
+		assertThat(cache.getRefreshCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void loaderFailure() {
+		CoalescingCache cache = new CoalescingCache(this.target);
+		this.thrown.expect(Cache.ValueRetrievalException.class);
+		cache.get("key", new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				throw new IllegalStateException("failure");
+			}
+
+		});
+	}
+
+	private static class FixedValueLoader implements Callable<String> {
+
+		private final String value;
+
+		FixedValueLoader(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String call() throws Exception {
+			return this.value;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link RedisNearCacheInvalidator}.
+ */
+public class RedisNearCacheInvalidatorTests {
+
+	private static final byte[] CHANNEL = "invalidations".getBytes();
+
+	private final RedisConnection connection = mock(RedisConnection.class);
+
+	private RedisNearCacheInvalidator first;
+
+	private RedisNearCacheInvalidator second;
+
+	@Before
+	public void setup() {
+		RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+		given(connectionFactory.getConnection()).willReturn(this.connection);
+		this.first = new RedisNearCacheInvalidator(connectionFactory, "invalidations");
+		this.second = new RedisNearCacheInvalidator(connectionFactory, "invalidations");
+	}
+
+	@Test
+	public void changeIsAppliedByOtherNodes() {
+		NearCacheManager cacheManager = createCacheManager(this.second);
+		Cache foo = cacheManager.getCache("foo");
+		foo.put("1", "one");
+		cacheManager.getRemoteCacheManager().getCache("foo").put("1", "changed");
+		this.first.publish("foo", "1");
+		this.second.onMessage(publishedMessage(2), null);
+		assertThat(foo.get("1", String.class)).isEqualTo("changed");
+	}
+
+	@Test
+	public void clearIsAppliedByOtherNodes() {
+		NearCacheManager cacheManager = createCacheManager(this.second);
+		Cache foo = cacheManager.getCache("foo");
+		foo.put("1", "one");
+		cacheManager.getRemoteCacheManager().getCache("foo").clear();
+		this.first.publish("foo", null);
+		this.second.onMessage(publishedMessage(2), null);
+		assertThat(foo.get("1")).isNull();
+	}
+
+	@Test
+	public void ownChangesAreIgnored() {
+		NearCacheManager cacheManager = createCacheManager(this.first);
+		Cache foo = cacheManager.getCache("foo");
+		foo.put("1", "one");
+		cacheManager.getRemoteCacheManager().getCache("foo").put("1", "changed");
+		this.first.onMessage(publishedMessage(1), null);
+		assertThat(foo.get("1", String.class)).isEqualTo("one");
+	}
+
+	private NearCacheManager createCacheManager(RedisNearCacheInvalidator invalidator) {
+		NearCacheManager cacheManager = new NearCacheManager(
+				new ConcurrentMapCacheManager("foo"), Caffeine.newBuilder(),
+				invalidator);
+		invalidator.subscribe(cacheManager);
+		return cacheManager;
+	}
+
+	private DefaultMessage publishedMessage(int publications) {
+		ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+		verify(this.connection, times(publications))
+				.publish(eq(CHANNEL), body.capture());
+		return new DefaultMessage(CHANNEL, body.getValue());
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.sql.Connection;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.CannotReadScriptException;
+import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link BatchingDatabasePopulator}.
+ */
+public class BatchingDatabasePopulatorTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+			.setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build();
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+
+	@After
+	public void close() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	public void statementsAreExecutedInBatches() {
+		BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+		populator.setBatchSize(2);
+		populator.addScript(script("-- Customers\n"
+				+ "CREATE TABLE CUSTOMER (ID INTEGER, NAME VARCHAR(30));\n"
+				+ "INSERT INTO CUSTOMER VALUES (1, 'a;b');\n"
+				+ "/* ; */ INSERT INTO CUSTOMER VALUES (2, 'it''s');\n"
+				+ "insert into CUSTOMER values (3, '-- c');\n"
+				+ "UPDATE CUSTOMER SET NAME = 'c' WHERE ID = 3"));
+		populator.execute(this.dataSource);
+		assertThat(this.jdbcTemplate.queryForList("SELECT NAME FROM CUSTOMER ORDER BY ID",
+				String.class)).containsExactly("a;b", "it's", "c");
+	}
+
+	@Test
+	public void failingStatementIsReported() {
+		BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+		populator.addScript(script("CREATE TABLE CUSTOMER (ID INTEGER PRIMARY KEY);"
+				+ "INSERT INTO CUSTOMER VALUES (1);INSERT INTO CUSTOMER VALUES (1);"));
+		this.thrown.expect(ScriptStatementFailedException.class);
+		this.thrown.expectMessage("statement #3");
+		populator.execute(this.dataSource);
+	}
+
+	@Test
+	public void failingStatementsAreSkippedWhenContinuingOnError() {
+		BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+		populator.setContinueOnError(true);
+		populator.addScript(script("CREATE TABLE CUSTOMER (ID INTEGER PRIMARY KEY);"
+				+ "INSERT INTO CUSTOMER VALUES (1);INSERT INTO CUSTOMER VALUES (1);"
+				+ "INSERT INTO CUSTOMER VALUES (2);"));
+		populator.execute(this.dataSource);
+		assertThat(this.jdbcTemplate.queryForList("SELECT ID FROM CUSTOMER ORDER BY ID",
+				Integer.class)).containsExactly(1, 2);
+	}
+
+	@Test
+	public void independentScriptsAreExecutedInParallel() {
+		this.jdbcTemplate.execute("CREATE TABLE CUSTOMER (ID INTEGER)");
+		this.jdbcTemplate.execute("CREATE TABLE ORDERS (ID INTEGER)");
+		BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+		populator.setParallelism(2);
+		populator.addScript(script("INSERT INTO CUSTOMER VALUES (1);"
+				+ "INSERT INTO CUSTOMER VALUES (2);"));
+		populator.addScript(script("INSERT INTO ORDERS VALUES (1);"));
+		populator.execute(this.dataSource);
+		assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CUSTOMER",
+				Integer.class)).isEqualTo(2);
+		assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ORDERS",
+				Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	public void autoCommitIsRestoredWhenScriptFailsDuringBatch() throws Exception {
+		this.jdbcTemplate.execute("CREATE TABLE CUSTOMER (ID INTEGER)");
+		BatchingDatabasePopulator populator = new BatchingDatabasePopulator();
+		populator.setBatchSize(2);
+		populator.addScript(failingScript("INSERT INTO CUSTOMER VALUES (1);"
+				+ "INSERT INTO CUSTOMER VALUES (2);INSERT INTO CUSTOMER VALUES (3);"));
+		Connection connection = this.dataSource.getConnection();
+		try {
+			try {
+				populator.populate(connection);
+				fail("Expected CannotReadScriptException");
+			}
+			catch (CannotReadScriptException ex) {
+				// Expected
+			}
+			assertThat(connection.getAutoCommit()).isTrue();
+		}
+		finally {
+			connection.close();
+		}
+		assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CUSTOMER",
+				Integer.class)).isEqualTo(2);
+	}
+
+	private ByteArrayResource script(String content) {
+		return new ByteArrayResource(content.getBytes());
+	}
+
+	private ByteArrayResource failingScript(String content) {
+		return new ByteArrayResource(content.getBytes()) {
+
+			@Override
+			public InputStream getInputStream() throws IOException {
+				return new SequenceInputStream(super.getInputStream(),
+						new InputStream() {
+
+							@Override
+							public int read() throws IOException {
+								throw new IOException("Failed");
+							}
+
+						});
+			}
+
+		};
+	}
+
+}
@@ -23,27 +23,38 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.Properties;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
 import com.zaxxer.hikari.HikariDataSource;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.tomcat.jdbc.pool.jmx.ConnectionPool;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.SimpleDriverDataSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link DataSourceAutoConfiguration}.
@@ -249,6 +260,145 @@ public class DataSourceAutoConfigurationTests {
 		assertThat(dataSource).isInstanceOf(BasicDataSource.class);
 	}
 
+	@Test
+	public void warmupOpensConnectionsAndExecutesStatements() {
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.datasource.tomcat.initial-size:1",
+				"spring.datasource.tomcat.min-idle:1",
+				"spring.datasource.warmup.enabled:true",
+				"spring.datasource.warmup.connections:3",
+				"spring.datasource.warmup.statements:CREATE TABLE WARMUP (ID INTEGER)");
+		this.context.register(DataSourceAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		org.apache.tomcat.jdbc.pool.DataSource dataSource = this.context
+				.getBean(org.apache.tomcat.jdbc.pool.DataSource.class);
+		assertThat(dataSource.getPool().getSize()).isEqualTo(3);
+		assertThat(dataSource.getPool().getIdle()).isEqualTo(3);
+		assertThat(new JdbcTemplate(dataSource)
+				.queryForObject("SELECT COUNT(*) FROM WARMUP", Integer.class))
+						.isEqualTo(0);
+	}
+
+	@Test
+	public void warmupWarmsUpReplicas() {
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.datasource.replicas[0].url:jdbc:hsqldb:mem:replica-"
+						+ new Random().nextInt(),
+				"spring.datasource.warmup.enabled:true",
+				"spring.datasource.warmup.connections:2");
+		this.context.register(DataSourceAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		ReplicaRoutingDataSource routingDataSource = this.context
+				.getBean(ReplicaRoutingDataSource.class);
+		org.apache.tomcat.jdbc.pool.DataSource primary = (org.apache.tomcat.jdbc.pool.DataSource) routingDataSource
+				.getTargetDataSource();
+		org.apache.tomcat.jdbc.pool.DataSource replica = (org.apache.tomcat.jdbc.pool.DataSource) routingDataSource
+				.getReplicas().get(0).getDataSource();
+		assertThat(primary.getPool()).isNotNull();
+		assertThat(replica.getPool()).isNotNull();
+		assertThat(replica.getPool().getIdle()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	public void warmupIsSkippedWhenDataSourcePropertiesIsNotUnique() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("first", new DataSourceProperties());
+		beanFactory.registerSingleton("second", new DataSourceProperties());
+		DataSourceWarmupPostProcessor postProcessor = new DataSourceWarmupPostProcessor();
+		postProcessor.setBeanFactory(beanFactory);
+		DataSource dataSource = mock(DataSource.class);
+		postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+		verifyZeroInteractions(dataSource);
+	}
+
+	@Test
+	public void warmupClosesConnectionsOpenedAfterInterrupt() throws Exception {
+		final CountDownLatch opening = new CountDownLatch(2);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Connection connection = mock(Connection.class);
+		given(connection.isValid(anyInt())).willReturn(true);
+		DataSource dataSource = mock(DataSource.class);
+		given(dataSource.getConnection()).will(new Answer<Connection>() {
+
+			@Override
+			public Connection answer(InvocationOnMock invocation) throws Throwable {
+				opening.countDown();
+				release.await();
+				return connection;
+			}
+
+		});
+		DataSourceProperties.Warmup properties = new DataSourceProperties().getWarmup();
+		properties.setConnections(2);
+		DataSourceWarmup warmup = new DataSourceWarmup(properties, null);
+		final Thread caller = Thread.currentThread();
+		new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					opening.await();
+					caller.interrupt();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+		}).start();
+		try {
+			warmup.warmUp(dataSource, "test");
+		}
+		finally {
+			assertThat(Thread.interrupted()).isTrue();
+		}
+		release.countDown();
+		verify(connection, timeout(5000).times(2)).close();
+	}
+
+	@Test
+	public void replicasAreRoutedToByReadOnlyTransactions() {
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.datasource.replicas[0].url:jdbc:hsqldb:mem:replica-"
+						+ new Random().nextInt(),
+				"spring.datasource.replicas[1].name:reporting",
+				"spring.datasource.replicas[1].url:jdbc:hsqldb:mem:reporting-"
+						+ new Random().nextInt(),
+				"spring.datasource.replica-routing.balancing:latency-weighted");
+		this.context.register(DataSourceAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		DataSource dataSource = this.context.getBean(DataSource.class);
+		assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+		ReplicaRoutingDataSource routingDataSource = (ReplicaRoutingDataSource) dataSource;
+		assertThat(routingDataSource.getTargetDataSource())
+				.isInstanceOf(org.apache.tomcat.jdbc.pool.DataSource.class);
+		assertThat(routingDataSource.getReplicas()).hasSize(2);
+		assertThat(routingDataSource.getReplicas().get(0).getName())
+				.isEqualTo("replica0");
+		assertThat(routingDataSource.getReplicas().get(1).getName())
+				.isEqualTo("reporting");
+		assertThat(routingDataSource.getReplicas().get(1).getDataSource())
+				.isInstanceOf(org.apache.tomcat.jdbc.pool.DataSource.class);
+	}
+
+	@Test
+	public void tomcatJmxPoolIsExposedForWrappedDataSource() {
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.datasource.jmx-enabled:true",
+				"spring.datasource.replicas[0].url:jdbc:hsqldb:mem:replica-"
+						+ new Random().nextInt());
+		this.context.register(DataSourceAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		assertThat(this.context.getBean(DataSource.class))
+				.isInstanceOf(ReplicaRoutingDataSource.class);
+		assertThat(this.context.getBean("dataSourceMBean"))
+				.isInstanceOf(ConnectionPool.class);
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T extends DataSource> T autoConfigureDataSource(Class<T> expectedType,
 			final String... hiddenPackages) {
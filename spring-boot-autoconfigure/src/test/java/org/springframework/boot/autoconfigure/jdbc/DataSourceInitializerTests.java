@@ -190,6 +190,37 @@ public class DataSourceInitializerTests {
 						.isEqualTo("ばー");
 	}
 
+	@Test
+	public void testDataSourceInitializedWithBatchedScripts() throws Exception {
+		this.context.register(DataSourceAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.datasource.initialize:true",
+				"spring.datasource.sqlScriptEncoding:UTF-8",
+				"spring.datasource.initializer.batch-size:10",
+				"spring.datasource.initializer.parallelism:2",
+				"spring.datasource.schema:"
+						+ ClassUtils.addResourcePathToPackagePath(getClass(),
+								"schema.sql")
+						+ ","
+						+ ClassUtils.addResourcePathToPackagePath(getClass(),
+								"encoding-schema.sql"),
+				"spring.datasource.data:"
+						+ ClassUtils.addResourcePathToPackagePath(getClass(), "data.sql")
+						+ "," + ClassUtils.addResourcePathToPackagePath(getClass(),
+								"encoding-data.sql"));
+		this.context.refresh();
+		DataSource dataSource = this.context.getBean(DataSource.class);
+		JdbcOperations template = new JdbcTemplate(dataSource);
+		assertThat(template.queryForObject("SELECT COUNT(*) from FOO", Integer.class))
+				.isEqualTo(1);
+		assertThat(template.queryForObject("SELECT COUNT(*) from BAR", Integer.class))
+				.isEqualTo(2);
+		assertThat(
+				template.queryForObject("SELECT name from BAR WHERE id=2", String.class))
+						.isEqualTo("ばー");
+	}
+
 	@Test
 	public void testInitializationDisabled() throws Exception {
 		this.context.register(DataSourceAutoConfiguration.class,
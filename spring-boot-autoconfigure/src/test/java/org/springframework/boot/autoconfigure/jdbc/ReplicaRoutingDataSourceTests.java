@@ -0,0 +1,213 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ReplicaRoutingDataSource}.
+ */
+public class ReplicaRoutingDataSourceTests {
+
+	private final EmbeddedDatabase primary = createDatabase("primary");
+
+	private final EmbeddedDatabase replica = createDatabase("replica");
+
+	@After
+	public void close() {
+		this.primary.shutdown();
+		this.replica.shutdown();
+	}
+
+	@Test
+	public void readOnlyTransactionsUseReplica() {
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.<String, DataSource>singletonMap("replica", this.replica));
+		assertThat(queryLocation(dataSource, null)).isEqualTo("primary");
+		assertThat(queryLocation(dataSource, false)).isEqualTo("primary");
+		assertThat(queryLocation(dataSource, true)).isEqualTo("replica");
+		assertThat(dataSource.getReplicas().get(0).getActiveConnections()).isEqualTo(0);
+	}
+
+	@Test
+	public void unavailableReplicaIsSkipped() throws SQLException {
+		DataSource unavailable = mock(DataSource.class);
+		given(unavailable.getConnection()).willThrow(new SQLException("Unavailable", "08001"));
+		Map<String, DataSource> replicas = new LinkedHashMap<String, DataSource>();
+		replicas.put("unavailable", unavailable);
+		replicas.put("replica", this.replica);
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(replicas);
+		dataSource.checkHealth();
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isFalse();
+		assertThat(dataSource.getReplicas().get(1).isHealthy()).isTrue();
+		assertThat(dataSource.getReplicas().get(1).getLatency()).isGreaterThan(0);
+		assertThat(queryLocation(dataSource, true)).isEqualTo("replica");
+	}
+
+	@Test
+	public void latencyIsOnlyRecordedByHealthChecks() {
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.<String, DataSource>singletonMap("replica", this.replica));
+		assertThat(queryLocation(dataSource, true)).isEqualTo("replica");
+		assertThat(dataSource.getReplicas().get(0).getLatency()).isEqualTo(0);
+		dataSource.checkHealth();
+		assertThat(dataSource.getReplicas().get(0).getLatency()).isGreaterThan(0);
+	}
+
+	@Test
+	public void poolTimeoutDoesNotTakeReplicaOutOfRotation() throws SQLException {
+		DataSource exhausted = mock(DataSource.class);
+		given(exhausted.getConnection())
+				.willThrow(new SQLException("Timeout waiting for a connection"));
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.singletonMap("exhausted", exhausted));
+		try {
+			queryLocation(dataSource, true);
+			fail("Did not throw");
+		}
+		catch (DataAccessException ex) {
+			assertThat(ex.getMostSpecificCause())
+					.hasMessage("Timeout waiting for a connection");
+		}
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isTrue();
+	}
+
+	@Test
+	public void exhaustedReplicaIsNotTakenOutOfRotationByHealthCheck()
+			throws SQLException {
+		DataSource exhausted = mock(DataSource.class);
+		given(exhausted.getConnection())
+				.willThrow(new SQLException("Timeout waiting for a connection"));
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.singletonMap("exhausted", exhausted));
+		dataSource.checkHealth();
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isTrue();
+	}
+
+	@Test
+	public void invalidReplicaConnectionTakesReplicaOutOfRotation() throws SQLException {
+		Connection connection = mock(Connection.class);
+		given(connection.isValid(anyInt())).willReturn(false);
+		DataSource invalid = mock(DataSource.class);
+		given(invalid.getConnection()).willReturn(connection);
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.singletonMap("invalid", invalid));
+		dataSource.checkHealth();
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isFalse();
+	}
+
+	@Test
+	public void unavailableReplicaIsRetriedWithoutHealthChecks() throws Exception {
+		DataSource flaky = mock(DataSource.class);
+		given(flaky.getConnection())
+				.willThrow(new SQLNonTransientConnectionException("Unavailable"))
+				.willAnswer(new Answer<Connection>() {
+
+					@Override
+					public Connection answer(InvocationOnMock invocation)
+							throws Throwable {
+						return ReplicaRoutingDataSourceTests.this.replica
+								.getConnection();
+					}
+
+				});
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.singletonMap("flaky", flaky));
+		dataSource.setRetryInterval(1);
+		assertThat(queryLocation(dataSource, true)).isEqualTo("primary");
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isFalse();
+		Thread.sleep(10);
+		assertThat(queryLocation(dataSource, true)).isEqualTo("replica");
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isTrue();
+	}
+
+	@Test
+	public void primaryIsUsedWhenNoReplicaIsAvailable() throws SQLException {
+		DataSource unavailable = mock(DataSource.class);
+		given(unavailable.getConnection()).willThrow(new SQLException("Unavailable", "08001"));
+		ReplicaRoutingDataSource dataSource = createRoutingDataSource(
+				Collections.singletonMap("unavailable", unavailable));
+		assertThat(queryLocation(dataSource, true)).isEqualTo("primary");
+		assertThat(dataSource.getReplicas().get(0).isHealthy()).isFalse();
+	}
+
+	private ReplicaRoutingDataSource createRoutingDataSource(
+			Map<String, DataSource> replicas) {
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(this.primary,
+				replicas);
+		dataSource.setHealthCheckInterval(0);
+		dataSource.afterPropertiesSet();
+		return dataSource;
+	}
+
+	private String queryLocation(DataSource dataSource, Boolean readOnly) {
+		final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		if (readOnly == null) {
+			return jdbcTemplate.queryForObject("SELECT NAME FROM LOCATION", String.class);
+		}
+		TransactionTemplate transactionTemplate = new TransactionTemplate(
+				new DataSourceTransactionManager(dataSource));
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate.execute(new TransactionCallback<String>() {
+
+			@Override
+			public String doInTransaction(TransactionStatus status) {
+				return jdbcTemplate.queryForObject("SELECT NAME FROM LOCATION",
+						String.class);
+			}
+
+		});
+	}
+
+	private static EmbeddedDatabase createDatabase(String location) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE LOCATION (NAME VARCHAR(10))");
+		jdbcTemplate.update("INSERT INTO LOCATION VALUES (?)", location);
+		return database;
+	}
+
+}
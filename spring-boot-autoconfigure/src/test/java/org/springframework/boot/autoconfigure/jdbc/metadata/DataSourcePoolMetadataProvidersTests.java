@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 
@@ -76,4 +78,12 @@ public class DataSourcePoolMetadataProvidersTests {
 		assertThat(provider.getDataSourcePoolMetadata(this.unknownDataSource)).isNull();
 	}
 
+	@Test
+	public void delegatingDataSourceIsUnwrapped() {
+		DataSourcePoolMetadataProviders provider = new DataSourcePoolMetadataProviders(
+				Arrays.asList(this.firstProvider, this.secondProvider));
+		assertThat(provider.getDataSourcePoolMetadata(
+				new DelegatingDataSource(this.firstDataSource))).isSameAs(this.first);
+	}
+
 }
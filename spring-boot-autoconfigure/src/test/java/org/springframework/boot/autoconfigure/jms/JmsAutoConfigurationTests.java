@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -147,7 +147,8 @@ public class JmsAutoConfigurationTests {
 		load(EnableJmsConfiguration.class, "spring.jms.listener.autoStartup=false",
 				"spring.jms.listener.acknowledgeMode=client",
 				"spring.jms.listener.concurrency=2",
-				"spring.jms.listener.maxConcurrency=10");
+				"spring.jms.listener.maxConcurrency=10",
+				"spring.jms.listener.maxMessagesPerTask=50");
 		JmsListenerContainerFactory<?> jmsListenerContainerFactory = this.context.getBean(
 				"jmsListenerContainerFactory", JmsListenerContainerFactory.class);
 		assertThat(jmsListenerContainerFactory.getClass())
@@ -159,6 +160,7 @@ public class JmsAutoConfigurationTests {
 				.isEqualTo(Session.CLIENT_ACKNOWLEDGE);
 		assertThat(listenerContainer.getConcurrentConsumers()).isEqualTo(2);
 		assertThat(listenerContainer.getMaxConcurrentConsumers()).isEqualTo(10);
+		assertThat(listenerContainer.getMaxMessagesPerTask()).isEqualTo(50);
 	}
 
 	@Test
@@ -16,9 +16,14 @@
 
 package org.springframework.boot.autoconfigure.kafka;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.After;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -27,7 +32,10 @@ import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.kafka.test.rule.KafkaEmbedded;
 import org.springframework.messaging.handler.annotation.Header;
@@ -43,9 +51,11 @@ public class KafkaAutoConfigurationIntegrationTests {
 
 	private static final String TEST_TOPIC = "testTopic";
 
+	private static final String BATCH_TOPIC = "testBatchTopic";
+
 	@ClassRule
 	public static final KafkaEmbedded kafkaEmbedded = new KafkaEmbedded(1, true,
-			TEST_TOPIC);
+			TEST_TOPIC, BATCH_TOPIC);
 
 	private AnnotationConfigApplicationContext context;
 
@@ -72,6 +82,39 @@ public class KafkaAutoConfigurationIntegrationTests {
 		assertThat(listener.received).isEqualTo("bar");
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void batchListenerProcessesPartitionsConcurrently() throws Exception {
+		load(BatchKafkaConfig.class,
+				"spring.kafka.bootstrap-servers:" + kafkaEmbedded.getBrokersAsString(),
+				"spring.kafka.consumer.group-id=testBatchGroup",
+				"spring.kafka.listener.type=batch",
+				"spring.kafka.listener.partition-parallelism=2");
+		AbstractMessageListenerContainer<?, ?> container = (AbstractMessageListenerContainer<?, ?>) this.context
+				.getBean(KafkaListenerEndpointRegistry.class)
+				.getListenerContainer("batchListener");
+		Object messageListener = container.getContainerProperties()
+				.getMessageListener();
+		// The container prefers the acknowledging variant when it is available
+		assertThat(messageListener)
+				.isInstanceOf(BatchAcknowledgingMessageListener.class);
+		((BatchAcknowledgingMessageListener<Object, Object>) messageListener).onMessage(
+				Arrays.asList(batchRecord(0, 1), batchRecord(1, 1), batchRecord(0, 2)),
+				null);
+		BatchListener listener = this.context.getBean(BatchListener.class);
+		assertThat(listener.batches).hasSize(2);
+		for (List<ConsumerRecord<String, String>> batch : listener.batches) {
+			for (ConsumerRecord<String, String> record : batch) {
+				assertThat(record.partition()).isEqualTo(batch.get(0).partition());
+			}
+		}
+	}
+
+	private ConsumerRecord<Object, Object> batchRecord(int partition, long offset) {
+		return new ConsumerRecord<Object, Object>(BATCH_TOPIC, partition, offset, "foo",
+				"bar");
+	}
+
 	private void load(Class<?> config, String... environment) {
 		this.context = doLoad(new Class<?>[] { config }, environment);
 	}
@@ -113,4 +156,31 @@ public class KafkaAutoConfigurationIntegrationTests {
 
 	}
 
+	public static class BatchKafkaConfig {
+
+		@Bean
+		public BatchListener batchListener() {
+			return new BatchListener();
+		}
+
+	}
+
+	public static class BatchListener {
+
+		private final CountDownLatch latch = new CountDownLatch(2);
+
+		private final List<List<ConsumerRecord<String, String>>> batches = Collections
+				.synchronizedList(new ArrayList<List<ConsumerRecord<String, String>>>());
+
+		@KafkaListener(id = "batchListener", topics = BATCH_TOPIC)
+		public void listen(List<ConsumerRecord<String, String>> records)
+				throws InterruptedException {
+			this.batches.add(records);
+			this.latch.countDown();
+			// Only completes if both partitions are processed at the same time
+			assertThat(this.latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,8 @@ public class KafkaAutoConfigurationTests {
 				"spring.kafka.ssl.truststore-password=p3",
 				"spring.kafka.consumer.auto-commit-interval=123",
 				"spring.kafka.consumer.max-poll-records=42",
+				"spring.kafka.consumer.fetch-max-size=1234",
+				"spring.kafka.consumer.max-partition-fetch-size=567",
 				"spring.kafka.consumer.auto-offset-reset=earliest",
 				"spring.kafka.consumer.client-id=ccid", // test override common
 				"spring.kafka.consumer.enable-auto-commit=false",
@@ -113,6 +115,9 @@ public class KafkaAutoConfigurationTests {
 		assertThat(configs.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG))
 				.isEqualTo(IntegerDeserializer.class);
 		assertThat(configs.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG)).isEqualTo(42);
+		assertThat(configs.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG)).isEqualTo(1234);
+		assertThat(configs.get(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG))
+				.isEqualTo(567);
 		assertThat(configs.get("foo")).isEqualTo("bar");
 		assertThat(configs.get("baz")).isEqualTo("qux");
 		assertThat(configs.get("foo.bar.baz")).isEqualTo("qux.fiz.buz");
@@ -189,6 +194,20 @@ public class KafkaAutoConfigurationTests {
 		assertThat(dfa.getPropertyValue("concurrency")).isEqualTo(3);
 		assertThat(dfa.getPropertyValue("containerProperties.pollTimeout"))
 				.isEqualTo(2000L);
+		assertThat(dfa.getPropertyValue("batchListener")).isEqualTo(false);
+	}
+
+	@Test
+	public void batchListenerProperties() {
+		load("spring.kafka.listener.type=batch",
+				"spring.kafka.listener.partition-parallelism=4");
+		KafkaListenerContainerFactory<?> kafkaListenerContainerFactory = this.context
+				.getBean(KafkaListenerContainerFactory.class);
+		assertThat(kafkaListenerContainerFactory)
+				.isInstanceOf(PartitionParallelKafkaListenerContainerFactory.class);
+		DirectFieldAccessor dfa = new DirectFieldAccessor(kafkaListenerContainerFactory);
+		assertThat(dfa.getPropertyValue("batchListener")).isEqualTo(true);
+		assertThat(dfa.getPropertyValue("partitionParallelism")).isEqualTo(4);
 	}
 
 	private void load(String... environment) {
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.kafka;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.kafka.listener.AbstractMessageListenerContainer.AckMode;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.support.Acknowledgment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PartitionParallelBatchListener}.
+ */
+public class PartitionParallelBatchListenerTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void partitionsAreProcessedConcurrentlyAndInOrder() {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final List<List<ConsumerRecord<Object, Object>>> batches = Collections
+				.synchronizedList(new ArrayList<List<ConsumerRecord<Object, Object>>>());
+		BatchMessageListener<Object, Object> listener = new BatchMessageListener<Object, Object>() {
+
+			@Override
+			public void onMessage(List<ConsumerRecord<Object, Object>> data) {
+				batches.add(data);
+				latch.countDown();
+				try {
+					// Only completes if both partitions are processed at the same time
+					assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+		};
+		BatchMessageListener<Object, Object> wrapped = (BatchMessageListener<Object, Object>) PartitionParallelBatchListener
+				.wrap(listener, 2, this.executor, AckMode.BATCH);
+		wrapped.onMessage(Arrays.asList(record(0, 1), record(1, 1), record(0, 2),
+				record(1, 2)));
+		assertThat(batches).hasSize(2);
+		for (List<ConsumerRecord<Object, Object>> batch : batches) {
+			assertThat(batch).hasSize(2);
+			assertThat(batch.get(0).partition()).isEqualTo(batch.get(1).partition());
+			assertThat(batch.get(0).offset()).isEqualTo(1L);
+			assertThat(batch.get(1).offset()).isEqualTo(2L);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void singlePartitionIsPassedThrough() {
+		final List<List<ConsumerRecord<Object, Object>>> batches = new ArrayList<List<ConsumerRecord<Object, Object>>>();
+		BatchMessageListener<Object, Object> listener = new BatchMessageListener<Object, Object>() {
+
+			@Override
+			public void onMessage(List<ConsumerRecord<Object, Object>> data) {
+				batches.add(data);
+			}
+
+		};
+		BatchMessageListener<Object, Object> wrapped = (BatchMessageListener<Object, Object>) PartitionParallelBatchListener
+				.wrap(listener, 2, this.executor, AckMode.BATCH);
+		List<ConsumerRecord<Object, Object>> records = Arrays.asList(record(0, 1),
+				record(0, 2));
+		wrapped.onMessage(records);
+		assertThat(batches).containsExactly(records);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void failureIsPropagated() {
+		BatchMessageListener<Object, Object> listener = new BatchMessageListener<Object, Object>() {
+
+			@Override
+			public void onMessage(List<ConsumerRecord<Object, Object>> data) {
+				if (data.get(0).partition() == 1) {
+					throw new IllegalStateException("Failed");
+				}
+			}
+
+		};
+		BatchMessageListener<Object, Object> wrapped = (BatchMessageListener<Object, Object>) PartitionParallelBatchListener
+				.wrap(listener, 2, this.executor, AckMode.BATCH);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Failed");
+		wrapped.onMessage(Arrays.asList(record(0, 1), record(1, 1)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void acknowledgingBatchIsSplitByPartition() {
+		final List<List<ConsumerRecord<Object, Object>>> batches = Collections
+				.synchronizedList(new ArrayList<List<ConsumerRecord<Object, Object>>>());
+		BatchAcknowledgingMessageListener<Object, Object> listener = new BatchAcknowledgingMessageListener<Object, Object>() {
+
+			@Override
+			public void onMessage(List<ConsumerRecord<Object, Object>> data,
+					Acknowledgment acknowledgment) {
+				assertThat(acknowledgment).isNull();
+				batches.add(data);
+			}
+
+		};
+		BatchAcknowledgingMessageListener<Object, Object> wrapped = (BatchAcknowledgingMessageListener<Object, Object>) PartitionParallelBatchListener
+				.wrap(listener, 2, this.executor, AckMode.BATCH);
+		wrapped.onMessage(Arrays.asList(record(0, 1), record(1, 1)), null);
+		assertThat(batches).hasSize(2);
+		for (List<ConsumerRecord<Object, Object>> batch : batches) {
+			assertThat(batch).hasSize(1);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void manuallyAcknowledgedBatchIsPassedThrough() {
+		final List<List<ConsumerRecord<Object, Object>>> batches = new ArrayList<List<ConsumerRecord<Object, Object>>>();
+		BatchAcknowledgingMessageListener<Object, Object> listener = new BatchAcknowledgingMessageListener<Object, Object>() {
+
+			@Override
+			public void onMessage(List<ConsumerRecord<Object, Object>> data,
+					Acknowledgment acknowledgment) {
+				batches.add(data);
+			}
+
+		};
+		BatchAcknowledgingMessageListener<Object, Object> wrapped = (BatchAcknowledgingMessageListener<Object, Object>) PartitionParallelBatchListener
+				.wrap(listener, 2, this.executor, AckMode.MANUAL);
+		List<ConsumerRecord<Object, Object>> records = Arrays.asList(record(0, 1),
+				record(1, 1));
+		wrapped.onMessage(records, mock(Acknowledgment.class));
+		assertThat(batches).containsExactly(records);
+	}
+
+	private ConsumerRecord<Object, Object> record(int partition, long offset) {
+		return new ConsumerRecord<Object, Object>("test", partition, offset, null,
+				"value");
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BrotliResourceResolver}.
+ */
+public class BrotliResourceResolverTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private List<Resource> locations;
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+	@Before
+	public void setup() throws Exception {
+		File root = this.temp.getRoot();
+		FileCopyUtils.copy("var a;".getBytes(), new File(root, "app.js"));
+		FileCopyUtils.copy("brotli".getBytes(), new File(root, "app.js.br"));
+		FileCopyUtils.copy("body {}".getBytes(), new File(root, "site.css"));
+		this.locations = Collections
+				.<Resource>singletonList(new FileSystemResource(root.getPath() + "/"));
+	}
+
+	@Test
+	public void brotliResourceWhenAccepted() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+		Resource resource = resolve("app.js");
+		assertThat(resource).isInstanceOf(HttpResource.class);
+		assertThat(resource.getFilename()).isEqualTo("app.js");
+		assertThat(resource.contentLength()).isEqualTo("brotli".length());
+		HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+		assertThat(headers.getFirst(HttpHeaders.VARY))
+				.isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	@Test
+	public void brotliResourceWhenAcceptedWithQuality() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=1.0, BR;q=0.5");
+		assertThat(resolve("app.js")).isInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void originalResourceWhenBrotliHasZeroQuality() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, br;q=0");
+		assertThat(resolve("app.js")).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void originalResourceWhenOnlySimilarCodingAccepted() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, brotli-x");
+		assertThat(resolve("app.js")).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void originalResourceWhenNotAccepted() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		Resource resource = resolve("app.js");
+		assertThat(resource).isNotInstanceOf(HttpResource.class);
+		assertThat(resource.contentLength()).isEqualTo("var a;".length());
+	}
+
+	@Test
+	public void originalResourceWhenNoBrotliVariant() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br");
+		Resource resource = resolve("site.css");
+		assertThat(resource).isNotInstanceOf(HttpResource.class);
+		assertThat(resource.getFilename()).isEqualTo("site.css");
+	}
+
+	@Test
+	public void missingResource() throws Exception {
+		this.request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br");
+		assertThat(resolve("missing.js")).isNull();
+	}
+
+	private Resource resolve(String path) {
+		return new BrotliResourceResolver().resolveResource(this.request, path,
+				this.locations, new PathResourceResolverChain());
+	}
+
+	/**
+	 * {@link ResourceResolverChain} that resolves resources from the locations.
+	 */
+	private static class PathResourceResolverChain implements ResourceResolverChain {
+
+		private final PathResourceResolver resolver = new PathResourceResolver();
+
+		@Override
+		public Resource resolveResource(HttpServletRequest request, String requestPath,
+				List<? extends Resource> locations) {
+			return this.resolver.resolveResource(request, requestPath, locations, this);
+		}
+
+		@Override
+		public String resolveUrlPath(String resourcePath,
+				List<? extends Resource> locations) {
+			return this.resolver.resolveUrlPath(resourcePath, locations, this);
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ManifestContentVersionStrategy}.
+ */
+public class ManifestContentVersionStrategyTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void versionFromManifest() throws Exception {
+		File file = createFile("static/css/site.css", "body {}");
+		File manifest = this.temp.newFile("versions.properties");
+		FileCopyUtils.copy("css/site.css=abc123\n".getBytes(), manifest);
+		ManifestContentVersionStrategy strategy = createStrategy(
+				new FileSystemResource(manifest));
+		assertThat(strategy.getResourceVersion(new FileSystemResource(file)))
+				.isEqualTo("abc123");
+	}
+
+	@Test
+	public void manifestPathIsRelativeToLocation() throws Exception {
+		createFile("static/app.js", "var a;");
+		File vendor = createFile("static/vendor/app.js", "var v;");
+		File manifest = this.temp.newFile("versions.properties");
+		FileCopyUtils.copy("app.js=abc123\n".getBytes(), manifest);
+		ManifestContentVersionStrategy strategy = createStrategy(
+				new FileSystemResource(manifest));
+		assertThat(strategy.getResourceVersion(new FileSystemResource(vendor)))
+				.isEqualTo(DigestUtils.md5DigestAsHex("var v;".getBytes()));
+	}
+
+	@Test
+	public void versionCalculatedWhenNotInManifest() throws Exception {
+		File file = createFile("static/app.js", "var a;");
+		ManifestContentVersionStrategy strategy = createStrategy(null);
+		assertThat(strategy.getResourceVersion(new FileSystemResource(file)))
+				.isEqualTo(DigestUtils.md5DigestAsHex("var a;".getBytes()));
+	}
+
+	@Test
+	public void versionRecalculatedWhenModified() throws Exception {
+		File file = createFile("static/app.js", "var a;");
+		file.setLastModified(1000);
+		ManifestContentVersionStrategy strategy = createStrategy(null);
+		String first = strategy.getResourceVersion(new FileSystemResource(file));
+		assertThat(strategy.getResourceVersion(new FileSystemResource(file)))
+				.isEqualTo(first);
+		FileCopyUtils.copy("var b;".getBytes(), file);
+		file.setLastModified(2000);
+		assertThat(strategy.getResourceVersion(new FileSystemResource(file)))
+				.isEqualTo(DigestUtils.md5DigestAsHex("var b;".getBytes()));
+	}
+
+	private ManifestContentVersionStrategy createStrategy(Resource manifest) {
+		File location = new File(this.temp.getRoot(), "static");
+		location.mkdirs();
+		return new ManifestContentVersionStrategy(manifest,
+				Collections.<Resource>singletonList(new FileSystemResource(location)));
+	}
+
+	private File createFile(String path, String content) throws Exception {
+		File file = new File(this.temp.getRoot(), path);
+		file.getParentFile().mkdirs();
+		FileCopyUtils.copy(content.getBytes(), file);
+		return file;
+	}
+
+}
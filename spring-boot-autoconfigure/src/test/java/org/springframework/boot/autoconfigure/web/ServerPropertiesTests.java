@@ -42,9 +42,11 @@ import org.mockito.MockitoAnnotations;
 
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
+import org.springframework.boot.context.embedded.AbstractConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.tomcat.AsyncAccessLogValve;
 import org.springframework.boot.context.embedded.tomcat.TomcatContextCustomizer;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
@@ -207,6 +209,20 @@ public class ServerPropertiesTests {
 				.isBuffered()).isFalse();
 	}
 
+	@Test
+	public void tomcatAccessLogCanBeAsync() {
+		TomcatEmbeddedServletContainerFactory tomcatContainer = new TomcatEmbeddedServletContainerFactory();
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("server.tomcat.accesslog.enabled", "true");
+		map.put("server.tomcat.accesslog.async", "true");
+		map.put("server.tomcat.accesslog.async-queue-size", "100");
+		bindProperties(map);
+		this.properties.customize(tomcatContainer);
+		Valve valve = tomcatContainer.getEngineValves().iterator().next();
+		assertThat(valve).isInstanceOf(AsyncAccessLogValve.class);
+		assertThat(((AsyncAccessLogValve) valve).getQueueSize()).isEqualTo(100);
+	}
+
 	@Test
 	public void testTomcatBinding() throws Exception {
 		Map<String, String> map = new HashMap<String, String>();
@@ -355,6 +371,18 @@ public class ServerPropertiesTests {
 		verify(factory).setPort(8080);
 	}
 
+	@Test
+	public void testCustomizeHttp2() throws Exception {
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("server.http2.enabled", "true");
+		bindProperties(map);
+		AbstractConfigurableEmbeddedServletContainer factory = mock(
+				AbstractConfigurableEmbeddedServletContainer.class);
+		this.properties.customize(factory);
+		verify(factory).setHttp2(this.properties.getHttp2());
+		assertThat(this.properties.getHttp2().isEnabled()).isTrue();
+	}
+
 	@Test
 	public void testCustomizeUriEncoding() throws Exception {
 		Map<String, String> map = new HashMap<String, String>();
@@ -272,6 +272,16 @@ public class WebMvcAutoConfigurationTests {
 				.isInstanceOf(FixedVersionStrategy.class);
 	}
 
+	@Test
+	public void resourceHandlerChainWithBrotli() throws Exception {
+		load("spring.resources.chain.enabled:true", "spring.resources.chain.cache:false",
+				"spring.resources.chain.brotli:true",
+				"spring.resources.chain.gzipped:true");
+		assertThat(getResourceResolvers("/**")).extractingResultOf("getClass")
+				.containsExactly(BrotliResourceResolver.class,
+						GzipResourceResolver.class, PathResourceResolver.class);
+	}
+
 	@Test
 	public void noLocaleResolver() throws Exception {
 		load(AllResources.class);
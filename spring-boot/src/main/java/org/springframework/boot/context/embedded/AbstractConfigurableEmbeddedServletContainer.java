@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,6 +84,8 @@ public abstract class AbstractConfigurableEmbeddedServletContainer
 
 	private Compression compression;
 
+	private Http2 http2;
+
 	private String serverHeader;
 
 	private Map<Locale, Charset> localeCharsetMappings = new HashMap<Locale, Charset>();
@@ -325,6 +327,21 @@ public abstract class AbstractConfigurableEmbeddedServletContainer
 		this.compression = compression;
 	}
 
+	public Http2 getHttp2() {
+		return this.http2;
+	}
+
+	/**
+	 * Sets the HTTP/2 configuration that will be applied to the container's default
+	 * connector. When the container does not support HTTP/2, a warning is logged and
+	 * the container starts without it.
+	 * @param http2 the HTTP/2 configuration
+	 * @since 1.5.10
+	 */
+	public void setHttp2(Http2 http2) {
+		this.http2 = http2;
+	}
+
 	public String getServerHeader() {
 		return this.serverHeader;
 	}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+/**
+ * Simple container-independent abstraction for HTTP/2 configuration. HTTP/2 is only
+ * enabled when the embedded container supports it. Tomcat 8.5 and Undertow do. With
+ * Jetty or an earlier version of Tomcat a warning is logged and the container starts
+ * without HTTP/2.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class Http2 {
+
+	/**
+	 * Enable HTTP/2 support, if the current environment supports it.
+	 */
+	private boolean enabled = false;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,6 +101,18 @@ public class Ssl {
 	 */
 	private String protocol = "TLS";
 
+	/**
+	 * Maximum number of entries in the SSL session cache used for session resumption.
+	 * When not set, the container's default is used.
+	 */
+	private Integer sessionCacheSize;
+
+	/**
+	 * Timeout in seconds after which cached SSL sessions can no longer be resumed.
+	 * When not set, the container's default is used.
+	 */
+	private Integer sessionTimeout;
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -221,6 +233,22 @@ public class Ssl {
 		this.protocol = protocol;
 	}
 
+	public Integer getSessionCacheSize() {
+		return this.sessionCacheSize;
+	}
+
+	public void setSessionCacheSize(Integer sessionCacheSize) {
+		this.sessionCacheSize = sessionCacheSize;
+	}
+
+	public Integer getSessionTimeout() {
+		return this.sessionTimeout;
+	}
+
+	public void setSessionTimeout(Integer sessionTimeout) {
+		this.sessionTimeout = sessionTimeout;
+	}
+
 	/**
 	 * Client authentication types.
 	 */
@@ -181,6 +181,10 @@ public class JettyEmbeddedServletContainerFactory
 					.getConnector(server, sslContextFactory, port);
 			server.setConnectors(new Connector[] { connector });
 		}
+		if (getHttp2() != null && getHttp2().isEnabled()) {
+			this.logger.warn("HTTP/2 is not supported by the embedded Jetty "
+					+ "container and will not be enabled");
+		}
 		for (JettyServerCustomizer customizer : getServerCustomizers()) {
 			customizer.customize(server);
 		}
@@ -266,6 +270,12 @@ public class JettyEmbeddedServletContainerFactory
 		if (ssl.getEnabledProtocols() != null) {
 			factory.setIncludeProtocols(ssl.getEnabledProtocols());
 		}
+		if (ssl.getSessionCacheSize() != null) {
+			factory.setSslSessionCacheSize(ssl.getSessionCacheSize());
+		}
+		if (ssl.getSessionTimeout() != null) {
+			factory.setSslSessionTimeout(ssl.getSessionTimeout());
+		}
 		if (getSslStoreProvider() != null) {
 			try {
 				factory.setKeyStore(getSslStoreProvider().getKeyStore());
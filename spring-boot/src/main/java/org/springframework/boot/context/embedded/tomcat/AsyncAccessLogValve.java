@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.tomcat;
+
+import java.io.CharArrayWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.valves.AccessLogValve;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AccessLogValve} that writes entries on a background thread. Entries are
+ * still formatted on the request thread, since the request and response are recycled
+ * once the request completes, but the formatted entry is handed to a bounded queue
+ * rather than written while holding the log file's lock. Entries that arrive when the
+ * queue is full are dropped and counted, as are entries that fail to be written.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class AsyncAccessLogValve extends AccessLogValve {
+
+	private static final Log logger = LogFactory.getLog(AsyncAccessLogValve.class);
+
+	private int queueSize = 8192;
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final AtomicLong writtenCount = new AtomicLong();
+
+	private volatile BlockingQueue<char[]> queue;
+
+	private volatile boolean running;
+
+	private Thread writerThread;
+
+	private boolean writerStopped;
+
+	/**
+	 * Set the maximum number of entries that can be waiting to be written.
+	 * @param queueSize the queue size
+	 */
+	public void setQueueSize(int queueSize) {
+		Assert.isTrue(queueSize > 0, "QueueSize must be positive");
+		this.queueSize = queueSize;
+	}
+
+	public int getQueueSize() {
+		return this.queueSize;
+	}
+
+	/**
+	 * Return the number of entries that have been dropped because the queue was full.
+	 * @return the number of dropped entries
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	/**
+	 * Return the number of entries that have been written.
+	 * @return the number of written entries
+	 */
+	public long getWrittenCount() {
+		return this.writtenCount.get();
+	}
+
+	/**
+	 * Return the number of entries that are waiting to be written.
+	 * @return the number of pending entries
+	 */
+	public int getPendingCount() {
+		BlockingQueue<char[]> queue = this.queue;
+		return (queue == null ? 0 : queue.size());
+	}
+
+	@Override
+	protected synchronized void startInternal() throws LifecycleException {
+		this.queue = new ArrayBlockingQueue<char[]>(this.queueSize);
+		super.startInternal();
+		this.running = true;
+		this.writerStopped = false;
+		this.writerThread = new Thread(new Writer(), "access-log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	@Override
+	protected synchronized void stopInternal() throws LifecycleException {
+		this.running = false;
+		if (this.writerThread != null) {
+			stopWriter(this.writerThread);
+			this.writerThread = null;
+		}
+		List<char[]> batch = new ArrayList<char[]>();
+		this.queue.drainTo(batch);
+		write(batch, new CharArrayWriter());
+		super.stopInternal();
+	}
+
+	private synchronized void stopWriter(Thread writerThread) {
+		writerThread.interrupt();
+		boolean interrupted = false;
+		// Wait on our monitor, rather than joining, so that it is released while the
+		// writer finishes its batch as it may need the monitor to rotate the file
+		while (!this.writerStopped) {
+			try {
+				wait();
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void log(CharArrayWriter message) {
+		BlockingQueue<char[]> queue = this.queue;
+		if (queue == null || !queue.offer(message.toCharArray())) {
+			this.droppedCount.incrementAndGet();
+		}
+	}
+
+	private void write(List<char[]> batch, CharArrayWriter buffer) {
+		int written = 0;
+		try {
+			for (char[] message : batch) {
+				buffer.reset();
+				buffer.write(message, 0, message.length);
+				write(buffer);
+				this.writtenCount.incrementAndGet();
+				written++;
+			}
+		}
+		catch (RuntimeException ex) {
+			int dropped = batch.size() - written;
+			this.droppedCount.addAndGet(dropped);
+			logger.error("Failed to write " + dropped + " access log entries", ex);
+		}
+		finally {
+			batch.clear();
+		}
+	}
+
+	void write(CharArrayWriter message) {
+		super.log(message);
+	}
+
+	/**
+	 * Background task that writes queued entries in batches.
+	 */
+	private class Writer implements Runnable {
+
+		@Override
+		public void run() {
+			try {
+				writeEntries();
+			}
+			finally {
+				synchronized (AsyncAccessLogValve.this) {
+					AsyncAccessLogValve.this.writerStopped = true;
+					AsyncAccessLogValve.this.notifyAll();
+				}
+			}
+		}
+
+		private void writeEntries() {
+			BlockingQueue<char[]> queue = AsyncAccessLogValve.this.queue;
+			List<char[]> batch = new ArrayList<char[]>();
+			CharArrayWriter buffer = new CharArrayWriter();
+			while (AsyncAccessLogValve.this.running) {
+				try {
+					batch.add(queue.take());
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				queue.drainTo(batch);
+				write(batch, buffer);
+			}
+		}
+
+	}
+
+}
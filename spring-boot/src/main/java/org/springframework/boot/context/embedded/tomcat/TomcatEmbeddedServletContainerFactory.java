@@ -56,6 +56,7 @@ import org.apache.coyote.ProtocolHandler;
 import org.apache.coyote.http11.AbstractHttp11JsseProtocol;
 import org.apache.coyote.http11.AbstractHttp11Protocol;
 import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.coyote.http2.Http2Protocol;
 import org.apache.tomcat.util.net.SSLHostConfig;
 
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactory;
@@ -103,6 +104,8 @@ public class TomcatEmbeddedServletContainerFactory
 
 	private static final Set<Class<?>> NO_CLASSES = Collections.emptySet();
 
+	private static final String HTTP2_PROTOCOL_CLASS = "org.apache.coyote.http2.Http2Protocol";
+
 	/**
 	 * The class name of default protocol used.
 	 */
@@ -326,6 +329,9 @@ public class TomcatEmbeddedServletContainerFactory
 		if (getCompression() != null && getCompression().getEnabled()) {
 			customizeCompression(connector);
 		}
+		if (getHttp2() != null && getHttp2().isEnabled()) {
+			customizeHttp2(connector);
+		}
 		for (TomcatConnectorCustomizer customizer : this.tomcatConnectorCustomizers) {
 			customizer.customize(connector);
 		}
@@ -347,6 +353,14 @@ public class TomcatEmbeddedServletContainerFactory
 		connector.setSecure(true);
 	}
 
+	private void customizeHttp2(Connector connector) {
+		if (!ClassUtils.isPresent(HTTP2_PROTOCOL_CLASS, getClass().getClassLoader())) {
+			this.logger.warn("HTTP/2 requires Tomcat 8.5 or later and will not be enabled");
+			return;
+		}
+		connector.addUpgradeProtocol(new Http2Protocol());
+	}
+
 	private void customizeCompression(Connector connector) {
 		ProtocolHandler handler = connector.getProtocolHandler();
 		if (handler instanceof AbstractHttp11Protocol) {
@@ -400,6 +414,7 @@ public class TomcatEmbeddedServletContainerFactory
 						"Failed to set sslEnabledProtocols");
 			}
 		}
+		configureSslSessions(protocol, ssl);
 		if (getSslStoreProvider() != null) {
 			TomcatURLStreamHandlerFactory instance = TomcatURLStreamHandlerFactory
 					.getInstance();
@@ -416,6 +431,21 @@ public class TomcatEmbeddedServletContainerFactory
 		}
 	}
 
+	private void configureSslSessions(AbstractHttp11JsseProtocol<?> protocol, Ssl ssl) {
+		if (ssl.getSessionCacheSize() != null) {
+			Assert.isTrue(
+					protocol.setProperty("sessionCacheSize",
+							String.valueOf(ssl.getSessionCacheSize())),
+					"Failed to set sessionCacheSize");
+		}
+		if (ssl.getSessionTimeout() != null) {
+			Assert.isTrue(
+					protocol.setProperty("sessionTimeout",
+							String.valueOf(ssl.getSessionTimeout())),
+					"Failed to set sessionTimeout");
+		}
+	}
+
 	private void configureSslClientAuth(AbstractHttp11JsseProtocol<?> protocol, Ssl ssl) {
 		if (ssl.getClientAuth() == ClientAuth.NEED) {
 			protocol.setClientAuth(Boolean.TRUE.toString());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,12 @@
 
 package org.springframework.boot.context.embedded.undertow;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -34,6 +40,12 @@ import org.springframework.core.ConfigurableObjectInputStream;
 
 /**
  * {@link SessionPersistenceManager} that stores session information in a file.
+ * <p>
+ * Sessions are written one at a time with their attributes serialized to a separate
+ * block, so neither saving nor loading requires a single object graph of every
+ * session. Expired sessions are skipped without being deserialized and the attributes
+ * of the remaining sessions are only deserialized when Undertow first restores the
+ * session for an incoming request. Files written by earlier versions are still read.
  *
  * @author Phillip Webb
  * @author Peter Leibiger
@@ -41,6 +53,12 @@ import org.springframework.core.ConfigurableObjectInputStream;
  */
 public class FileSessionPersistence implements SessionPersistenceManager {
 
+	private static final int MAGIC = 0x53425350;
+
+	private static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	private final File dir;
 
 	public FileSessionPersistence(File dir) {
@@ -60,7 +78,8 @@ public class FileSessionPersistence implements SessionPersistenceManager {
 
 	private void save(Map<String, PersistentSession> sessionData, File file)
 			throws IOException {
-		ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(file));
+		DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file), BUFFER_SIZE));
 		try {
 			save(sessionData, stream);
 		}
@@ -70,13 +89,24 @@ public class FileSessionPersistence implements SessionPersistenceManager {
 	}
 
 	private void save(Map<String, PersistentSession> sessionData,
-			ObjectOutputStream stream) throws IOException {
-		Map<String, Serializable> session = new LinkedHashMap<String, Serializable>();
+			DataOutputStream stream) throws IOException {
+		stream.writeInt(MAGIC);
+		stream.writeInt(VERSION);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 		for (Map.Entry<String, PersistentSession> entry : sessionData.entrySet()) {
-			session.put(entry.getKey(),
-					new SerializablePersistentSession(entry.getValue()));
+			PersistentSession session = entry.getValue();
+			buffer.reset();
+			ObjectOutputStream attributes = new ObjectOutputStream(buffer);
+			attributes.writeObject(
+					new LinkedHashMap<String, Object>(session.getSessionData()));
+			attributes.close();
+			stream.writeBoolean(true);
+			stream.writeUTF(entry.getKey());
+			stream.writeLong(session.getExpiration().getTime());
+			stream.writeInt(buffer.size());
+			buffer.writeTo(stream);
 		}
-		stream.writeObject(session);
+		stream.writeBoolean(false);
 	}
 
 	@Override
@@ -96,17 +126,70 @@ public class FileSessionPersistence implements SessionPersistenceManager {
 
 	private Map<String, PersistentSession> load(File file, ClassLoader classLoader)
 			throws IOException, ClassNotFoundException {
+		DataInputStream stream = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+		try {
+			int header = stream.readInt();
+			if (header == MAGIC) {
+				return load(stream, classLoader);
+			}
+		}
+		finally {
+			stream.close();
+		}
+		return loadLegacy(file, classLoader);
+	}
+
+	private Map<String, PersistentSession> load(DataInputStream stream,
+			ClassLoader classLoader) throws IOException {
+		int version = stream.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported session file version " + version);
+		}
+		long time = System.currentTimeMillis();
+		Map<String, PersistentSession> result = new LinkedHashMap<String, PersistentSession>();
+		while (stream.readBoolean()) {
+			String id = stream.readUTF();
+			long expiration = stream.readLong();
+			int length = stream.readInt();
+			if (expiration > time) {
+				byte[] attributes = new byte[length];
+				stream.readFully(attributes);
+				result.put(id, new LazyPersistentSession(new Date(expiration),
+						attributes, classLoader));
+			}
+			else {
+				skipFully(stream, length);
+			}
+		}
+		return result;
+	}
+
+	private void skipFully(DataInputStream stream, int length) throws IOException {
+		int remaining = length;
+		while (remaining > 0) {
+			int skipped = stream.skipBytes(remaining);
+			if (skipped <= 0) {
+				throw new IOException("Unexpected end of session file");
+			}
+			remaining -= skipped;
+		}
+	}
+
+	private Map<String, PersistentSession> loadLegacy(File file,
+			ClassLoader classLoader) throws IOException, ClassNotFoundException {
 		ObjectInputStream stream = new ConfigurableObjectInputStream(
-				new FileInputStream(file), classLoader);
+				new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE),
+				classLoader);
 		try {
-			return load(stream);
+			return loadLegacy(stream);
 		}
 		finally {
 			stream.close();
 		}
 	}
 
-	private Map<String, PersistentSession> load(ObjectInputStream stream)
+	private Map<String, PersistentSession> loadLegacy(ObjectInputStream stream)
 			throws ClassNotFoundException, IOException {
 		Map<String, SerializablePersistentSession> session = readSession(stream);
 		long time = System.currentTimeMillis();
@@ -140,7 +223,54 @@ public class FileSessionPersistence implements SessionPersistenceManager {
 	}
 
 	/**
-	 * Session data in a serializable form.
+	 * {@link PersistentSession} that deserializes its attributes on first use.
+	 */
+	static class LazyPersistentSession extends PersistentSession {
+
+		private final ClassLoader classLoader;
+
+		private byte[] attributes;
+
+		private Map<String, Object> sessionData;
+
+		LazyPersistentSession(Date expiration, byte[] attributes,
+				ClassLoader classLoader) {
+			super(expiration, null);
+			this.attributes = attributes;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public synchronized Map<String, Object> getSessionData() {
+			if (this.sessionData == null) {
+				this.sessionData = readAttributes();
+				this.attributes = null;
+			}
+			return this.sessionData;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Map<String, Object> readAttributes() {
+			try {
+				ObjectInputStream stream = new ConfigurableObjectInputStream(
+						new ByteArrayInputStream(this.attributes), this.classLoader);
+				try {
+					return (Map<String, Object>) stream.readObject();
+				}
+				finally {
+					stream.close();
+				}
+			}
+			catch (Exception ex) {
+				UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(ex);
+				return new LinkedHashMap<String, Object>();
+			}
+		}
+
+	}
+
+	/**
+	 * Session data in the serializable form used by earlier versions.
 	 */
 	static class SerializablePersistentSession implements Serializable {
 
@@ -86,7 +86,7 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 
 	private final String serverHeader;
 
-	private Undertow undertow;
+	private volatile Undertow undertow;
 
 	private volatile boolean started = false;
 
@@ -351,6 +351,16 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 		return ports.get(0).getNumber();
 	}
 
+	/**
+	 * Returns access to the underlying Undertow server. The server is created when the
+	 * container is started.
+	 * @return the Undertow server or {@code null} if the container has not been started
+	 * @since 1.5.10
+	 */
+	public Undertow getUndertow() {
+		return this.undertow;
+	}
+
 	/**
 	 * An active Undertow port.
 	 */
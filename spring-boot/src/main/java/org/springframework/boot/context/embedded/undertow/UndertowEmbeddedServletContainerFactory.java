@@ -41,6 +41,7 @@ import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509ExtendedKeyManager;
@@ -50,6 +51,7 @@ import javax.servlet.ServletException;
 
 import io.undertow.Undertow;
 import io.undertow.Undertow.Builder;
+import io.undertow.UndertowOptions;
 import io.undertow.server.HandlerWrapper;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.accesslog.AccessLogHandler;
@@ -257,6 +259,10 @@ public class UndertowEmbeddedServletContainerFactory
 		else {
 			builder.addHttpListener(port, getListenAddress());
 		}
+		if (getHttp2() != null) {
+			builder.setServerOption(UndertowOptions.ENABLE_HTTP2,
+					getHttp2().isEnabled());
+		}
 		for (UndertowBuilderCustomizer customizer : this.builderCustomizers) {
 			customizer.customize(builder);
 		}
@@ -267,6 +273,7 @@ public class UndertowEmbeddedServletContainerFactory
 		try {
 			SSLContext sslContext = SSLContext.getInstance(ssl.getProtocol());
 			sslContext.init(getKeyManagers(), getTrustManagers(), null);
+			configureSslSessions(sslContext.getServerSessionContext(), ssl);
 			builder.addHttpsListener(port, getListenAddress(), sslContext);
 			builder.setSocketOption(Options.SSL_CLIENT_AUTH_MODE,
 					getSslClientAuthMode(ssl));
@@ -287,6 +294,15 @@ public class UndertowEmbeddedServletContainerFactory
 		}
 	}
 
+	private void configureSslSessions(SSLSessionContext sessionContext, Ssl ssl) {
+		if (ssl.getSessionCacheSize() != null) {
+			sessionContext.setSessionCacheSize(ssl.getSessionCacheSize());
+		}
+		if (ssl.getSessionTimeout() != null) {
+			sessionContext.setSessionTimeout(ssl.getSessionTimeout());
+		}
+	}
+
 	private String getListenAddress() {
 		if (getAddress() == null) {
 			return "0.0.0.0";
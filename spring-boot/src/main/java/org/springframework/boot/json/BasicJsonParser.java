@@ -21,13 +21,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.util.StringUtils;
-
 /**
- * Really basic JSON parser for when you have nothing else available. Comes with some
- * limitations with respect to the JSON specification (e.g. only supports String values),
- * so users will probably prefer to have a library handle things instead (Jackson or Snake
- * YAML are supported).
+ * Really basic JSON parser for when you have nothing else available. Parses the source
+ * in a single pass without creating intermediate strings for nested elements. Strings
+ * (including escapes), numbers, booleans, {@code null}, objects and arrays are supported.
+ * Unquoted values are leniently returned as strings. Users will probably still prefer to
+ * have a library handle things instead (Jackson or Snake YAML are supported).
  *
  * @author Dave Syer
  * @author Jean de Klerk
@@ -39,9 +38,11 @@ public class BasicJsonParser implements JsonParser {
 	@Override
 	public Map<String, Object> parseMap(String json) {
 		if (json != null) {
-			json = json.trim();
-			if (json.startsWith("{")) {
-				return parseMapInternal(json);
+			Parser parser = new Parser(json);
+			if (parser.skipWhitespace() == '{') {
+				Map<String, Object> map = parser.parseMap();
+				parser.assertComplete();
+				return map;
 			}
 		}
 		throw new IllegalArgumentException("Cannot parse JSON");
@@ -50,112 +51,225 @@ public class BasicJsonParser implements JsonParser {
 	@Override
 	public List<Object> parseList(String json) {
 		if (json != null) {
-			json = json.trim();
-			if (json.startsWith("[")) {
-				return parseListInternal(json);
+			Parser parser = new Parser(json);
+			if (parser.skipWhitespace() == '[') {
+				List<Object> list = parser.parseList();
+				parser.assertComplete();
+				return list;
 			}
 		}
 		throw new IllegalArgumentException("Cannot parse JSON");
 	}
 
-	private List<Object> parseListInternal(String json) {
-		List<Object> list = new ArrayList<Object>();
-		json = trimLeadingCharacter(trimTrailingCharacter(json, ']'), '[');
-		for (String value : tokenize(json)) {
-			list.add(parseInternal(value));
-		}
-		return list;
-	}
+	/**
+	 * Single-pass parser that tracks its position in the source.
+	 */
+	private static final class Parser {
 
-	private Object parseInternal(String json) {
-		if (json.startsWith("[")) {
-			return parseListInternal(json);
-		}
-		if (json.startsWith("{")) {
-			return parseMapInternal(json);
-		}
-		if (json.startsWith("\"")) {
-			return trimTrailingCharacter(trimLeadingCharacter(json, '"'), '"');
+		private static final char END = (char) -1;
+
+		private final String json;
+
+		private final int length;
+
+		private int index;
+
+		Parser(String json) {
+			this.json = json;
+			this.length = json.length();
 		}
-		try {
-			return Long.valueOf(json);
+
+		char skipWhitespace() {
+			while (this.index < this.length
+					&& Character.isWhitespace(this.json.charAt(this.index))) {
+				this.index++;
+			}
+			return (this.index < this.length ? this.json.charAt(this.index) : END);
 		}
-		catch (NumberFormatException ex) {
-			// ignore
+
+		void assertComplete() {
+			if (skipWhitespace() != END) {
+				throw error();
+			}
 		}
-		try {
-			return Double.valueOf(json);
+
+		Object parseValue() {
+			char ch = skipWhitespace();
+			if (ch == '{') {
+				return parseMap();
+			}
+			if (ch == '[') {
+				return parseList();
+			}
+			if (ch == '"') {
+				return parseString();
+			}
+			return parseLiteral();
 		}
-		catch (NumberFormatException ex) {
-			// ignore
+
+		Map<String, Object> parseMap() {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			this.index++;
+			if (skipWhitespace() == '}') {
+				this.index++;
+				return map;
+			}
+			while (true) {
+				char ch = skipWhitespace();
+				String key = (ch == '"' ? parseString() : parseBareToken(':'));
+				if (skipWhitespace() != ':') {
+					throw error();
+				}
+				this.index++;
+				map.put(key, parseValue());
+				ch = skipWhitespace();
+				this.index++;
+				if (ch == '}') {
+					return map;
+				}
+				if (ch != ',') {
+					throw error();
+				}
+			}
 		}
-		return json;
-	}
 
-	private static String trimTrailingCharacter(String string, char c) {
-		if (string.length() > 0 && string.charAt(string.length() - 1) == c) {
-			return string.substring(0, string.length() - 1);
+		List<Object> parseList() {
+			List<Object> list = new ArrayList<Object>();
+			this.index++;
+			if (skipWhitespace() == ']') {
+				this.index++;
+				return list;
+			}
+			while (true) {
+				list.add(parseValue());
+				char ch = skipWhitespace();
+				this.index++;
+				if (ch == ']') {
+					return list;
+				}
+				if (ch != ',') {
+					throw error();
+				}
+			}
 		}
-		return string;
-	}
 
-	private static String trimLeadingCharacter(String string, char c) {
-		if (string.length() > 0 && string.charAt(0) == c) {
-			return string.substring(1);
+		String parseString() {
+			int start = ++this.index;
+			while (this.index < this.length) {
+				char ch = this.json.charAt(this.index);
+				if (ch == '"') {
+					return this.json.substring(start, this.index++);
+				}
+				if (ch == '\\') {
+					return parseEscapedString(start);
+				}
+				this.index++;
+			}
+			throw error();
 		}
-		return string;
-	}
 
-	private Map<String, Object> parseMapInternal(String json) {
-		Map<String, Object> map = new LinkedHashMap<String, Object>();
-		json = trimLeadingCharacter(trimTrailingCharacter(json, '}'), '{');
-		for (String pair : tokenize(json)) {
-			String[] values = StringUtils.trimArrayElements(StringUtils.split(pair, ":"));
-			String key = trimLeadingCharacter(trimTrailingCharacter(values[0], '"'), '"');
-			Object value = null;
-			if (values.length > 0) {
-				String string = trimLeadingCharacter(
-						trimTrailingCharacter(values[1], '"'), '"');
-				value = parseInternal(string);
-			}
-			map.put(key, value);
+		private String parseEscapedString(int start) {
+			StringBuilder builder = new StringBuilder(this.index - start + 16);
+			builder.append(this.json, start, this.index);
+			while (this.index < this.length) {
+				char ch = this.json.charAt(this.index++);
+				if (ch == '"') {
+					return builder.toString();
+				}
+				if (ch != '\\') {
+					builder.append(ch);
+					continue;
+				}
+				if (this.index >= this.length) {
+					break;
+				}
+				ch = this.json.charAt(this.index++);
+				switch (ch) {
+				case 'b':
+					builder.append('\b');
+					break;
+				case 'f':
+					builder.append('\f');
+					break;
+				case 'n':
+					builder.append('\n');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				case 't':
+					builder.append('\t');
+					break;
+				case 'u':
+					if (this.index + 4 > this.length) {
+						throw error();
+					}
+					try {
+						builder.append((char) Integer.parseInt(
+								this.json.substring(this.index, this.index + 4), 16));
+					}
+					catch (NumberFormatException ex) {
+						throw error();
+					}
+					this.index += 4;
+					break;
+				default:
+					builder.append(ch);
+				}
+			}
+			throw error();
 		}
-		return map;
-	}
 
-	private List<String> tokenize(String json) {
-		List<String> list = new ArrayList<String>();
-		int index = 0;
-		int inObject = 0;
-		int inList = 0;
-		StringBuilder build = new StringBuilder();
-		while (index < json.length()) {
-			char current = json.charAt(index);
-			if (current == '{') {
-				inObject++;
+		private Object parseLiteral() {
+			String token = parseBareToken(END);
+			if (token.length() == 0) {
+				throw error();
 			}
-			if (current == '}') {
-				inObject--;
+			if ("null".equals(token)) {
+				return null;
 			}
-			if (current == '[') {
-				inList++;
+			if ("true".equals(token)) {
+				return Boolean.TRUE;
 			}
-			if (current == ']') {
-				inList--;
+			if ("false".equals(token)) {
+				return Boolean.FALSE;
 			}
-			if (current == ',' && inObject == 0 && inList == 0) {
-				list.add(build.toString());
-				build.setLength(0);
+			char first = token.charAt(0);
+			if (first == '-' || (first >= '0' && first <= '9')) {
+				try {
+					return Long.valueOf(token);
+				}
+				catch (NumberFormatException ex) {
+					// ignore
+				}
+				try {
+					return Double.valueOf(token);
+				}
+				catch (NumberFormatException ex) {
+					// ignore
+				}
 			}
-			else {
-				build.append(current);
+			return token;
+		}
+
+		private String parseBareToken(char terminator) {
+			int start = this.index;
+			while (this.index < this.length) {
+				char ch = this.json.charAt(this.index);
+				if (ch == ',' || ch == '}' || ch == ']' || ch == terminator
+						|| Character.isWhitespace(ch)) {
+					break;
+				}
+				this.index++;
 			}
-			index++;
+			return this.json.substring(start, this.index);
 		}
-		if (build.length() > 0) {
-			list.add(build.toString());
+
+		private IllegalArgumentException error() {
+			return new IllegalArgumentException(
+					"Cannot parse JSON at position " + this.index);
 		}
-		return list;
+
 	}
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Utility methods used by the structured JSON layouts to write log events directly to a
+ * {@link StringBuilder} without creating intermediate strings.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public abstract class JsonLogUtils {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private static final ThreadLocal<TimestampCache> timestampCache = new ThreadLocal<TimestampCache>() {
+
+		@Override
+		protected TimestampCache initialValue() {
+			return new TimestampCache();
+		}
+
+	};
+
+	/**
+	 * Append an ISO-8601 UTC timestamp (for example {@code 2017-01-01T10:15:30.123Z}).
+	 * The formatted date and time is cached per thread and only recomputed when the
+	 * second changes.
+	 * @param builder the builder to append to
+	 * @param timestamp the timestamp in milliseconds
+	 */
+	public static void appendTimestamp(StringBuilder builder, long timestamp) {
+		builder.append('"');
+		timestampCache.get().append(builder, timestamp);
+		builder.append('"');
+	}
+
+	/**
+	 * Append a quoted and escaped JSON string, or {@code null}.
+	 * @param builder the builder to append to
+	 * @param value the value to append
+	 */
+	public static void appendString(StringBuilder builder, CharSequence value) {
+		if (value == null) {
+			builder.append("null");
+			return;
+		}
+		builder.append('"');
+		appendEscaped(builder, value);
+		builder.append('"');
+	}
+
+	/**
+	 * Append a JSON field name followed by a colon.
+	 * @param builder the builder to append to
+	 * @param name the field name (must not require escaping)
+	 */
+	public static void appendName(StringBuilder builder, String name) {
+		builder.append('"').append(name).append("\":");
+	}
+
+	/**
+	 * Append the escaped content of a JSON string without the surrounding quotes.
+	 * @param builder the builder to append to
+	 * @param value the value to append
+	 */
+	public static void appendEscaped(StringBuilder builder, CharSequence value) {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (ch < 0x20) {
+					builder.append("\\u00").append(HEX[ch >> 4]).append(HEX[ch & 0xF]);
+				}
+				else {
+					builder.append(ch);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Append the escaped form of a stack trace element (as returned by
+	 * {@link StackTraceElement#toString()}) without the surrounding quotes.
+	 * @param builder the builder to append to
+	 * @param element the stack trace element
+	 */
+	public static void appendEscaped(StringBuilder builder, StackTraceElement element) {
+		appendEscaped(builder, element.getClassName());
+		builder.append('.');
+		appendEscaped(builder, element.getMethodName());
+		builder.append('(');
+		if (element.isNativeMethod()) {
+			builder.append("Native Method");
+		}
+		else if (element.getFileName() == null) {
+			builder.append("Unknown Source");
+		}
+		else {
+			appendEscaped(builder, element.getFileName());
+			if (element.getLineNumber() >= 0) {
+				builder.append(':').append(element.getLineNumber());
+			}
+		}
+		builder.append(')');
+	}
+
+	/**
+	 * Per-thread cache of the formatted date and time to the nearest second.
+	 */
+	private static class TimestampCache {
+
+		private final SimpleDateFormat format;
+
+		private long second = -1;
+
+		private String formatted;
+
+		TimestampCache() {
+			this.format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+			this.format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		}
+
+		void append(StringBuilder builder, long timestamp) {
+			long second = timestamp / 1000;
+			if (second != this.second) {
+				this.formatted = this.format.format(new Date(second * 1000));
+				this.second = second;
+			}
+			int millis = (int) (timestamp % 1000);
+			builder.append(this.formatted).append('.');
+			if (millis < 100) {
+				builder.append('0');
+			}
+			if (millis < 10) {
+				builder.append('0');
+			}
+			builder.append(millis).append('Z');
+		}
+
+	}
+
+}
@@ -145,6 +145,19 @@ public class LoggingApplicationListener implements GenericApplicationListener {
 	 */
 	public static final String LOG_LEVEL_PATTERN = "LOG_LEVEL_PATTERN";
 
+	/**
+	 * The name of the System property that contains the asynchronous logging queue size.
+	 * @since 1.5.10
+	 */
+	public static final String LOG_ASYNC_QUEUE_SIZE = "LOG_ASYNC_QUEUE_SIZE";
+
+	/**
+	 * The name of the System property that indicates if asynchronous logging should
+	 * block rather than discard events when its queue is full.
+	 * @since 1.5.10
+	 */
+	public static final String LOG_ASYNC_BLOCKING = "LOG_ASYNC_BLOCKING";
+
 	/**
 	 * The name of the {@link LoggingSystem} bean.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,10 @@ class LoggingSystemProperties {
 
 	static final String LOG_LEVEL_PATTERN = LoggingApplicationListener.LOG_LEVEL_PATTERN;
 
+	static final String LOG_ASYNC_QUEUE_SIZE = LoggingApplicationListener.LOG_ASYNC_QUEUE_SIZE;
+
+	static final String LOG_ASYNC_BLOCKING = LoggingApplicationListener.LOG_ASYNC_BLOCKING;
+
 	private final Environment environment;
 
 	LoggingSystemProperties(Environment environment) {
@@ -57,6 +61,8 @@ class LoggingSystemProperties {
 		setSystemProperty(propertyResolver, CONSOLE_LOG_PATTERN, "pattern.console");
 		setSystemProperty(propertyResolver, FILE_LOG_PATTERN, "pattern.file");
 		setSystemProperty(propertyResolver, LOG_LEVEL_PATTERN, "pattern.level");
+		setSystemProperty(propertyResolver, LOG_ASYNC_QUEUE_SIZE, "async.queue-size");
+		setSystemProperty(propertyResolver, LOG_ASYNC_BLOCKING, "async.blocking");
 		if (logFile != null) {
 			logFile.applyToSystemProperties();
 		}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.log4j2;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+
+/**
+ * {@link XmlConfiguration} for the packaged {@code log4j2.xml} and
+ * {@code log4j2-file.xml} files that can switch their appenders to {@link JsonLayout}
+ * and route the root logger through an {@code Async} appender. Building the variants
+ * from the parsed configuration, rather than packaging a copy of the file for each
+ * combination, keeps the list of default loggers in one place.
+ *
+ * @author Phillip Webb
+ */
+class DefaultXmlConfiguration extends XmlConfiguration {
+
+	private static final String ASYNC_APPENDER_NAME = "Async";
+
+	private final boolean json;
+
+	private final boolean async;
+
+	DefaultXmlConfiguration(LoggerContext loggerContext, ConfigurationSource source,
+			boolean json, boolean async) {
+		super(loggerContext, source);
+		this.json = json;
+		this.async = async;
+	}
+
+	@Override
+	public void setup() {
+		super.setup();
+		Node appenders = getChild(this.rootNode, "Appenders");
+		if (appenders == null) {
+			return;
+		}
+		for (Node appender : appenders.getChildren()) {
+			if (this.json) {
+				useJsonLayout(appender);
+			}
+			if (this.async) {
+				// The Async appender flushes at the end of each batch
+				appender.getAttributes().put("immediateFlush", "false");
+			}
+		}
+		Node root = getChild(getChild(this.rootNode, "Loggers"), "Root");
+		if (this.async && root != null) {
+			routeThroughAsync(appenders, root);
+		}
+	}
+
+	private void useJsonLayout(Node appender) {
+		List<Node> children = appender.getChildren();
+		for (int i = 0; i < children.size(); i++) {
+			if ("PatternLayout".equalsIgnoreCase(children.get(i).getName())) {
+				children.set(i, createNode(appender, "SpringBootJsonLayout"));
+			}
+		}
+	}
+
+	private void routeThroughAsync(Node appenders, Node root) {
+		Node async = createNode(appenders, ASYNC_APPENDER_NAME);
+		async.getAttributes().put("name", ASYNC_APPENDER_NAME);
+		async.getAttributes().put("bufferSize", "${sys:LOG_ASYNC_QUEUE_SIZE:-256}");
+		async.getAttributes().put("blocking", "${sys:LOG_ASYNC_BLOCKING:-true}");
+		List<String> refs = new ArrayList<String>();
+		Iterator<Node> iterator = root.getChildren().iterator();
+		while (iterator.hasNext()) {
+			Node child = iterator.next();
+			if ("AppenderRef".equalsIgnoreCase(child.getName())) {
+				refs.add(child.getAttributes().get("ref"));
+				iterator.remove();
+			}
+		}
+		for (String ref : refs) {
+			async.getChildren().add(createAppenderRef(async, ref));
+		}
+		appenders.getChildren().add(async);
+		root.getChildren().add(createAppenderRef(root, ASYNC_APPENDER_NAME));
+	}
+
+	private Node createAppenderRef(Node parent, String ref) {
+		Node node = createNode(parent, "AppenderRef");
+		node.getAttributes().put("ref", ref);
+		return node;
+	}
+
+	private Node createNode(Node parent, String name) {
+		return new Node(parent, name, this.pluginManager.getPluginType(name));
+	}
+
+	private Node getChild(Node node, String name) {
+		if (node != null) {
+			for (Node child : node.getChildren()) {
+				if (name.equalsIgnoreCase(child.getName())) {
+					return child;
+				}
+			}
+		}
+		return null;
+	}
+
+}
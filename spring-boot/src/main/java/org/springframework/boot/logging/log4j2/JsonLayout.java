@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.log4j2;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+
+import org.springframework.boot.logging.JsonLogUtils;
+import org.springframework.boot.logging.LoggingApplicationListener;
+
+/**
+ * Log4j2 {@link Layout} that writes each event as a single line JSON object with
+ * {@code timestamp}, {@code level}, {@code pid}, {@code thread}, {@code logger},
+ * {@code message}, {@code mdc} and {@code exception} fields. Unlike Log4j2's own
+ * {@code JsonLayout} it does not require Jackson and writes to the per-thread buffer
+ * provided by {@link AbstractStringLayout}.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+@Plugin(name = "SpringBootJsonLayout", category = Node.CATEGORY, elementType = Layout.ELEMENT_TYPE, printObject = true)
+public final class JsonLayout extends AbstractStringLayout {
+
+	private static final int MAX_CAUSES = 20;
+
+	private final String pid;
+
+	private JsonLayout(Charset charset) {
+		super(charset);
+		this.pid = System.getProperty(LoggingApplicationListener.PID_KEY);
+	}
+
+	@Override
+	public String toSerializable(LogEvent event) {
+		StringBuilder builder = getStringBuilder();
+		builder.append('{');
+		JsonLogUtils.appendName(builder, "timestamp");
+		JsonLogUtils.appendTimestamp(builder, event.getTimeMillis());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "level");
+		JsonLogUtils.appendString(builder, event.getLevel().name());
+		if (this.pid != null) {
+			builder.append(',');
+			JsonLogUtils.appendName(builder, "pid");
+			JsonLogUtils.appendString(builder, this.pid);
+		}
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "thread");
+		JsonLogUtils.appendString(builder, event.getThreadName());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "logger");
+		JsonLogUtils.appendString(builder, event.getLoggerName());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "message");
+		JsonLogUtils.appendString(builder, event.getMessage().getFormattedMessage());
+		appendMdc(builder, event.getContextMap());
+		Throwable thrown = event.getThrown();
+		if (thrown != null) {
+			builder.append(',');
+			JsonLogUtils.appendName(builder, "exception");
+			builder.append('"');
+			appendThrowable(builder, thrown);
+			builder.append('"');
+		}
+		builder.append('}').append('\n');
+		return builder.toString();
+	}
+
+	private void appendMdc(StringBuilder builder, Map<String, String> mdc) {
+		if (mdc == null || mdc.isEmpty()) {
+			return;
+		}
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "mdc");
+		builder.append('{');
+		boolean first = true;
+		for (Map.Entry<String, String> entry : mdc.entrySet()) {
+			if (!first) {
+				builder.append(',');
+			}
+			first = false;
+			JsonLogUtils.appendString(builder, entry.getKey());
+			builder.append(':');
+			JsonLogUtils.appendString(builder, entry.getValue());
+		}
+		builder.append('}');
+	}
+
+	private void appendThrowable(StringBuilder builder, Throwable thrown) {
+		Throwable current = thrown;
+		for (int depth = 0; current != null && depth < MAX_CAUSES; depth++) {
+			if (depth > 0) {
+				builder.append("\\nCaused by: ");
+			}
+			JsonLogUtils.appendEscaped(builder, current.getClass().getName());
+			if (current.getMessage() != null) {
+				builder.append(": ");
+				JsonLogUtils.appendEscaped(builder, current.getMessage());
+			}
+			for (StackTraceElement element : current.getStackTrace()) {
+				builder.append("\\n\\tat ");
+				JsonLogUtils.appendEscaped(builder, element);
+			}
+			current = (current.getCause() == current ? null : current.getCause());
+		}
+	}
+
+	/**
+	 * Create a new {@link JsonLayout}. Required by Log4J2.
+	 * @param charset the charset
+	 * @return the layout
+	 */
+	@PluginFactory
+	public static JsonLayout createLayout(
+			@PluginAttribute(value = "charset", defaultString = "UTF-8") Charset charset) {
+		return new JsonLayout(charset);
+	}
+
+}
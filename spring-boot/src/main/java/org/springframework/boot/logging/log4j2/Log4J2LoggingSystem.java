@@ -38,12 +38,14 @@ import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.filter.AbstractFilter;
 import org.apache.logging.log4j.message.Message;
 
+import org.springframework.boot.bind.RelaxedPropertyResolver;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggerConfiguration;
 import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.boot.logging.Slf4JLoggingSystem;
+import org.springframework.core.env.Environment;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ResourceUtils;
@@ -152,14 +154,30 @@ public class Log4J2LoggingSystem extends Slf4JLoggingSystem {
 	@Override
 	protected void loadDefaults(LoggingInitializationContext initializationContext,
 			LogFile logFile) {
-		if (logFile != null) {
-			loadConfiguration(getPackagedConfigFile("log4j2-file.xml"), logFile);
+		RelaxedPropertyResolver properties = getPropertyResolver(initializationContext);
+		boolean json = properties != null
+				&& "json".equalsIgnoreCase(properties.getProperty("format"));
+		boolean async = properties != null
+				&& properties.getProperty("async.enabled", Boolean.class, false);
+		String location = getPackagedConfigFile(
+				logFile != null ? "log4j2-file.xml" : "log4j2.xml");
+		if (json || async) {
+			loadConfiguration(location, json, async);
 		}
 		else {
-			loadConfiguration(getPackagedConfigFile("log4j2.xml"), logFile);
+			loadConfiguration(location, logFile);
 		}
 	}
 
+	private RelaxedPropertyResolver getPropertyResolver(
+			LoggingInitializationContext initializationContext) {
+		Environment environment = initializationContext.getEnvironment();
+		if (environment == null) {
+			return null;
+		}
+		return new RelaxedPropertyResolver(environment, "logging.");
+	}
+
 	@Override
 	protected void loadConfiguration(LoggingInitializationContext initializationContext,
 			String location, LogFile logFile) {
@@ -181,6 +199,19 @@ public class Log4J2LoggingSystem extends Slf4JLoggingSystem {
 		}
 	}
 
+	private void loadConfiguration(String location, boolean json, boolean async) {
+		try {
+			LoggerContext ctx = getLoggerContext();
+			URL url = ResourceUtils.getURL(location);
+			ConfigurationSource source = getConfigurationSource(url);
+			ctx.start(new DefaultXmlConfiguration(ctx, source, json, async));
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(
+					"Could not initialize Log4J2 logging from " + location, ex);
+		}
+	}
+
 	private ConfigurationSource getConfigurationSource(URL url) throws IOException {
 		InputStream stream = url.openStream();
 		if (FILE_PROTOCOL.equals(url.getProtocol())) {
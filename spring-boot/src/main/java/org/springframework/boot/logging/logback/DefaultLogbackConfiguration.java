@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,14 @@ package org.springframework.boot.logging.logback;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 
+import ch.qos.logback.classic.AsyncAppender;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.rolling.FixedWindowRollingPolicy;
 import ch.qos.logback.core.rolling.RollingFileAppender;
 import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
@@ -58,31 +61,44 @@ class DefaultLogbackConfiguration {
 
 	private static final Charset UTF8 = Charset.forName("UTF-8");
 
+	private static final int DEFAULT_ASYNC_QUEUE_SIZE = 256;
+
 	private final PropertyResolver patterns;
 
+	private final PropertyResolver async;
+
+	private final boolean json;
+
 	private final LogFile logFile;
 
 	DefaultLogbackConfiguration(LoggingInitializationContext initializationContext,
 			LogFile logFile) {
-		this.patterns = getPatternsResolver(initializationContext.getEnvironment());
+		this.patterns = getPropertyResolver(initializationContext.getEnvironment(),
+				"logging.pattern.");
+		this.async = getPropertyResolver(initializationContext.getEnvironment(),
+				"logging.async.");
+		this.json = "json".equalsIgnoreCase(getPropertyResolver(
+				initializationContext.getEnvironment(), "logging.").getProperty("format"));
 		this.logFile = logFile;
 	}
 
-	private PropertyResolver getPatternsResolver(Environment environment) {
+	private PropertyResolver getPropertyResolver(Environment environment,
+			String prefix) {
 		if (environment == null) {
 			return new PropertySourcesPropertyResolver(null);
 		}
 		return RelaxedPropertyResolver.ignoringUnresolvableNestedPlaceholders(environment,
-				"logging.pattern.");
+				prefix);
 	}
 
 	public void apply(LogbackConfigurator config) {
 		synchronized (config.getConfigurationLock()) {
 			base(config);
-			Appender<ILoggingEvent> consoleAppender = consoleAppender(config);
+			Appender<ILoggingEvent> consoleAppender = asyncIfNecessary(config, "CONSOLE",
+					consoleAppender(config));
 			if (this.logFile != null) {
-				Appender<ILoggingEvent> fileAppender = fileAppender(config,
-						this.logFile.toString());
+				Appender<ILoggingEvent> fileAppender = asyncIfNecessary(config, "FILE",
+						fileAppender(config, this.logFile.toString()));
 				config.root(Level.INFO, consoleAppender, fileAppender);
 			}
 			else {
@@ -117,12 +133,7 @@ class DefaultLogbackConfiguration {
 
 	private Appender<ILoggingEvent> consoleAppender(LogbackConfigurator config) {
 		ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<ILoggingEvent>();
-		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
-		String logPattern = this.patterns.getProperty("console", CONSOLE_LOG_PATTERN);
-		encoder.setPattern(OptionHelper.substVars(logPattern, config.getContext()));
-		encoder.setCharset(UTF8);
-		config.start(encoder);
-		appender.setEncoder(encoder);
+		appender.setEncoder(encoder(config, "console", CONSOLE_LOG_PATTERN, UTF8));
 		config.appender("CONSOLE", appender);
 		return appender;
 	}
@@ -130,11 +141,7 @@ class DefaultLogbackConfiguration {
 	private Appender<ILoggingEvent> fileAppender(LogbackConfigurator config,
 			String logFile) {
 		RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<ILoggingEvent>();
-		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
-		String logPattern = this.patterns.getProperty("file", FILE_LOG_PATTERN);
-		encoder.setPattern(OptionHelper.substVars(logPattern, config.getContext()));
-		appender.setEncoder(encoder);
-		config.start(encoder);
+		appender.setEncoder(encoder(config, "file", FILE_LOG_PATTERN, null));
 		appender.setFile(logFile);
 		setRollingPolicy(appender, config, logFile);
 		setMaxFileSize(appender, config);
@@ -142,6 +149,47 @@ class DefaultLogbackConfiguration {
 		return appender;
 	}
 
+	private Encoder<ILoggingEvent> encoder(LogbackConfigurator config, String name,
+			String defaultPattern, Charset charset) {
+		if (this.json) {
+			JsonLayout layout = new JsonLayout();
+			config.start(layout);
+			LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<ILoggingEvent>();
+			encoder.setLayout(layout);
+			encoder.setCharset(charset == null ? UTF8 : charset);
+			config.start(encoder);
+			return encoder;
+		}
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		String logPattern = this.patterns.getProperty(name, defaultPattern);
+		encoder.setPattern(OptionHelper.substVars(logPattern, config.getContext()));
+		if (charset != null) {
+			encoder.setCharset(charset);
+		}
+		config.start(encoder);
+		return encoder;
+	}
+
+	private Appender<ILoggingEvent> asyncIfNecessary(LogbackConfigurator config,
+			String name, Appender<ILoggingEvent> delegate) {
+		if (!this.async.getProperty("enabled", Boolean.class, false)) {
+			return delegate;
+		}
+		AsyncAppender appender = new AsyncAppender();
+		appender.setQueueSize(this.async.getProperty("queue-size", Integer.class,
+				DEFAULT_ASYNC_QUEUE_SIZE));
+		boolean blocking = this.async.getProperty("blocking", Boolean.class, true);
+		appender.setNeverBlock(!blocking);
+		if (blocking) {
+			// Keep TRACE, DEBUG and INFO events rather than discarding them when the
+			// queue is nearly full
+			appender.setDiscardingThreshold(0);
+		}
+		appender.addAppender(delegate);
+		config.appender("ASYNC_" + name, appender);
+		return appender;
+	}
+
 	private void setRollingPolicy(RollingFileAppender<ILoggingEvent> appender,
 			LogbackConfigurator config, String logFile) {
 		FixedWindowRollingPolicy rollingPolicy = new FixedWindowRollingPolicy();
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.util.Map;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import org.springframework.boot.logging.JsonLogUtils;
+import org.springframework.boot.logging.LoggingApplicationListener;
+
+/**
+ * Logback {@link LayoutBase layout} that writes each event as a single line JSON object
+ * with {@code timestamp}, {@code level}, {@code pid}, {@code thread}, {@code logger},
+ * {@code message}, {@code mdc} and {@code exception} fields. Events are written to a
+ * per-thread buffer that is reused between calls.
+ *
+ * @author Phillip Webb
+ * @since 1.5.10
+ */
+public class JsonLayout extends LayoutBase<ILoggingEvent> {
+
+	private static final int MAX_RETAINED_BUFFER_SIZE = 8192;
+
+	private static final ThreadLocal<StringBuilder> buffer = new ThreadLocal<StringBuilder>() {
+
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder(512);
+		}
+
+	};
+
+	private String pid;
+
+	@Override
+	public void start() {
+		this.pid = System.getProperty(LoggingApplicationListener.PID_KEY);
+		super.start();
+	}
+
+	@Override
+	public String doLayout(ILoggingEvent event) {
+		StringBuilder builder = buffer.get();
+		if (builder.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+			builder = new StringBuilder(512);
+			buffer.set(builder);
+		}
+		builder.setLength(0);
+		builder.append('{');
+		JsonLogUtils.appendName(builder, "timestamp");
+		JsonLogUtils.appendTimestamp(builder, event.getTimeStamp());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "level");
+		JsonLogUtils.appendString(builder, event.getLevel().toString());
+		if (this.pid != null) {
+			builder.append(',');
+			JsonLogUtils.appendName(builder, "pid");
+			JsonLogUtils.appendString(builder, this.pid);
+		}
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "thread");
+		JsonLogUtils.appendString(builder, event.getThreadName());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "logger");
+		JsonLogUtils.appendString(builder, event.getLoggerName());
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "message");
+		JsonLogUtils.appendString(builder, event.getFormattedMessage());
+		appendMdc(builder, event.getMDCPropertyMap());
+		IThrowableProxy throwable = event.getThrowableProxy();
+		if (throwable != null) {
+			builder.append(',');
+			JsonLogUtils.appendName(builder, "exception");
+			builder.append('"');
+			appendThrowable(builder, throwable, "");
+			builder.append('"');
+		}
+		builder.append('}').append(CoreConstants.LINE_SEPARATOR);
+		return builder.toString();
+	}
+
+	private void appendMdc(StringBuilder builder, Map<String, String> mdc) {
+		if (mdc == null || mdc.isEmpty()) {
+			return;
+		}
+		builder.append(',');
+		JsonLogUtils.appendName(builder, "mdc");
+		builder.append('{');
+		boolean first = true;
+		for (Map.Entry<String, String> entry : mdc.entrySet()) {
+			if (!first) {
+				builder.append(',');
+			}
+			first = false;
+			JsonLogUtils.appendString(builder, entry.getKey());
+			builder.append(':');
+			JsonLogUtils.appendString(builder, entry.getValue());
+		}
+		builder.append('}');
+	}
+
+	private void appendThrowable(StringBuilder builder, IThrowableProxy throwable,
+			String prefix) {
+		JsonLogUtils.appendEscaped(builder, prefix);
+		JsonLogUtils.appendEscaped(builder, throwable.getClassName());
+		if (throwable.getMessage() != null) {
+			builder.append(": ");
+			JsonLogUtils.appendEscaped(builder, throwable.getMessage());
+		}
+		StackTraceElementProxy[] frames = throwable.getStackTraceElementProxyArray();
+		int count = frames.length - throwable.getCommonFrames();
+		for (int i = 0; i < count; i++) {
+			builder.append("\\n\\tat ");
+			JsonLogUtils.appendEscaped(builder, frames[i].getStackTraceElement());
+		}
+		if (throwable.getCommonFrames() > 0) {
+			builder.append("\\n\\t... ").append(throwable.getCommonFrames())
+					.append(" common frames omitted");
+		}
+		if (throwable.getCause() != null) {
+			builder.append("\\n");
+			appendThrowable(builder, throwable.getCause(), "Caused by: ");
+		}
+	}
+
+}
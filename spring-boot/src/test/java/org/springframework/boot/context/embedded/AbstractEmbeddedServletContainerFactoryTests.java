@@ -53,6 +53,7 @@ import java.util.zip.GZIPInputStream;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSocket;
 import javax.servlet.GenericServlet;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -446,6 +447,48 @@ public abstract class AbstractEmbeddedServletContainerFactoryTests {
 				.contains("scheme=https");
 	}
 
+	@Test
+	public void sslSessionIsResumed() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		Ssl ssl = getSsl(null, "password", "src/test/resources/test.jks");
+		ssl.setSessionCacheSize(100);
+		ssl.setSessionTimeout(60);
+		factory.setSsl(ssl);
+		this.container = factory.getEmbeddedServletContainer(
+				new ServletRegistrationBean(new ExampleServlet(true, false), "/hello"));
+		this.container.start();
+		SSLContext sslContext = new SSLContextBuilder()
+				.loadTrustMaterial(null, new TrustSelfSignedStrategy()).build();
+		byte[] sessionId = handshake(sslContext);
+		for (int i = 0; i < 10; i++) {
+			assertThat(handshake(sslContext)).isEqualTo(sessionId);
+		}
+	}
+
+	@Test
+	public void http2EnabledStillServesHttp11() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		Http2 http2 = new Http2();
+		http2.setEnabled(true);
+		factory.setHttp2(http2);
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
+	}
+
+	private byte[] handshake(SSLContext sslContext) throws IOException {
+		SSLSocket socket = (SSLSocket) sslContext.getSocketFactory()
+				.createSocket("localhost", this.container.getPort());
+		try {
+			socket.startHandshake();
+			return socket.getSession().getId();
+		}
+		finally {
+			socket.close();
+		}
+	}
+
 	@Test
 	public void sslKeyAlias() throws Exception {
 		AbstractEmbeddedServletContainerFactory factory = getFactory();
@@ -53,6 +53,7 @@ import org.springframework.boot.context.embedded.AbstractEmbeddedServletContaine
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactoryTests;
 import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
+import org.springframework.boot.context.embedded.Http2;
 import org.springframework.boot.context.embedded.PortInUseException;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
@@ -114,6 +115,17 @@ public class JettyEmbeddedServletContainerFactoryTests
 		}
 	}
 
+	@Test
+	public void http2LogsWarning() throws Exception {
+		JettyEmbeddedServletContainerFactory factory = getFactory();
+		Http2 http2 = new Http2();
+		http2.setEnabled(true);
+		factory.setHttp2(http2);
+		this.container = factory.getEmbeddedServletContainer();
+		assertThat(this.output.toString()).contains(
+				"HTTP/2 is not supported by the embedded Jetty container");
+	}
+
 	@Test
 	public void sessionTimeout() throws Exception {
 		JettyEmbeddedServletContainerFactory factory = getFactory();
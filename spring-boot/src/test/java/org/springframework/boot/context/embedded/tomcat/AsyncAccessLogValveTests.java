@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.tomcat;
+
+import java.io.CharArrayWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.core.StandardEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AsyncAccessLogValve}.
+ */
+public class AsyncAccessLogValveTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final TestAsyncAccessLogValve valve = new TestAsyncAccessLogValve();
+
+	@Before
+	public void setup() {
+		this.valve.setContainer(new StandardEngine());
+		this.valve.setDirectory(this.temp.getRoot().getAbsolutePath());
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		this.valve.release();
+		this.valve.destroy();
+	}
+
+	@Test
+	public void entriesAreWrittenInOrder() throws Exception {
+		this.valve.start();
+		for (int i = 0; i < 1000; i++) {
+			this.valve.log(message("entry " + i));
+		}
+		this.valve.stop();
+		assertThat(this.valve.getWritten()).hasSize(1000);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(this.valve.getWritten().get(i)).isEqualTo("entry " + i);
+		}
+		assertThat(this.valve.getWrittenCount()).isEqualTo(1000);
+		assertThat(this.valve.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void pendingEntriesAreWrittenOnStop() throws Exception {
+		this.valve.block();
+		this.valve.start();
+		this.valve.log(message("first"));
+		this.valve.awaitWriting();
+		this.valve.log(message("second"));
+		this.valve.log(message("third"));
+		assertThat(this.valve.getPendingCount()).isEqualTo(2);
+		this.valve.release();
+		this.valve.stop();
+		assertThat(this.valve.getWritten()).containsExactly("first", "second", "third");
+		assertThat(this.valve.getPendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void stopDuringRotationWritesEntriesInOrder() throws Exception {
+		this.valve.block();
+		this.valve.rotateOnWrite();
+		this.valve.start();
+		this.valve.log(message("first"));
+		this.valve.awaitWriting();
+		this.valve.log(message("second"));
+		this.valve.log(message("third"));
+		synchronized (this.valve) {
+			// The writer now needs the monitor that is held while the valve stops
+			this.valve.release();
+			this.valve.stop();
+		}
+		assertThat(this.valve.getWritten()).containsExactly("first", "second", "third");
+		assertThat(this.valve.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void entriesAreDroppedWhenQueueIsFull() throws Exception {
+		this.valve.setQueueSize(2);
+		this.valve.block();
+		this.valve.start();
+		this.valve.log(message("first"));
+		this.valve.awaitWriting();
+		for (int i = 0; i < 4; i++) {
+			this.valve.log(message("entry " + i));
+		}
+		assertThat(this.valve.getDroppedCount()).isEqualTo(2);
+		this.valve.release();
+		this.valve.stop();
+		assertThat(this.valve.getWritten()).containsExactly("first", "entry 0",
+				"entry 1");
+		assertThat(this.valve.getWrittenCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void writerContinuesAfterFailure() throws Exception {
+		this.valve.start();
+		this.valve.log(message("fail"));
+		this.valve.awaitFailure();
+		this.valve.log(message("after"));
+		this.valve.stop();
+		assertThat(this.valve.getWritten()).containsExactly("after");
+		assertThat(this.valve.getDroppedCount()).isEqualTo(1);
+		assertThat(this.valve.getWrittenCount()).isEqualTo(1);
+	}
+
+	private CharArrayWriter message(String content) {
+		CharArrayWriter message = new CharArrayWriter();
+		message.append(content);
+		return message;
+	}
+
+	/**
+	 * {@link AsyncAccessLogValve} that records entries rather than writing them to a
+	 * file, and can be blocked while writing.
+	 */
+	static class TestAsyncAccessLogValve extends AsyncAccessLogValve {
+
+		private final List<String> written = Collections
+				.synchronizedList(new ArrayList<String>());
+
+		private final CountDownLatch writing = new CountDownLatch(1);
+
+		private final CountDownLatch failed = new CountDownLatch(1);
+
+		private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+		private volatile boolean rotateOnWrite;
+
+		@Override
+		void write(CharArrayWriter message) {
+			String entry = message.toString();
+			this.writing.countDown();
+			awaitQuietly(this.blocked);
+			if (this.rotateOnWrite) {
+				// Like AccessLogValve.rotate(), which synchronizes on the valve
+				synchronized (this) {
+					this.rotateOnWrite = false;
+				}
+			}
+			if ("fail".equals(entry)) {
+				this.failed.countDown();
+				throw new IllegalStateException("Failed");
+			}
+			this.written.add(entry);
+		}
+
+		List<String> getWritten() {
+			return this.written;
+		}
+
+		void block() {
+			this.blocked = new CountDownLatch(1);
+		}
+
+		void release() {
+			this.blocked.countDown();
+		}
+
+		void rotateOnWrite() {
+			this.rotateOnWrite = true;
+		}
+
+		void awaitWriting() throws InterruptedException {
+			assertThat(this.writing.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+
+		void awaitFailure() throws InterruptedException {
+			assertThat(this.failed.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+
+		private void awaitQuietly(CountDownLatch latch) {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -47,6 +47,7 @@ import org.apache.catalina.core.StandardWrapper;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.catalina.util.CharsetMapper;
 import org.apache.catalina.valves.RemoteIpValve;
+import org.apache.coyote.http2.Http2Protocol;
 import org.apache.jasper.servlet.JspServlet;
 import org.apache.tomcat.util.net.SSLHostConfig;
 import org.junit.After;
@@ -57,6 +58,7 @@ import org.mockito.InOrder;
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactoryTests;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
+import org.springframework.boot.context.embedded.Http2;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.testutil.InternalOutputCapture;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
@@ -285,6 +287,38 @@ public class TomcatEmbeddedServletContainerFactoryTests
 		assertThat(sslHostConfigs[0].getCiphers()).isEqualTo("ALPHA:BRAVO:CHARLIE");
 	}
 
+	@Test
+	public void sslSessionConfiguration() throws Exception {
+		Ssl ssl = new Ssl();
+		ssl.setKeyStore("test.jks");
+		ssl.setKeyStorePassword("secret");
+		ssl.setSessionCacheSize(1000);
+		ssl.setSessionTimeout(300);
+		TomcatEmbeddedServletContainerFactory factory = getFactory();
+		factory.setSsl(ssl);
+		Tomcat tomcat = getTomcat(factory);
+		Connector connector = ((TomcatEmbeddedServletContainer) this.container)
+				.getServiceConnectors().get(tomcat.getService())[0];
+		SSLHostConfig sslHostConfig = connector.getProtocolHandler()
+				.findSslHostConfigs()[0];
+		assertThat(sslHostConfig.getSessionCacheSize()).isEqualTo(1000);
+		assertThat(sslHostConfig.getSessionTimeout()).isEqualTo(300);
+	}
+
+	@Test
+	public void http2AddsUpgradeProtocol() throws Exception {
+		Http2 http2 = new Http2();
+		http2.setEnabled(true);
+		TomcatEmbeddedServletContainerFactory factory = getFactory();
+		factory.setHttp2(http2);
+		Tomcat tomcat = getTomcat(factory);
+		Connector connector = ((TomcatEmbeddedServletContainer) this.container)
+				.getServiceConnectors().get(tomcat.getService())[0];
+		assertThat(connector.findUpgradeProtocols()).hasSize(1);
+		assertThat(connector.findUpgradeProtocols()[0])
+				.isInstanceOf(Http2Protocol.class);
+	}
+
 	@Test
 	public void sslEnabledMultipleProtocolsConfiguration() throws Exception {
 		Ssl ssl = getSsl(null, "password", "src/test/resources/test.jks");
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.boot.context.embedded.undertow;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -28,6 +30,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import org.springframework.boot.context.embedded.undertow.FileSessionPersistence.LazyPersistentSession;
+import org.springframework.boot.context.embedded.undertow.FileSessionPersistence.SerializablePersistentSession;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -91,6 +96,43 @@ public class FileSessionPersistenceTests {
 		assertThat(restored.containsKey("abc")).isFalse();
 	}
 
+	@Test
+	public void restoresAttributesLazily() throws Exception {
+		Map<String, PersistentSession> sessionData = new LinkedHashMap<String, PersistentSession>();
+		for (int i = 0; i < 100; i++) {
+			Map<String, Object> data = new LinkedHashMap<String, Object>();
+			data.put("index", i);
+			sessionData.put("session" + i, new PersistentSession(this.expiration, data));
+		}
+		this.persistence.persistSessions("test", sessionData);
+		Map<String, PersistentSession> restored = this.persistence
+				.loadSessionAttributes("test", this.classLoader);
+		assertThat(restored).hasSize(100);
+		assertThat(restored.get("session42")).isInstanceOf(LazyPersistentSession.class);
+		assertThat(restored.get("session42").getSessionData().get("index"))
+				.isEqualTo(42);
+	}
+
+	@Test
+	public void loadsLegacyFormat() throws Exception {
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("spring", "boot");
+		Map<String, SerializablePersistentSession> legacy = new LinkedHashMap<String, SerializablePersistentSession>();
+		legacy.put("abc", new SerializablePersistentSession(
+				new PersistentSession(this.expiration, data)));
+		ObjectOutputStream stream = new ObjectOutputStream(
+				new FileOutputStream(new File(this.dir, "test.session")));
+		try {
+			stream.writeObject(legacy);
+		}
+		finally {
+			stream.close();
+		}
+		Map<String, PersistentSession> restored = this.persistence
+				.loadSessionAttributes("test", this.classLoader);
+		assertThat(restored.get("abc").getSessionData().get("spring")).isEqualTo("boot");
+	}
+
 	@Test
 	public void deleteFileOnClear() throws Exception {
 		File sessionFile = new File(this.dir, "test.session");
@@ -16,6 +16,13 @@
 
 package org.springframework.boot.json;
 
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link BasicJsonParser}.
  *
@@ -28,4 +35,48 @@ public class BasicJsonParserTests extends AbstractJsonParserTests {
 		return new BasicJsonParser();
 	}
 
+	@Test
+	public void escapedString() {
+		Map<String, Object> map = getParser()
+				.parseMap("{\"foo\":\"a\\\"b\\\\c\\nd\\u0041\"}");
+		assertThat(map.get("foo")).isEqualTo("a\"b\\c\ndA");
+	}
+
+	@Test
+	public void stringContainingStructuralCharacters() {
+		Map<String, Object> map = getParser()
+				.parseMap("{\"foo\":\"a,b:c}d]\",\"bar\":\"http://x\"}");
+		assertThat(map).hasSize(2);
+		assertThat(map.get("foo")).isEqualTo("a,b:c}d]");
+		assertThat(map.get("bar")).isEqualTo("http://x");
+	}
+
+	@Test
+	public void literals() {
+		List<Object> list = getParser()
+				.parseList("[ true , false, null, -12, 1e3, \"x\" ]");
+		assertThat(list).containsExactly(true, false, null, -12L, 1000.0d, "x");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deeplyNested() {
+		Map<String, Object> map = getParser()
+				.parseMap("{\"a\":{\"b\":[{\"c\":[1,[2]]}]}}");
+		Map<String, Object> a = (Map<String, Object>) map.get("a");
+		List<Object> b = (List<Object>) a.get("b");
+		Map<String, Object> c = (Map<String, Object>) b.get(0);
+		assertThat((List<Object>) c.get("c")).hasSize(2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unterminatedMap() {
+		getParser().parseMap("{\"foo\":\"bar\"");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void trailingContent() {
+		getParser().parseMap("{\"foo\":\"bar\"} x");
+	}
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JsonLogUtils}.
+ */
+public class JsonLogUtilsTests {
+
+	@Test
+	public void timestamp() {
+		StringBuilder builder = new StringBuilder();
+		JsonLogUtils.appendTimestamp(builder, 1483265730003L);
+		builder.append(' ');
+		JsonLogUtils.appendTimestamp(builder, 1483265730123L);
+		builder.append(' ');
+		JsonLogUtils.appendTimestamp(builder, 1483265731050L);
+		assertThat(builder.toString()).isEqualTo("\"2017-01-01T10:15:30.003Z\" "
+				+ "\"2017-01-01T10:15:30.123Z\" \"2017-01-01T10:15:31.050Z\"");
+	}
+
+	@Test
+	public void escapedString() {
+		StringBuilder builder = new StringBuilder();
+		JsonLogUtils.appendString(builder, "a\"b\\c\td\u0001");
+		assertThat(builder.toString()).isEqualTo("\"a\\\"b\\\\c\\td\\u0001\"");
+	}
+
+	@Test
+	public void nullString() {
+		StringBuilder builder = new StringBuilder();
+		JsonLogUtils.appendString(builder, null);
+		assertThat(builder.toString()).isEqualTo("null");
+	}
+
+	@Test
+	public void stackTraceElement() {
+		StringBuilder builder = new StringBuilder();
+		StackTraceElement element = new StackTraceElement("com.example.Foo", "bar",
+				"Foo.java", 12);
+		JsonLogUtils.appendEscaped(builder, element);
+		assertThat(builder.toString()).isEqualTo(element.toString());
+	}
+
+}
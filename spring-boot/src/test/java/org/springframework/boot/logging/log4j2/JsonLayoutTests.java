@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.log4j2;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JsonLayout}.
+ */
+public class JsonLayoutTests {
+
+	private final JsonLayout layout = JsonLayout
+			.createLayout(Charset.forName("UTF-8"));
+
+	private final Log4jLogEvent.Builder event = Log4jLogEvent.newBuilder()
+			.setTimeMillis(1483265730123L).setLevel(Level.INFO).setThreadName("main")
+			.setLoggerName("com.example.Test")
+			.setMessage(new SimpleMessage("Hello \"world\"\n"));
+
+	@Test
+	public void simpleEvent() {
+		String json = this.layout.toSerializable(this.event.build());
+		assertThat(json).startsWith("{\"timestamp\":\"2017-01-01T10:15:30.123Z\","
+				+ "\"level\":\"INFO\",");
+		assertThat(json).contains("\"thread\":\"main\",\"logger\":\"com.example.Test\","
+				+ "\"message\":\"Hello \\\"world\\\"\\n\"}");
+		assertThat(json).doesNotContain("exception").doesNotContain("mdc");
+		assertThat(json).endsWith("}\n");
+	}
+
+	@Test
+	public void mdc() {
+		this.event.setContextMap(Collections.singletonMap("traceId", "abc"));
+		assertThat(this.layout.toSerializable(this.event.build()))
+				.contains(",\"mdc\":{\"traceId\":\"abc\"}}");
+	}
+
+	@Test
+	public void exception() {
+		this.event.setThrown(
+				new IllegalStateException("Failed", new RuntimeException("Cause")));
+		String json = this.layout.toSerializable(this.event.build());
+		assertThat(json).contains(
+				"\"exception\":\"java.lang.IllegalStateException: Failed\\n\\tat ");
+		assertThat(json).contains("\\nCaused by: java.lang.RuntimeException: Cause");
+		assertThat(json.trim()).endsWith("\"}").doesNotContain("\n");
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2016 the original author or authors.
+ * Copyright 2012-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
@@ -40,9 +44,11 @@ import org.junit.Test;
 import org.springframework.boot.logging.AbstractLoggingSystemTests;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.boot.testutil.InternalOutputCapture;
 import org.springframework.boot.testutil.Matched;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
@@ -103,6 +109,60 @@ public class Log4J2LoggingSystemTests extends AbstractLoggingSystemTests {
 		assertThat(configuration.getConfigurationSource().getFile()).isNotNull();
 	}
 
+	@Test
+	public void asyncAppender() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.async.enabled", "true");
+		environment.setProperty("logging.async.blocking", "false");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(new LoggingInitializationContext(environment),
+				null, null);
+		Configuration configuration = this.loggingSystem.getConfiguration();
+		Map<String, Appender> appenders = configuration.getRootLogger().getAppenders();
+		assertThat(appenders).containsOnlyKeys("Async");
+		AsyncAppender appender = (AsyncAppender) appenders.get("Async");
+		assertThat(appender.isBlocking()).isFalse();
+		assertThat(appender.getAppenderRefStrings()).containsExactly("Console");
+	}
+
+	@Test
+	public void jsonFormat() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.format", "json");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(new LoggingInitializationContext(environment),
+				null, getLogFile(null, tmpDir()));
+		this.logger.info("Hello world");
+		Configuration configuration = this.loggingSystem.getConfiguration();
+		assertThat(configuration.getAppender("Console").getLayout())
+				.isInstanceOf(JsonLayout.class);
+		assertThat(configuration.getAppender("File").getLayout())
+				.isInstanceOf(JsonLayout.class);
+		assertThat(configuration.getRootLogger().getAppenders())
+				.containsOnlyKeys("Console", "File");
+		String output = this.output.toString().trim();
+		assertThat(output).contains("\"message\":\"Hello world\"");
+		assertThat(configuration.getLoggerConfig("org.thymeleaf").getLevel())
+				.isEqualTo(Level.WARN);
+	}
+
+	@Test
+	public void asyncJsonFormat() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.format", "json");
+		environment.setProperty("logging.async.enabled", "true");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(new LoggingInitializationContext(environment),
+				null, getLogFile(null, tmpDir()));
+		Configuration configuration = this.loggingSystem.getConfiguration();
+		assertThat(configuration.getAppender("File").getLayout())
+				.isInstanceOf(JsonLayout.class);
+		Map<String, Appender> appenders = configuration.getRootLogger().getAppenders();
+		assertThat(appenders).containsOnlyKeys("Async");
+		assertThat(((AsyncAppender) appenders.get("Async")).getAppenderRefStrings())
+				.containsExactly("Console", "File");
+	}
+
 	@Test
 	public void testNonDefaultConfigLocation() throws Exception {
 		this.loggingSystem.beforeInitialize();
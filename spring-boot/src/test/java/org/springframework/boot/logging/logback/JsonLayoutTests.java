@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.util.Collections;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JsonLayout}.
+ */
+public class JsonLayoutTests {
+
+	private final JsonLayout layout = new JsonLayout();
+
+	private final LoggingEvent event = new LoggingEvent();
+
+	@Before
+	public void setup() {
+		this.layout.start();
+		this.event.setTimeStamp(1483265730123L);
+		this.event.setLevel(Level.INFO);
+		this.event.setThreadName("main");
+		this.event.setLoggerName("com.example.Test");
+		this.event.setMessage("Hello \"world\"\n");
+		this.event.setMDCPropertyMap(Collections.<String, String>emptyMap());
+	}
+
+	@Test
+	public void simpleEvent() {
+		String json = this.layout.doLayout(this.event);
+		assertThat(json).startsWith("{\"timestamp\":\"2017-01-01T10:15:30.123Z\","
+				+ "\"level\":\"INFO\",");
+		assertThat(json).contains("\"thread\":\"main\",\"logger\":\"com.example.Test\","
+				+ "\"message\":\"Hello \\\"world\\\"\\n\"}");
+		assertThat(json).doesNotContain("exception").doesNotContain("mdc");
+	}
+
+	@Test
+	public void mdc() {
+		this.event.setMDCPropertyMap(Collections.singletonMap("traceId", "abc"));
+		assertThat(this.layout.doLayout(this.event))
+				.contains(",\"mdc\":{\"traceId\":\"abc\"}}");
+	}
+
+	@Test
+	public void exception() {
+		this.event.setThrowableProxy(new ThrowableProxy(
+				new IllegalStateException("Failed", new RuntimeException("Cause"))));
+		String json = this.layout.doLayout(this.event);
+		assertThat(json).contains(
+				"\"exception\":\"java.lang.IllegalStateException: Failed\\n\\tat ");
+		assertThat(json).contains("\\nCaused by: java.lang.RuntimeException: Cause");
+		assertThat(json.trim()).endsWith("\"}").doesNotContain("\n");
+	}
+
+}
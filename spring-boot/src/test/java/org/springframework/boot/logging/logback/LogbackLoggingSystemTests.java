@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.logging.Handler;
 import java.util.logging.LogManager;
 
+import ch.qos.logback.classic.AsyncAppender;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -305,6 +306,57 @@ public class LogbackLoggingSystemTests extends AbstractLoggingSystemTests {
 		assertThat(getLineWithText(output, "Hello world")).doesNotContain("INFO");
 	}
 
+	@Test
+	public void asyncAppender() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.async.enabled", "true");
+		LoggingInitializationContext loggingInitializationContext = new LoggingInitializationContext(
+				environment);
+		this.loggingSystem.initialize(loggingInitializationContext, null, null);
+		LoggerContext context = (LoggerContext) StaticLoggerBinder.getSingleton()
+				.getLoggerFactory();
+		Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+		assertThat(root.getAppender("CONSOLE")).isNull();
+		assertThat(root.getAppender("ASYNC_CONSOLE")).isInstanceOf(AsyncAppender.class);
+		AsyncAppender appender = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+		assertThat(appender.isNeverBlock()).isFalse();
+		assertThat(appender.getDiscardingThreshold()).isEqualTo(0);
+	}
+
+	@Test
+	public void nonBlockingAsyncAppender() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.async.enabled", "true");
+		environment.setProperty("logging.async.blocking", "false");
+		environment.setProperty("logging.async.queue-size", "100");
+		LoggingInitializationContext loggingInitializationContext = new LoggingInitializationContext(
+				environment);
+		this.loggingSystem.initialize(loggingInitializationContext, null, null);
+		LoggerContext context = (LoggerContext) StaticLoggerBinder.getSingleton()
+				.getLoggerFactory();
+		Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+		AsyncAppender appender = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+		assertThat(appender.isNeverBlock()).isTrue();
+		assertThat(appender.getQueueSize()).isEqualTo(100);
+		assertThat(appender.getDiscardingThreshold()).isEqualTo(20);
+	}
+
+	@Test
+	public void jsonFormat() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.format", "json");
+		LoggingInitializationContext loggingInitializationContext = new LoggingInitializationContext(
+				environment);
+		this.loggingSystem.initialize(loggingInitializationContext, null,
+				getLogFile(null, tmpDir()));
+		this.logger.info("Hello world");
+		String output = this.output.toString().trim();
+		assertThat(getLineWithText(output, "Hello world")).startsWith("{\"timestamp\":")
+				.contains("\"message\":\"Hello world\"");
+		assertThat(getLineWithText(new File(tmpDir() + "/spring.log"), "Hello world"))
+				.startsWith("{\"timestamp\":");
+	}
+
 	@Test
 	public void testLevelPatternProperty() {
 		MockEnvironment environment = new MockEnvironment();